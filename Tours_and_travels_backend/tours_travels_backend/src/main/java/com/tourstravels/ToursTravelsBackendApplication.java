@@ -2,10 +2,10 @@ package com.tourstravels;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
 
+// @SpringBootApplication already scans com.tourstravels; an explicit @ComponentScan
+// would drop Boot's type-exclude filters and pull every bean into slice tests
 @SpringBootApplication
-@ComponentScan(basePackages = {"com.tourstravels"})
 public class ToursTravelsBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(ToursTravelsBackendApplication.class, args);
@@ -0,0 +1,44 @@
+package com.tourstravels.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKING_SUMMARIES = "bookingSummaries";
+    public static final String LOYALTY_BALANCES = "loyaltyBalances";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.booking-summaries.ttl-seconds:30}") long bookingSummariesTtl,
+            @Value("${cache.loyalty-balances.ttl-seconds:300}") long loyaltyBalancesTtl
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Dashboard counts: short TTL, also evicted on every booking status change
+        cacheManager.registerCustomCache(BOOKING_SUMMARIES, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(bookingSummariesTtl))
+                .maximumSize(10_000)
+                .recordStats()
+                .build());
+
+        // Per-user points balance: evicted after every committed ledger entry
+        cacheManager.registerCustomCache(LOYALTY_BALANCES, Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(loyaltyBalancesTtl))
+                .maximumSize(100_000)
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+}
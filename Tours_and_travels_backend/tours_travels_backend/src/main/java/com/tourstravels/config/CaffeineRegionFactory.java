@@ -0,0 +1,123 @@
+package com.tourstravels.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Hibernate second-level cache on Caffeine. Every entity and query region is a
+// bounded in-heap cache built from its own Caffeine spec and reports hits,
+// misses and evictions to Micrometer under the region name. The update
+// timestamps region is never bounded: dropping an entry there would let a
+// stale query result be served.
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaffeineRegionFactory.class);
+
+    private final Function<String, String> specForRegion;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    public CaffeineRegionFactory(Function<String, String> specForRegion, MeterRegistry meterRegistry) {
+        this.specForRegion = specForRegion;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        caches.values().forEach(Cache::invalidateAll);
+        caches.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+            DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+        return new CaffeineStorageAccess(cache(regionConfig.getRegionName(), true));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(
+            String regionName, SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(cache(regionName, true));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(
+            String regionName, SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(cache(regionName, false));
+    }
+
+    private Cache<Object, Object> cache(String regionName, boolean bounded) {
+        return caches.computeIfAbsent(regionName, name -> {
+            String spec = bounded ? specForRegion.apply(name) : "";
+            Caffeine<Object, Object> builder = spec.isBlank() ? Caffeine.newBuilder() : Caffeine.from(spec);
+            Cache<Object, Object> cache = builder.recordStats().build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "cache.manager", "hibernate");
+            logger.info("🗄️ Second-level cache region {} [{}]", name, spec.isBlank() ? "unbounded" : spec);
+            return cache;
+        });
+    }
+
+    private record CaffeineStorageAccess(Cache<Object, Object> cache) implements DomainDataStorageAccess {
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+    }
+}
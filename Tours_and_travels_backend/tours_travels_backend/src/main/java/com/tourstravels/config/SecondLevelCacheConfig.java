@@ -0,0 +1,41 @@
+package com.tourstravels.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Turns on Hibernate's second-level and query cache, backed by Caffeine.
+// Region budgets come from cache.l2.regions.<region> (a Caffeine spec such as
+// maximumSize=5000,expireAfterWrite=30m), falling back to cache.l2.default-spec.
+@Configuration
+@ConditionalOnProperty(name = "cache.l2.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    // Entity and query regions, referenced from @Cache and query hints
+    public static final String ROLES = "roles";
+    public static final String USERS = "users";
+    public static final String TRAVEL_PACKAGES = "travel-packages";
+    public static final String PACKAGE_IMAGES = "travel-packages.images";
+    public static final String PACKAGES_BY_STATUS = "travel-packages.by-status";
+
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(Environment environment,
+                                                                    MeterRegistry meterRegistry) {
+        String defaultSpec = environment.getProperty("cache.l2.default-spec", DEFAULT_SPEC);
+        CaffeineRegionFactory regionFactory = new CaffeineRegionFactory(
+                region -> environment.getProperty("cache.l2.regions." + region, defaultSpec), meterRegistry);
+
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.tourstravels.config;
 
 import com.tourstravels.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -54,8 +55,12 @@ public class SecurityConfig {
                 )
             )
             .authorizeHttpRequests(auth -> auth
+            	    // Async dispatches (SSE, streamed exports) were authorized on the original request
+            	    .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
             	    .requestMatchers("/api/auth/**").permitAll()
             	    .requestMatchers("/api/admin/users/test").permitAll()
+            	    .requestMatchers("/actuator/health").permitAll()
+            	    .requestMatchers("/actuator/**").hasRole("ADMIN")
             	    .requestMatchers("/api/admin/**").hasRole("ADMIN")
             	    .requestMatchers("/api/agent/**").hasRole("AGENT")
             	    .requestMatchers("/api/customer/**").hasRole("CUSTOMER")
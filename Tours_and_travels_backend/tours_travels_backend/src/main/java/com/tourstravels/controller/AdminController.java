@@ -1,5 +1,7 @@
 package com.tourstravels.controller;
 
+import com.tourstravels.dto.UserDirectoryPage;
+import com.tourstravels.dto.UserSummary;
 import com.tourstravels.entity.User;
 import com.tourstravels.service.AuthService;
 
@@ -28,31 +30,49 @@ public class AdminController {
 
     @GetMapping("/agents/registrations")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAgentRegistrations() {
-        logger.info("🔍 Fetching all agent registrations (pending + approved)");
-        List<User> agents = authService.getAllUsers();
-        // Filter only agents
-        agents.removeIf(u -> !u.getRole().getRoleName().equals("AGENT"));
-        logger.info("✅ Found {} agents (pending + approved)", agents.size());
-        return ResponseEntity.ok(agents);
+    public ResponseEntity<UserDirectoryPage> getAgentRegistrations(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        logger.info("🔍 Fetching agent registrations (pending + approved), q={}, page={}", q, page);
+        return ResponseEntity.ok(authService.getAgents(null, q, page, size));
     }
 
     @GetMapping("/agents/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getPendingAgents() {
-        logger.info("🔍 Fetching pending agent registrations");
-        List<User> pendingAgents = authService.getPendingAgents();
-        logger.info("✅ Found {} pending agents", pendingAgents.size());
-        return ResponseEntity.ok(pendingAgents);
+    public ResponseEntity<UserDirectoryPage> getPendingAgents(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        logger.info("🔍 Fetching pending agent registrations, q={}, page={}", q, page);
+        return ResponseEntity.ok(authService.getAgents(false, q, page, size));
     }
 
     @GetMapping("/agents/approved")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getApprovedAgents() {
-        logger.info("🔍 Fetching approved agents");
-        List<User> approvedAgents = authService.getApprovedAgents();
-        logger.info("✅ Found {} approved agents", approvedAgents.size());
-        return ResponseEntity.ok(approvedAgents);
+    public ResponseEntity<UserDirectoryPage> getApprovedAgents(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        logger.info("🔍 Fetching approved agents, q={}, page={}", q, page);
+        return ResponseEntity.ok(authService.getAgents(true, q, page, size));
+    }
+
+    @GetMapping("/agents/{agentId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getAgent(@PathVariable Long agentId) {
+        try {
+            UserSummary agent = authService.getUserSummary(agentId);
+            if (!"AGENT".equals(agent.getRole())) {
+                return ResponseEntity.badRequest().body(Map.of("message", "User is not an agent"));
+            }
+            return ResponseEntity.ok(agent);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @PutMapping("/agents/approve/{agentId}")
@@ -93,14 +113,7 @@ public class AdminController {
         logger.info("❌ Processing rejection for agent ID: {}", agentId);
         try {
             String reason = body.getOrDefault("reason", "No reason provided");
-            User agent = authService.getUserByEmail(
-                    authService.getAllUsers().stream()
-                            .filter(u -> u.getUserId().equals(agentId))
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException("Agent not found"))
-                            .getEmail()
-            );
-            authService.rejectAgent(agentId);
+            User agent = authService.rejectAgent(agentId);
             logger.info("✅ Agent registration rejected: {}", agent.getEmail());
             return ResponseEntity.ok(Map.of(
                     "message", "Agent registration rejected",
@@ -139,9 +152,9 @@ public class AdminController {
         logger.info("🔍 TEST ENDPOINT - getAllUsersTest() called (NO AUTH REQUIRED)");
         List<User> users = authService.getAllUsers();
         logger.info("✅ TEST - Retrieved {} users from database", users.size());
-        users.forEach(user -> logger.debug("TEST - User: ID={}, Name={}, Email={}, Role={}", 
+        users.forEach(user -> logger.debug("TEST - User: ID={}, Name={}, Email={}, RoleId={}", 
             user.getUserId(), user.getName(), user.getEmail(), 
-            user.getRole() != null ? user.getRole().getRoleName() : "NO_ROLE"));
+            user.getRoleId() != null ? user.getRoleId() : "NO_ROLE"));
         return users;
     }
 }
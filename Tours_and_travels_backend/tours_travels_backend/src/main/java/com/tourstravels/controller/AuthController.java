@@ -3,6 +3,7 @@ package com.tourstravels.controller;
 import com.tourstravels.dto.AgentRegistrationRequest;
 import com.tourstravels.entity.User;
 import com.tourstravels.security.JwtUtil;
+import com.tourstravels.security.RoleRegistry;
 import com.tourstravels.service.AuthService;
 
 import org.springframework.http.HttpStatus;
@@ -25,15 +26,18 @@ public class AuthController {
     private final AuthService authService;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final RoleRegistry roleRegistry;
 
     public AuthController(
             AuthService authService,
             AuthenticationManager authenticationManager,
-            JwtUtil jwtUtil
+            JwtUtil jwtUtil,
+            RoleRegistry roleRegistry
     ) {
         this.authService = authService;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.roleRegistry = roleRegistry;
     }
 
     // CUSTOMER REGISTRATION (PUBLIC)
@@ -116,9 +120,10 @@ public class AuthController {
             );
 
             User user = authService.getUserByEmail(request.getEmail());
+            String roleName = roleRegistry.nameOf(user.getRoleId());
 
             // CHECK: If agent and not approved, block login
-            if (user.getRole().getRoleName().equals("AGENT") && !user.getIsApproved()) {
+            if (RoleRegistry.AGENT.equals(roleName) && !Boolean.TRUE.equals(user.getIsApproved())) {
                 logger.warn("⚠️ Agent login blocked (pending approval): {}", request.getEmail());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body(Map.of("message", "Your registration is pending admin approval"));
@@ -126,15 +131,15 @@ public class AuthController {
 
             String token = jwtUtil.generateToken(
                     user.getEmail(),
-                    user.getRole().getRoleName()
+                    roleName
             );
 
             logger.info("✅ Login successful: {} (Role: {})", 
-                    request.getEmail(), user.getRole().getRoleName());
+                    request.getEmail(), roleName);
 
             return ResponseEntity.ok(new AuthResponse(
                     token,
-                    user.getRole().getRoleName(),
+                    roleName,
                     user.getUserId()
             ));
         } catch (Exception e) {
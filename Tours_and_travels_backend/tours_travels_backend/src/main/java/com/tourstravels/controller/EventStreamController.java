@@ -0,0 +1,65 @@
+package com.tourstravels.controller;
+
+import com.tourstravels.entity.User;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.StatusStreamService;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Server-sent event streams of booking / payment status changes, one per role.
+// Replaces polling the full booking and payment lists.
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+public class EventStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamController.class);
+    private final StatusStreamService statusStreamService;
+    private final UserRepository userRepository;
+
+    public EventStreamController(
+            StatusStreamService statusStreamService,
+            UserRepository userRepository
+    ) {
+        this.statusStreamService = statusStreamService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping(path = "/api/customer/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public SseEmitter customerEvents(
+            Authentication auth,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.info("📡 GET /api/customer/events - {}", auth.getName());
+        return statusStreamService.subscribe("CUSTOMER", currentUserId(auth), lastEventId);
+    }
+
+    @GetMapping(path = "/api/agent/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('AGENT')")
+    public SseEmitter agentEvents(
+            Authentication auth,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.info("📡 GET /api/agent/events - {}", auth.getName());
+        return statusStreamService.subscribe("AGENT", currentUserId(auth), lastEventId);
+    }
+
+    @GetMapping(path = "/api/admin/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter adminEvents(
+            Authentication auth,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.info("📡 GET /api/admin/events - {}", auth.getName());
+        return statusStreamService.subscribe("ADMIN", currentUserId(auth), lastEventId);
+    }
+
+    private Long currentUserId(Authentication auth) {
+        User user = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getUserId();
+    }
+}
@@ -0,0 +1,68 @@
+package com.tourstravels.controller.admin;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.tourstravels.dto.AgentImportReport;
+import com.tourstravels.service.AgentImportService;
+
+// REST controller for bulk agent onboarding from CSV
+@RestController
+@RequestMapping("/api/admin/agents/import")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminAgentImportController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminAgentImportController.class);
+
+    private final AgentImportService agentImportService;
+
+    // Constructor injection
+    public AdminAgentImportController(AgentImportService agentImportService) {
+        this.agentImportService = agentImportService;
+    }
+
+    // Upload a CSV (name, email, phone, address, company_name, license_number).
+    // Small files come back with the full report; larger ones return 202 with a job id to poll.
+    @PostMapping
+    public ResponseEntity<?> importAgents(@RequestParam("file") MultipartFile file, Authentication auth) {
+        logger.info("📥 POST /api/admin/agents/import - {} ({} bytes), admin={}",
+                file.getOriginalFilename(), file.getSize(), auth.getName());
+        try {
+            AgentImportReport report = agentImportService.importAgents(file.getInputStream(), auth.getName());
+            HttpStatus status = "RUNNING".equals(report.getStatus()) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+            return ResponseEntity.status(status).body(report);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Could not read the uploaded file");
+        } catch (RuntimeException e) {
+            logger.warn("❌ Agent import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Progress of a background import started by this admin; the per-row report
+    // (with temporary passwords) is filled in once it finishes and returned only once
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId, Authentication auth) {
+        try {
+            return ResponseEntity.ok(agentImportService.getJob(jobId, auth.getName()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
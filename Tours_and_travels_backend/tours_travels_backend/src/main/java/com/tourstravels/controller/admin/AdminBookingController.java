@@ -4,19 +4,24 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tourstravels.dto.BookingStatusSummary;
+import com.tourstravels.dto.BulkBookingDecisionRequest;
+import com.tourstravels.dto.BulkBookingDecisionResponse;
 import com.tourstravels.entity.Booking;
-import com.tourstravels.enums.BookingStatus;
-import com.tourstravels.enums.PaymentStatus;
 import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.service.BookingService;
+import com.tourstravels.service.BookingStatsService;
 
 // REST controller for admin booking operations
 @RestController
@@ -29,10 +34,17 @@ public class AdminBookingController {
     private static final Logger logger = LoggerFactory.getLogger(AdminBookingController.class);
 
     private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final BookingStatsService bookingStatsService;
 
     // Constructor injection
-    public AdminBookingController(BookingRepository bookingRepository) {
+    public AdminBookingController(
+            BookingRepository bookingRepository,
+            BookingService bookingService,
+            BookingStatsService bookingStatsService) {
         this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.bookingStatsService = bookingStatsService;
     }
 
     // Fetch all bookings
@@ -44,26 +56,29 @@ public class AdminBookingController {
         return bookings;
     }
 
+    // Booking counts per status / payment status, package and agent
+    @GetMapping("/summary")
+    public BookingStatusSummary getSummary() {
+        logger.info("📊 GET /api/admin/bookings/summary - getSummary() called");
+        return bookingStatsService.getAdminSummary();
+    }
+
     // Confirm booking after successful payment
     @PutMapping("/confirm/{id}")
     public ResponseEntity<?> confirmBooking(@PathVariable Long id) {
 
         logger.info("✅ PUT /api/admin/bookings/confirm/{} - confirmBooking() called", id);
 
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-        // Payment must be successful before confirmation
-        if (booking.getPaymentStatus() != PaymentStatus.SUCCESS) {
-            logger.warn("❌ Booking ID {} cannot be confirmed. Payment status: {}", id, booking.getPaymentStatus());
-            return ResponseEntity.badRequest()
-                    .body("Payment must be completed before confirming booking");
+        try {
+            // Payment must be successful before confirmation (enforced by the service)
+            bookingService.adminDecision(id, "CONFIRM");
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered with 409 by GlobalExceptionHandler
+        } catch (RuntimeException e) {
+            logger.warn("❌ Booking ID {} cannot be confirmed: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
 
-        // Update booking status
-        booking.setStatus(BookingStatus.CONFIRMED);
-        bookingRepository.save(booking);
-
         logger.info("✅ Booking ID {} confirmed successfully", id);
         return ResponseEntity.ok("Booking confirmed");
     }
@@ -73,13 +88,33 @@ public class AdminBookingController {
     public ResponseEntity<?> cancelBooking(@PathVariable Long id) {
         logger.info("❌ PUT /api/admin/bookings/cancel/{} - cancelBooking() called", id);
 
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-        booking.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        try {
+            bookingService.adminDecision(id, "CANCEL");
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered with 409 by GlobalExceptionHandler
+        } catch (RuntimeException e) {
+            logger.warn("❌ Booking ID {} cannot be cancelled: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         logger.info("✅ Booking ID {} cancelled successfully", id);
         return ResponseEntity.ok("Booking cancelled");
     }
+
+    // Confirm or cancel many bookings at once, with a per-booking outcome
+    @PutMapping("/decisions")
+    public ResponseEntity<?> bulkDecision(@RequestBody BulkBookingDecisionRequest request) {
+        int count = request.getBookingIds() != null ? request.getBookingIds().size() : 0;
+        logger.info("📦 PUT /api/admin/bookings/decisions - {} for {} bookings",
+                request.getDecision(), count);
+
+        try {
+            BulkBookingDecisionResponse response =
+                    bookingService.bulkAdminDecision(request.getBookingIds(), request.getDecision());
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            logger.warn("❌ Bulk decision rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.tourstravels.controller.admin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tourstravels.entity.Coupon;
+import com.tourstravels.service.CouponService;
+
+// REST controller for coupon management
+@RestController
+@RequestMapping("/api/admin/coupons")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminCouponController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminCouponController.class);
+
+    private final CouponService couponService;
+
+    // Constructor injection
+    public AdminCouponController(CouponService couponService) {
+        this.couponService = couponService;
+    }
+
+    // All coupons with allocated and redeemed counts
+    @GetMapping
+    public ResponseEntity<?> getCoupons() {
+        return ResponseEntity.ok(couponService.getStats());
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createCoupon(@RequestBody Coupon coupon) {
+        logger.info("🎟️ POST /api/admin/coupons - code={}", coupon.getCode());
+        try {
+            return ResponseEntity.ok(couponService.createCoupon(coupon));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}/deactivate")
+    public ResponseEntity<?> deactivate(@PathVariable Long id) {
+        logger.info("🎟️ PUT /api/admin/coupons/{}/deactivate", id);
+        try {
+            couponService.deactivate(id);
+            return ResponseEntity.ok("Coupon deactivated");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
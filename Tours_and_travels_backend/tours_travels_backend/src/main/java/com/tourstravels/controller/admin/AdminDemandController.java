@@ -0,0 +1,49 @@
+package com.tourstravels.controller.admin;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tourstravels.service.DemandService;
+
+// REST controller for maintaining the daily demand rollup
+@RestController
+@RequestMapping("/api/admin/demand")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminDemandController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminDemandController.class);
+
+    private final DemandService demandService;
+
+    // Constructor injection
+    public AdminDemandController(DemandService demandService) {
+        this.demandService = demandService;
+    }
+
+    // Recompute the rollup for a date window from bookings and the archive
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        logger.info("📈 POST /api/admin/demand/backfill - from={}, to={}", from, to);
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body("'to' must not be before 'from'");
+        }
+        int packages = demandService.backfill(from, to);
+        return ResponseEntity.ok(Map.of("packages", packages, "from", from, "to", to));
+    }
+}
@@ -0,0 +1,105 @@
+package com.tourstravels.controller.admin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.tourstravels.enums.ExportFormat;
+import com.tourstravels.service.ExportService;
+
+// REST controller for streaming finance exports
+@RestController
+@RequestMapping("/api/admin/exports")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminExportController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminExportController.class);
+
+    private final ExportService exportService;
+
+    // Constructor injection
+    public AdminExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // Stream all bookings as CSV or NDJSON
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        logger.info("📤 GET /api/admin/exports/bookings - format={}, gzip={}", format, gzip);
+        return stream("bookings", format, gzip,
+                out -> exportService.exportBookings(format, out));
+    }
+
+    // Stream all payments as CSV or NDJSON
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        logger.info("📤 GET /api/admin/exports/payments - format={}, gzip={}", format, gzip);
+        return stream("payments", format, gzip,
+                out -> exportService.exportPayments(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(
+            String name, ExportFormat format, boolean gzip, StreamingResponseBody body) {
+
+        String extension = format == ExportFormat.CSV ? ".csv" : ".ndjson";
+        MediaType contentType = format == ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        StreamingResponseBody response = body;
+        if (gzip) {
+            extension += ".gz";
+            contentType = MediaType.parseMediaType("application/gzip");
+            response = out -> {
+                // Not closed: that would close the servlet stream, which the container owns
+                ReleasingGzipOutputStream gzipOut = new ReleasingGzipOutputStream(out);
+                try {
+                    body.writeTo(gzipOut);
+                    gzipOut.finish();
+                } finally {
+                    gzipOut.release();
+                }
+            };
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + extension + "\"")
+                .body(response);
+    }
+
+    // GZIP stream whose Deflater can be freed without closing the underlying stream
+    private static final class ReleasingGzipOutputStream extends GZIPOutputStream {
+
+        private ReleasingGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 64 * 1024);
+        }
+
+        // Frees the Deflater's native memory; safe to call after finish() or a failed write
+        private void release() {
+            def.end();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.tourstravels.controller.admin;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tourstravels.entity.BookingTransition;
+import com.tourstravels.entity.PackageStatusCount;
+import com.tourstravels.repository.PackageStatusCountRepository;
+import com.tourstravels.scheduler.JournalProjector;
+import com.tourstravels.service.JournalService;
+
+// REST controller for the booking transition journal and its projections
+@RestController
+@RequestMapping("/api/admin/journal")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminJournalController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminJournalController.class);
+
+    private final JournalService journalService;
+    private final JournalProjector journalProjector;
+    private final PackageStatusCountRepository packageStatusCountRepository;
+
+    // Constructor injection
+    public AdminJournalController(
+            JournalService journalService,
+            JournalProjector journalProjector,
+            PackageStatusCountRepository packageStatusCountRepository) {
+        this.journalService = journalService;
+        this.journalProjector = journalProjector;
+        this.packageStatusCountRepository = packageStatusCountRepository;
+    }
+
+    // Every recorded transition of one booking, oldest first
+    @GetMapping("/bookings/{id}")
+    public List<BookingTransition> getBookingHistory(@PathVariable Long id) {
+        logger.info("🧾 GET /api/admin/journal/bookings/{} - getBookingHistory() called", id);
+        return journalService.getBookingHistory(id);
+    }
+
+    // How many journal rows each projection still has to apply
+    @GetMapping("/projections")
+    public Map<String, Long> getProjectionLag() {
+        logger.info("🧾 GET /api/admin/journal/projections - getProjectionLag() called");
+        return journalProjector.getLag();
+    }
+
+    // Drop a projection and replay the whole journal into it
+    @PostMapping("/projections/{name}/rebuild")
+    public ResponseEntity<?> rebuildProjection(@PathVariable String name) {
+        logger.info("🔁 POST /api/admin/journal/projections/{}/rebuild - rebuildProjection() called", name);
+        try {
+            long applied = journalProjector.rebuild(name);
+            return ResponseEntity.ok(Map.of("projection", name, "applied", applied));
+        } catch (RuntimeException e) {
+            logger.warn("❌ Projection {} cannot be rebuilt: {}", name, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Booking counts per package and status, read from the projection instead of the bookings table
+    @GetMapping("/projections/package-status-counts")
+    public List<PackageStatusCount> getPackageStatusCounts() {
+        logger.info("📊 GET /api/admin/journal/projections/package-status-counts called");
+        return packageStatusCountRepository.findAllByOrderByPackageIdAscStatusAsc();
+    }
+
+    // One-off seed: journal the current state of bookings created before the journal existed
+    @PostMapping("/import")
+    public ResponseEntity<?> importExistingBookings() {
+        logger.info("📥 POST /api/admin/journal/import - importExistingBookings() called");
+        int imported = journalService.importExistingBookings();
+        return ResponseEntity.ok(Map.of("imported", imported));
+    }
+}
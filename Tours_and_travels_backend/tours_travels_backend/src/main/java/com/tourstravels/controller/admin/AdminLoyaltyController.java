@@ -0,0 +1,54 @@
+package com.tourstravels.controller.admin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tourstravels.dto.LoyaltyCheckReport;
+import com.tourstravels.scheduler.LoyaltyConsistencyCheck;
+
+// REST controller for loyalty balance / ledger consistency checks
+@RestController
+@RequestMapping("/api/admin/loyalty/check")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminLoyaltyController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminLoyaltyController.class);
+
+    private final LoyaltyConsistencyCheck consistencyCheck;
+
+    // Constructor injection
+    public AdminLoyaltyController(LoyaltyConsistencyCheck consistencyCheck) {
+        this.consistencyCheck = consistencyCheck;
+    }
+
+    // Report of the last finished pass
+    @GetMapping
+    public ResponseEntity<?> getLastReport() {
+        LoyaltyCheckReport report = consistencyCheck.getLastReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    // Run a pass now; repair=false only reports drift
+    @PostMapping("/run")
+    public ResponseEntity<?> run(@RequestParam(defaultValue = "false") boolean repair) {
+        logger.info("⭐ POST /api/admin/loyalty/check/run - repair={}", repair);
+        LoyaltyCheckReport report = consistencyCheck.check(repair);
+        if (report == null) {
+            return ResponseEntity.status(409).body("Loyalty check is already running");
+        }
+        return ResponseEntity.ok(report);
+    }
+}
@@ -0,0 +1,89 @@
+package com.tourstravels.controller.admin;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tourstravels.dto.ModerationDecisionRequest;
+import com.tourstravels.service.ModerationService;
+
+// REST controller for the package / agent review queue
+@RestController
+@RequestMapping("/api/admin/moderation")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminModerationController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminModerationController.class);
+
+    private final ModerationService moderationService;
+
+    // Constructor injection
+    public AdminModerationController(ModerationService moderationService) {
+        this.moderationService = moderationService;
+    }
+
+    // Queue depth and oldest waiting item per type
+    @GetMapping("/queue")
+    public ResponseEntity<?> getQueue() {
+        return ResponseEntity.ok(moderationService.getQueueDepth());
+    }
+
+    // Claim the next items (PACKAGE or AGENT); items already held are returned again
+    @PostMapping("/{itemType}/claim")
+    public ResponseEntity<?> claim(
+            @PathVariable String itemType,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication auth) {
+        logger.info("📋 POST /api/admin/moderation/{}/claim - size={}, admin={}", itemType, size, auth.getName());
+        try {
+            return ResponseEntity.ok(moderationService.claim(itemType, auth.getName(), size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Approve or reject a batch of items, with a per-item outcome
+    @PutMapping("/{itemType}/decisions")
+    public ResponseEntity<?> decide(
+            @PathVariable String itemType,
+            @RequestBody ModerationDecisionRequest request,
+            Authentication auth) {
+        int count = request.getItemIds() != null ? request.getItemIds().size() : 0;
+        logger.info("📦 PUT /api/admin/moderation/{}/decisions - {} for {} items", itemType, request.getDecision(), count);
+        try {
+            return ResponseEntity.ok(moderationService.decide(
+                    itemType, auth.getName(), request.getItemIds(), request.getDecision()));
+        } catch (RuntimeException e) {
+            logger.warn("❌ Moderation decision rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Hand claimed items back to the queue before the lease runs out
+    @PostMapping("/{itemType}/release")
+    public ResponseEntity<?> release(
+            @PathVariable String itemType,
+            @RequestBody List<Long> itemIds,
+            Authentication auth) {
+        try {
+            return ResponseEntity.ok(moderationService.release(itemType, auth.getName(), itemIds));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.tourstravels.entity.TravelPackage;
 import com.tourstravels.enums.PackageStatus;
 import com.tourstravels.repository.PackageRepository;
+import com.tourstravels.service.PackageService;
 
 // Admin controller for managing travel packages
 @RestController
@@ -29,10 +30,12 @@ public class AdminPackageController {
     private static final Logger logger = LoggerFactory.getLogger(AdminPackageController.class);
 
     private final PackageRepository packageRepository;
+    private final PackageService packageService;
 
     // Constructor injection
-    public AdminPackageController(PackageRepository packageRepository) {
+    public AdminPackageController(PackageRepository packageRepository, PackageService packageService) {
         this.packageRepository = packageRepository;
+        this.packageService = packageService;
     }
 
     // Get all travel packages
@@ -58,11 +61,12 @@ public class AdminPackageController {
     public ResponseEntity<?> approvePackage(@PathVariable Long id) {
         logger.info("✅ PUT /api/admin/packages/approve/{} - approvePackage() called", id);
 
-        TravelPackage pkg = packageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Package not found"));
-
-        pkg.setStatus(PackageStatus.APPROVED);
-        packageRepository.save(pkg);
+        try {
+            packageService.adminDecision(id, "APPROVE");
+        } catch (RuntimeException e) {
+            logger.warn("❌ Package ID {} cannot be approved: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         logger.info("✅ Package ID {} approved successfully", id);
         return ResponseEntity.ok("Package approved");
@@ -73,11 +77,12 @@ public class AdminPackageController {
     public ResponseEntity<?> rejectPackage(@PathVariable Long id) {
         logger.info("❌ PUT /api/admin/packages/reject/{} - rejectPackage() called", id);
 
-        TravelPackage pkg = packageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Package not found"));
-
-        pkg.setStatus(PackageStatus.REJECTED);
-        packageRepository.save(pkg);
+        try {
+            packageService.adminDecision(id, "REJECT");
+        } catch (RuntimeException e) {
+            logger.warn("❌ Package ID {} cannot be rejected: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         logger.info("✅ Package ID {} rejected successfully", id);
         return ResponseEntity.ok("Package rejected");
@@ -92,7 +97,7 @@ public class AdminPackageController {
             return ResponseEntity.notFound().build();
         }
 
-        packageRepository.deleteById(id);
+        packageService.deletePackage(id);
         logger.info("✅ Package ID {} deleted successfully", id);
         return ResponseEntity.ok("Package deleted");
     }
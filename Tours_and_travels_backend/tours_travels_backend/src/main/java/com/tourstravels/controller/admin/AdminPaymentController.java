@@ -10,6 +10,14 @@ import com.tourstravels.enums.PaymentStatus;
 // Repository to perform DB operations on Payment table
 import com.tourstravels.repository.PaymentRepository;
 
+// Service that applies payment status transitions
+import com.tourstravels.service.PaymentService;
+
+// Service that keeps live payment counts per status
+import com.tourstravels.service.PaymentStatsService;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
 // Used to return HTTP responses with status codes
 import org.springframework.http.ResponseEntity;
 
@@ -48,9 +56,20 @@ public class AdminPaymentController {
     // Repository reference for database access
     private final PaymentRepository paymentRepository;
 
+    // Service reference for status changes
+    private final PaymentService paymentService;
+
+    // Service reference for payment counts
+    private final PaymentStatsService paymentStatsService;
+
     // Constructor-based dependency injection
-    public AdminPaymentController(PaymentRepository paymentRepository) {
+    public AdminPaymentController(
+            PaymentRepository paymentRepository,
+            PaymentService paymentService,
+            PaymentStatsService paymentStatsService) {
         this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.paymentStatsService = paymentStatsService;
     }
 
     // Handles GET request to /api/admin/payments
@@ -79,15 +98,15 @@ public class AdminPaymentController {
         // Log confirmation attempt
         logger.info("✅ PUT /api/admin/payments/confirm/{} - confirmPayment() called", id);
 
-        // Fetch payment by ID or throw exception if not found
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Payment not found"));
-
-        // Update payment status to SUCCESS
-        payment.setStatus(PaymentStatus.SUCCESS);
-
-        // Save updated payment to database
-        paymentRepository.save(payment);
+        // Only PENDING payments can move to SUCCESS
+        try {
+            paymentService.confirmPayment(id);
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered with 409 by GlobalExceptionHandler
+        } catch (RuntimeException e) {
+            logger.warn("❌ Payment ID {} cannot be confirmed: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         // Log success
         logger.info("✅ Payment ID {} confirmed successfully", id);
@@ -104,15 +123,15 @@ public class AdminPaymentController {
         // Log refund attempt
         logger.info("💰 PUT /api/admin/payments/refund/{} - refundPayment() called", id);
 
-        // Fetch payment or throw exception if not found
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Payment not found"));
-
-        // Update payment status to REFUNDED
-        payment.setStatus(PaymentStatus.REFUNDED);
-
-        // Save changes to database
-        paymentRepository.save(payment);
+        // Only SUCCESS payments can be refunded
+        try {
+            paymentService.refundPayment(id);
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered with 409 by GlobalExceptionHandler
+        } catch (RuntimeException e) {
+            logger.warn("❌ Payment ID {} cannot be refunded: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         // Log success
         logger.info("✅ Payment ID {} refunded successfully", id);
@@ -129,25 +148,14 @@ public class AdminPaymentController {
         // Log stats request
         logger.info("📊 GET /api/admin/payments/stats - getPaymentStats() called");
 
-        // Fetch all payments
-        List<Payment> allPayments = paymentRepository.findAll();
-
-        // Count payments based on their status
-        long pendingCount = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.PENDING)
-                .count();
-
-        long successCount = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.SUCCESS)
-                .count();
-
-        long refundedCount = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.REFUNDED)
-                .count();
+        // Counts come from in-memory counters reconciled against the database
+        Map<PaymentStatus, Long> counts = paymentStatsService.getStatusCounts();
 
-        long failedCount = allPayments.stream()
-                .filter(p -> p.getStatus() == PaymentStatus.FAILED)
-                .count();
+        long pendingCount = counts.getOrDefault(PaymentStatus.PENDING, 0L);
+        long successCount = counts.getOrDefault(PaymentStatus.SUCCESS, 0L);
+        long refundedCount = counts.getOrDefault(PaymentStatus.REFUNDED, 0L);
+        long failedCount = counts.getOrDefault(PaymentStatus.FAILED, 0L);
+        long totalCount = counts.values().stream().mapToLong(Long::longValue).sum();
 
         // Create a response map to send stats to frontend
         Map<String, Object> stats = new HashMap<>();
@@ -155,12 +163,12 @@ public class AdminPaymentController {
         stats.put("successPayments", successCount);
         stats.put("refundedPayments", refundedCount);
         stats.put("failedPayments", failedCount);
-        stats.put("totalPayments", allPayments.size());
+        stats.put("totalPayments", totalCount);
 
         // Log stats summary
         logger.info(
                 "✅ Payment stats - Pending: {}, Success: {}, Refunded: {}, Failed: {}, Total: {}",
-                pendingCount, successCount, refundedCount, failedCount, allPayments.size()
+                pendingCount, successCount, refundedCount, failedCount, totalCount
         );
 
         // Return stats as JSON
@@ -0,0 +1,54 @@
+package com.tourstravels.controller.admin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tourstravels.dto.ReconciliationReport;
+import com.tourstravels.scheduler.PaymentReconciler;
+
+// REST controller for booking / payment status reconciliation
+@RestController
+@RequestMapping("/api/admin/reconciliation")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminReconciliationController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminReconciliationController.class);
+
+    private final PaymentReconciler paymentReconciler;
+
+    // Constructor injection
+    public AdminReconciliationController(PaymentReconciler paymentReconciler) {
+        this.paymentReconciler = paymentReconciler;
+    }
+
+    // Report of the last finished pass
+    @GetMapping
+    public ResponseEntity<?> getLastReport() {
+        ReconciliationReport report = paymentReconciler.getLastReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    // Run a pass now; repair=false only reports mismatches
+    @PostMapping("/run")
+    public ResponseEntity<?> run(@RequestParam(defaultValue = "false") boolean repair) {
+        logger.info("🔍 POST /api/admin/reconciliation/run - repair={}", repair);
+        ReconciliationReport report = paymentReconciler.reconcile(repair);
+        if (report == null) {
+            return ResponseEntity.status(409).body("Reconciliation is already running");
+        }
+        return ResponseEntity.ok(report);
+    }
+}
@@ -0,0 +1,76 @@
+package com.tourstravels.controller.admin;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tourstravels.dto.RevenueReport;
+import com.tourstravels.enums.ReportPeriod;
+import com.tourstravels.scheduler.RevenueBackfillJob;
+import com.tourstravels.service.RevenueService;
+
+// REST controller for revenue reports across all agents
+@RestController
+@RequestMapping("/api/admin/revenue")
+@PreAuthorize("hasRole('ADMIN')") // Only ADMIN can access these APIs
+@CrossOrigin(origins = "http://localhost:5173")
+public class AdminRevenueController {
+
+    // Logger for request tracing
+    private static final Logger logger = LoggerFactory.getLogger(AdminRevenueController.class);
+
+    private final RevenueService revenueService;
+    private final RevenueBackfillJob revenueBackfillJob;
+
+    // Constructor injection
+    public AdminRevenueController(RevenueService revenueService, RevenueBackfillJob revenueBackfillJob) {
+        this.revenueService = revenueService;
+        this.revenueBackfillJob = revenueBackfillJob;
+    }
+
+    // Gross, refunded and net revenue per agent and package.
+    // Month-to-date by default; period=YTD or an explicit from/to range also work.
+    @GetMapping
+    public ResponseEntity<?> getReport(
+            @RequestParam(defaultValue = "MTD") ReportPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : period.startOf(end);
+        logger.info("💰 GET /api/admin/revenue - from={}, to={}", start, end);
+
+        try {
+            RevenueReport report = revenueService.getAdminReport(start, end);
+            logger.info("✅ Revenue {} to {}: gross={}, net={}", start, end, report.getGross(), report.getNet());
+            return ResponseEntity.ok(report);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Recompute the rollup for a date window from the journal
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        logger.info("💰 POST /api/admin/revenue/backfill - from={}, to={}", from, to);
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body("'to' must not be before 'from'");
+        }
+        int failed = revenueBackfillJob.backfill(from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "failedDays", failed));
+    }
+}
@@ -1,11 +1,15 @@
 // Package declaration: defines the folder structure of this controller
 package com.tourstravels.controller.admin;
 
-// Importing the User entity class
-import com.tourstravels.entity.User;
+// Directory page and row DTOs (no password, no packages graph)
+import com.tourstravels.dto.UserDirectoryPage;
+import com.tourstravels.dto.UserSummary;
 
-// Importing the UserRepository to interact with the database
-import com.tourstravels.repository.UserRepository;
+// Service holding the user / agent directory queries
+import com.tourstravels.service.AuthService;
+
+// Spring's HTTP response wrapper
+import org.springframework.http.ResponseEntity;
 
 // Spring Security annotation to restrict access based on roles
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,9 +21,6 @@ import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-// Java utility for handling lists
-import java.util.List;
-
 // Marks this class as a REST controller (returns JSON responses)
 @RestController
 
@@ -34,31 +35,52 @@ public class AdminUserController {
     private static final Logger logger =
             LoggerFactory.getLogger(AdminUserController.class);
 
-    // Repository reference to perform database operations on User entity
-    private final UserRepository userRepository;
+    // Service reference for the paged directory queries
+    private final AuthService authService;
 
-    // Constructor-based dependency injection of UserRepository
-    public AdminUserController(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    // Constructor-based dependency injection of AuthService
+    public AdminUserController(AuthService authService) {
+        this.authService = authService;
     }
 
-    // Handles HTTP GET requests to /api/admin/users
+    // Handles HTTP GET requests to /api/admin/users?role=&q=&page=&size=
     @GetMapping
 
     // Only users with ADMIN role can access this method
     @PreAuthorize("hasRole('ADMIN')")
-    public List<User> getAllUsers() {
+    public UserDirectoryPage getAllUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
 
         // Log when API is called
-        logger.info("👥 GET /api/admin/users - getAllUsers() called");
+        logger.info("👥 GET /api/admin/users - role={}, q={}, page={}", role, q, page);
 
-        // Fetch all users from the database
-        List<User> users = userRepository.findAll();
+        // Fetch one page of users, optionally one role and a name / email prefix
+        UserDirectoryPage users = authService.getUsers(role, q, page, size);
 
-        // Log how many users were retrieved
-        logger.info("✅ Retrieved {} users", users.size());
+        // Log how many users match in total
+        logger.info("✅ Retrieved {} of {} users", users.getItems().size(), users.getTotal());
 
-        // Return the list of users as JSON response
+        // Return the page as JSON response
         return users;
     }
+
+    // Handles HTTP GET requests to /api/admin/users/{userId}
+    @GetMapping("/{userId}")
+
+    // Only users with ADMIN role can access this method
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getUser(@PathVariable Long userId) {
+
+        // Direct primary-key lookup
+        try {
+            UserSummary user = authService.getUserSummary(userId);
+            return ResponseEntity.ok(user);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.tourstravels.controller.agent;
 
 import org.springframework.web.bind.annotation.*;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,11 +11,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.List;
 
+import com.tourstravels.dto.BookingStatusSummary;
 import com.tourstravels.entity.Booking;
 import com.tourstravels.entity.User;
-import com.tourstravels.enums.BookingStatus;
 import com.tourstravels.repository.BookingRepository;
 import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.BookingService;
+import com.tourstravels.service.BookingStatsService;
 
 @RestController
 @RequestMapping("/api/agent/bookings")
@@ -24,13 +28,19 @@ public class AgentBookingController {
     private static final Logger logger = LoggerFactory.getLogger(AgentBookingController.class);
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final BookingService bookingService;
+    private final BookingStatsService bookingStatsService;
 
     public AgentBookingController(
             BookingRepository bookingRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            BookingService bookingService,
+            BookingStatsService bookingStatsService
     ) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
+        this.bookingService = bookingService;
+        this.bookingStatsService = bookingStatsService;
     }
 
     @GetMapping
@@ -50,28 +60,36 @@ public class AgentBookingController {
         return bookings;
     }
 
+    @GetMapping("/summary")
+    public BookingStatusSummary getSummary(Authentication auth) {
+
+        logger.info("📊 GET /api/agent/bookings/summary - getSummary() called");
+
+        User agent = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("Agent not found"));
+
+        return bookingStatsService.getAgentSummary(agent.getUserId());
+    }
+
     @PutMapping("/{bookingId}/approve")
     public ResponseEntity<?> approveBooking(
             @PathVariable Long bookingId,
             Authentication auth) {
         
         logger.info("✅ PUT /api/agent/bookings/{}/approve - approveBooking() called", bookingId);
-        User agent = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("Agent not found"));
-
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-        // Verify booking belongs to agent's package
-        if (!booking.getTourPackage().getAgent().getUserId().equals(agent.getUserId())) {
-            logger.error("❌ Agent {} trying to approve booking not owned by them", agent.getEmail());
+        try {
+            Booking booking = bookingService.agentDecision(bookingId, auth.getName(), "APPROVE");
+            logger.info("✅ Booking ID {} approved by agent", bookingId);
+            return ResponseEntity.ok(booking);
+        } catch (AccessDeniedException e) {
+            logger.error("❌ Agent {} trying to approve booking not owned by them", auth.getName());
             return ResponseEntity.status(403).body("Unauthorized");
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered with 409 by GlobalExceptionHandler
+        } catch (RuntimeException e) {
+            logger.warn("❌ Booking ID {} cannot be approved: {}", bookingId, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-
-        booking.setStatus(BookingStatus.AGENT_APPROVED);
-        bookingRepository.save(booking);
-        logger.info("✅ Booking ID {} approved by agent", bookingId);
-        return ResponseEntity.ok(booking);
     }
 
     @PutMapping("/{bookingId}/reject")
@@ -80,21 +98,18 @@ public class AgentBookingController {
             Authentication auth) {
         
         logger.info("❌ PUT /api/agent/bookings/{}/reject - rejectBooking() called", bookingId);
-        User agent = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("Agent not found"));
-
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-        // Verify booking belongs to agent's package
-        if (!booking.getTourPackage().getAgent().getUserId().equals(agent.getUserId())) {
-            logger.error("❌ Agent {} trying to reject booking not owned by them", agent.getEmail());
+        try {
+            Booking booking = bookingService.agentDecision(bookingId, auth.getName(), "REJECT");
+            logger.info("✅ Booking ID {} rejected by agent", bookingId);
+            return ResponseEntity.ok(booking);
+        } catch (AccessDeniedException e) {
+            logger.error("❌ Agent {} trying to reject booking not owned by them", auth.getName());
             return ResponseEntity.status(403).body("Unauthorized");
+        } catch (OptimisticLockingFailureException e) {
+            throw e; // answered with 409 by GlobalExceptionHandler
+        } catch (RuntimeException e) {
+            logger.warn("❌ Booking ID {} cannot be rejected: {}", bookingId, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-
-        booking.setStatus(BookingStatus.AGENT_REJECTED);
-        bookingRepository.save(booking);
-        logger.info("✅ Booking ID {} rejected by agent", bookingId);
-        return ResponseEntity.ok(booking);
     }
 }
@@ -0,0 +1,119 @@
+package com.tourstravels.controller.agent;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.tourstravels.dto.DepartureManifest;
+import com.tourstravels.dto.DepartureSummary;
+import com.tourstravels.entity.User;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.ManifestService;
+
+// Passenger manifests per departure (package + tour date) for the agent's packages
+@RestController
+@RequestMapping("/api/agent/manifests")
+@PreAuthorize("hasRole('AGENT')")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AgentManifestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgentManifestController.class);
+
+    private final ManifestService manifestService;
+    private final UserRepository userRepository;
+
+    public AgentManifestController(
+            ManifestService manifestService,
+            UserRepository userRepository
+    ) {
+        this.manifestService = manifestService;
+        this.userRepository = userRepository;
+    }
+
+    // Departures in a date window (default: next 30 days) with passenger totals
+    @GetMapping
+    public List<DepartureSummary> getDepartures(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication auth) {
+
+        logger.info("🧾 GET /api/agent/manifests - from={}, to={}", from, to);
+
+        User agent = currentAgent(auth);
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(30);
+        return manifestService.getDepartures(agent.getUserId(), start, end);
+    }
+
+    // One page of the passenger manifest of a departure
+    @GetMapping("/{packageId}/{date}")
+    public ResponseEntity<?> getManifest(
+            @PathVariable Long packageId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            Authentication auth) {
+
+        logger.info("🧾 GET /api/agent/manifests/{}/{} - page={}, size={}", packageId, date, page, size);
+
+        User agent = currentAgent(auth);
+        try {
+            DepartureManifest manifest =
+                    manifestService.getManifest(agent.getUserId(), packageId, date, page, size);
+            logger.info("✅ Manifest of package {} on {}: {} bookings, {} tourists",
+                    packageId, date, manifest.getBookings(), manifest.getTourists());
+            return ResponseEntity.ok(manifest);
+        } catch (AccessDeniedException e) {
+            logger.error("❌ Agent {} trying to open manifest of package {} not owned by them",
+                    auth.getName(), packageId);
+            return ResponseEntity.status(403).body("Unauthorized");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Whole manifest of a departure as a streamed CSV download
+    @GetMapping("/{packageId}/{date}/csv")
+    public ResponseEntity<?> downloadManifest(
+            @PathVariable Long packageId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            Authentication auth) {
+
+        logger.info("📤 GET /api/agent/manifests/{}/{}/csv", packageId, date);
+
+        User agent = currentAgent(auth);
+        try {
+            // Checked before streaming starts, afterwards the status code is already sent
+            manifestService.checkPackageOwner(agent.getUserId(), packageId);
+        } catch (AccessDeniedException e) {
+            logger.error("❌ Agent {} trying to download manifest of package {} not owned by them",
+                    auth.getName(), packageId);
+            return ResponseEntity.status(403).body("Unauthorized");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> manifestService.writeManifestCsv(packageId, date, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"manifest-" + packageId + "-" + date + ".csv\"")
+                .body(body);
+    }
+
+    private User currentAgent(Authentication auth) {
+        return userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("Agent not found"));
+    }
+}
@@ -1,20 +1,25 @@
 package com.tourstravels.controller.agent;
 
+import com.tourstravels.dto.PackageDemandDay;
 import com.tourstravels.entity.TravelPackage;
 import com.tourstravels.entity.User;
-import com.tourstravels.enums.PackageStatus;
 import com.tourstravels.repository.BookingRepository;
 import com.tourstravels.repository.PackageRepository;
 import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.DemandService;
 import com.tourstravels.service.ImageUploadService;
+import com.tourstravels.service.PackageService;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -25,17 +30,23 @@ public class AgentPackageController {
     private final PackageRepository packageRepository;
     private final UserRepository userRepository;
     private final ImageUploadService imageUploadService;
+    private final DemandService demandService;
+    private final PackageService packageService;
     private static final Logger logger =
             Logger.getLogger(AgentPackageController.class.getName());
 
     public AgentPackageController(
             PackageRepository packageRepository,
             UserRepository userRepository,
-            ImageUploadService imageUploadService
+            ImageUploadService imageUploadService,
+            DemandService demandService,
+            PackageService packageService
     ) {
         this.packageRepository = packageRepository;
         this.userRepository = userRepository;
         this.imageUploadService = imageUploadService;
+        this.demandService = demandService;
+        this.packageService = packageService;
     }
 
     /* CREATE PACKAGE */
@@ -48,9 +59,6 @@ public class AgentPackageController {
 
         String email = authentication.getName();
 
-        User agent = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Agent not found: " + email));
-
         // ---------------- ROBUST FUTURE-PROOF VALIDATION ----------------
         // Either both times must be present or both must be null
         if ((tourPackage.getTourStartTime() != null && tourPackage.getTourEndTime() == null)
@@ -70,10 +78,8 @@ public class AgentPackageController {
         }
         // ----------------------------------------------------------------
 
-        tourPackage.setAgent(agent);
-        tourPackage.setStatus(PackageStatus.PENDING);
-
-        return packageRepository.save(tourPackage);
+        // Sets the agent and PENDING status, and queues the package for review
+        return packageService.createPackage(tourPackage, email);
     }
 
 
@@ -84,15 +90,7 @@ public class AgentPackageController {
             @PathVariable Long id,
             @RequestBody TravelPackage updated
     ) {
-        TravelPackage pkg = packageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Package not found"));
-
-        pkg.setTitle(updated.getTitle());
-        pkg.setDescription(updated.getDescription());
-        pkg.setPrice(updated.getPrice());
-        pkg.setStatus(PackageStatus.PENDING); // re-approval required
-
-        return packageRepository.save(pkg);
+        return packageService.updatePackage(id, updated); // re-approval required
     }
 
     /* DELETE REQUEST */
@@ -121,12 +119,39 @@ public class AgentPackageController {
                     .body("Cannot delete package with existing bookings");
         }
 
-        packageRepository.delete(pkg);
+        packageService.deletePackage(id);
         return ResponseEntity.ok("Package deleted successfully");
     }
 
 
 
+    /* DAILY DEMAND */
+    @GetMapping("/{id}/demand")
+    public ResponseEntity<?> getPackageDemand(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication) {
+
+        User agent = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("Agent not found"));
+
+        // Default window: the last year up to today
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+
+        try {
+            List<PackageDemandDay> demand =
+                    demandService.getPackageDemand(agent.getUserId(), id, start, end);
+            return ResponseEntity.ok(demand);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403)
+                    .body("You are not allowed to view this package");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /* VIEW OWN PACKAGES */
     @GetMapping
     public List<TravelPackage> getMyPackages(Authentication authentication) {
@@ -145,8 +170,9 @@ public class AgentPackageController {
             @PathVariable Long id,
             @RequestParam("images") MultipartFile[] images
     ) {
-        TravelPackage pkg = packageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Package not found"));
+        if (!packageRepository.existsById(id)) {
+            throw new RuntimeException("Package not found");
+        }
 
         if (images.length > 5) {
             throw new RuntimeException("Maximum 5 images allowed");
@@ -155,15 +181,8 @@ public class AgentPackageController {
         // Upload images and get URLs
         List<String> uploadedUrls = imageUploadService.uploadImages(images);
 
-        // Initialize imageUrls if null
-        if (pkg.getImageUrls() == null) {
-            pkg.setImageUrls(new java.util.ArrayList<>());
-        }
-
         // Add uploaded URLs to package
-        pkg.getImageUrls().addAll(uploadedUrls);
-
-        return packageRepository.save(pkg);
+        return packageService.addImages(id, uploadedUrls);
     }
 
     /* ADD PACKAGE IMAGES VIA URLS */
@@ -172,9 +191,6 @@ public class AgentPackageController {
             @PathVariable Long id,
             @RequestBody ImageUrlRequest request
     ) {
-        TravelPackage pkg = packageRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Package not found"));
-
         if (request.getImageUrls() == null || request.getImageUrls().isEmpty()) {
             throw new RuntimeException("At least one image URL is required");
         }
@@ -183,15 +199,8 @@ public class AgentPackageController {
             throw new RuntimeException("Maximum 5 images allowed");
         }
 
-        // Initialize imageUrls if null
-        if (pkg.getImageUrls() == null) {
-            pkg.setImageUrls(new java.util.ArrayList<>());
-        }
-
         // Add URLs to package
-        pkg.getImageUrls().addAll(request.getImageUrls());
-
-        return packageRepository.save(pkg);
+        return packageService.addImages(id, request.getImageUrls());
     }
 }
 
@@ -0,0 +1,61 @@
+package com.tourstravels.controller.agent;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+
+import com.tourstravels.dto.RevenueReport;
+import com.tourstravels.entity.User;
+import com.tourstravels.enums.ReportPeriod;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.RevenueService;
+
+// Revenue of the agent's own packages
+@RestController
+@RequestMapping("/api/agent/revenue")
+@PreAuthorize("hasRole('AGENT')")
+@CrossOrigin(origins = "http://localhost:5173")
+public class AgentRevenueController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgentRevenueController.class);
+
+    private final RevenueService revenueService;
+    private final UserRepository userRepository;
+
+    public AgentRevenueController(
+            RevenueService revenueService,
+            UserRepository userRepository
+    ) {
+        this.revenueService = revenueService;
+        this.userRepository = userRepository;
+    }
+
+    // Gross, refunded and net revenue per package (default: month to date)
+    @GetMapping
+    public ResponseEntity<?> getReport(
+            @RequestParam(defaultValue = "MTD") ReportPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication auth) {
+
+        User agent = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("Agent not found"));
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : period.startOf(end);
+        logger.info("💰 GET /api/agent/revenue - agent={}, from={}, to={}", auth.getName(), start, end);
+
+        try {
+            RevenueReport report = revenueService.getAgentReport(agent.getUserId(), start, end);
+            return ResponseEntity.ok(report);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.tourstravels.controller.customer;
 
+import com.tourstravels.dto.CustomerBookingView;
 import com.tourstravels.entity.Booking;
 import com.tourstravels.entity.User;
 import com.tourstravels.repository.UserRepository;
 import com.tourstravels.service.BookingService;
+import com.tourstravels.service.IdempotencyService;
+import com.tourstravels.util.RequestHashes;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,39 +25,53 @@ public class CustomerBookingController {
 
     private final BookingService bookingService;
     private final UserRepository userRepository;
+    private final IdempotencyService idempotencyService;
 
     public CustomerBookingController(
             BookingService bookingService,
-            UserRepository userRepository
+            UserRepository userRepository,
+            IdempotencyService idempotencyService
     ) {
         this.bookingService = bookingService;
         this.userRepository = userRepository;
+        this.idempotencyService = idempotencyService;
     }
 
     /* ================= CREATE BOOKING ================= */
 
     @PostMapping("/bookings")
-    public Booking createBooking(
+    public ResponseEntity<?> createBooking(
             @RequestBody Booking booking,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication auth) {
 
         User customer = userRepository.findByEmail(auth.getName())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
         booking.setUser(customer);
-        return bookingService.createBooking(booking);
+
+        // Retried requests with the same key get the original booking back
+        String requestHash = RequestHashes.sha256(
+                booking.getTourPackage() != null ? booking.getTourPackage().getId() : null,
+                booking.getTourStartDate(),
+                booking.getTouristsCount(),
+                booking.getCouponCode(),
+                booking.getPointsRedeemed());
+        return idempotencyService.execute("booking", customer.getUserId(), idempotencyKey, requestHash,
+                () -> ResponseEntity.ok(bookingService.createBooking(booking)));
     }
 
     /* ================= VIEW MY BOOKINGS ================= */
 
     @GetMapping("/bookings")
-    public List<Booking> getMyBookings(Authentication auth) {
+    public List<CustomerBookingView> getMyBookings(
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication auth) {
 
         User customer = userRepository.findByEmail(auth.getName())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
 
-        
-        return bookingService.getBookingsByUser(customer.getUserId());
+        return bookingService.getBookingViewsByUser(customer.getUserId(), includeArchived);
     }
 
     /* ================= CANCEL BOOKING ================= */
@@ -69,6 +87,8 @@ public class CustomerBookingController {
         try {
             Booking booking = bookingService.cancelByCustomer(id, customer.getUserId());
             return ResponseEntity.ok(booking);
+        } catch (OptimisticLockingFailureException ex) {
+            throw ex; // answered with 409 by GlobalExceptionHandler
         } catch (RuntimeException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
         }
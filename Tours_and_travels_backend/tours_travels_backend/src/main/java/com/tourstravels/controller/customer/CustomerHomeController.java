@@ -0,0 +1,47 @@
+package com.tourstravels.controller.customer;
+
+import com.tourstravels.dto.CustomerHome;
+import com.tourstravels.entity.User;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.CustomerHomeService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/customer/home")
+@PreAuthorize("hasRole('CUSTOMER')")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CustomerHomeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerHomeController.class);
+
+    private final CustomerHomeService customerHomeService;
+    private final UserRepository userRepository;
+
+    public CustomerHomeController(
+            CustomerHomeService customerHomeService,
+            UserRepository userRepository
+    ) {
+        this.customerHomeService = customerHomeService;
+        this.userRepository = userRepository;
+    }
+
+    /* ================= DASHBOARD ================= */
+
+    // Profile, bookings, payments and packages in one round trip
+    @GetMapping
+    public ResponseEntity<?> getHome(Authentication auth) {
+        User customer = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+
+        CustomerHome home = customerHomeService.getHome(customer);
+        logger.info("🏠 [GET] /api/customer/home - {} in {} ms, unavailable={}",
+                auth.getName(), home.getElapsedMs(), home.getUnavailable().keySet());
+        return ResponseEntity.ok(home);
+    }
+}
@@ -0,0 +1,47 @@
+package com.tourstravels.controller.customer;
+
+import com.tourstravels.entity.User;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.LoyaltyService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/customer/loyalty")
+@PreAuthorize("hasRole('CUSTOMER')")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CustomerLoyaltyController {
+
+    private final LoyaltyService loyaltyService;
+    private final UserRepository userRepository;
+
+    public CustomerLoyaltyController(
+            LoyaltyService loyaltyService,
+            UserRepository userRepository
+    ) {
+        this.loyaltyService = loyaltyService;
+        this.userRepository = userRepository;
+    }
+
+    // Balance, point value and latest ledger entries
+    @GetMapping
+    public ResponseEntity<?> getSummary(Authentication auth) {
+        return ResponseEntity.ok(loyaltyService.getSummary(currentCustomer(auth).getUserId()));
+    }
+
+    // Cached balance only, cheap enough for every checkout page
+    @GetMapping("/balance")
+    public ResponseEntity<?> getBalance(Authentication auth) {
+        return ResponseEntity.ok(Map.of("balance", loyaltyService.getBalance(currentCustomer(auth).getUserId())));
+    }
+
+    private User currentCustomer(Authentication auth) {
+        return userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+    }
+}
@@ -1,14 +1,15 @@
 package com.tourstravels.controller.customer;
 
+import com.tourstravels.dto.CustomerPaymentView;
 import com.tourstravels.entity.Payment;
-import com.tourstravels.entity.Booking;
 import com.tourstravels.entity.User;
-import com.tourstravels.repository.PaymentRepository;
-import com.tourstravels.repository.UserRepository;
-import com.tourstravels.repository.BookingRepository;
-import com.tourstravels.enums.BookingStatus;
 import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.IdempotencyService;
+import com.tourstravels.service.PaymentService;
+import com.tourstravels.util.RequestHashes;
 
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -19,7 +20,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/customer/payments")
@@ -28,27 +28,29 @@ import java.util.Optional;
 public class CustomerPaymentController {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerPaymentController.class);
-    private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
-    private final BookingRepository bookingRepository;
+    private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     public CustomerPaymentController(
-            PaymentRepository paymentRepository,
             UserRepository userRepository,
-            BookingRepository bookingRepository
+            PaymentService paymentService,
+            IdempotencyService idempotencyService
     ) {
-        this.paymentRepository = paymentRepository;
         this.userRepository = userRepository;
-        this.bookingRepository = bookingRepository;
+        this.paymentService = paymentService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping
-    public List<Payment> getMyPayments(Authentication auth) {
+    public List<CustomerPaymentView> getMyPayments(
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication auth) {
         logger.info("📊 GET /api/customer/payments - getMyPayments() called");
         User customer = userRepository.findByEmail(auth.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Payment> payments = paymentRepository.findByBookingUser(customer);
+        List<CustomerPaymentView> payments = paymentService.getPaymentViewsByUser(customer.getUserId(), includeArchived);
         logger.info("✅ Retrieved {} payments for customer {}", payments.size(), customer.getEmail());
         return payments;
     }
@@ -56,6 +58,7 @@ public class CustomerPaymentController {
     @PostMapping
     public ResponseEntity<?> createPayment(
             @RequestBody Map<String, Object> paymentRequest,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication auth) {
         
         logger.info("💳 POST /api/customer/payments - createPayment() called");
@@ -74,49 +77,24 @@ public class CustomerPaymentController {
             return ResponseEntity.badRequest().body("Booking ID is required");
         }
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        // Retried requests with the same key replay the first response without touching the DB
+        Long payBookingId = bookingId;
+        return idempotencyService.execute("payment", customer.getUserId(), idempotencyKey,
+                RequestHashes.sha256(payBookingId), () -> {
+            Payment payment;
+            try {
+                payment = paymentService.createPayment(payBookingId, customer.getUserId());
+            } catch (AccessDeniedException e) {
+                logger.error("❌ Customer {} trying to pay for booking not owned by them", customer.getEmail());
+                return ResponseEntity.status(403).body("Unauthorized access to booking");
+            }
 
-        // Verify booking belongs to customer
-        if (!booking.getUser().getUserId().equals(customer.getUserId())) {
-            logger.error("❌ Customer {} trying to pay for booking not owned by them", customer.getEmail());
-            return ResponseEntity.status(403).body("Unauthorized access to booking");
-        }
-
-        // Check if payment already exists for this booking to avoid duplicate entry
-        Optional<Payment> existingPaymentOpt = paymentRepository.findByBooking(booking);
-        if (existingPaymentOpt.isPresent()) {
-            Payment existing = existingPaymentOpt.get();
-            logger.info("⏭️ Payment already exists for Booking ID: {}. Returning existing payment.", bookingId);
-            return ResponseEntity.ok(Map.of(
-                    "paymentId", existing.getId(),
-                    "status", existing.getStatus().name(),
-                    "bookingId", bookingId
+            // PENDING payments are charged in the background; the client polls for the result
+            return ResponseEntity.status(payment.getStatus() == PaymentStatus.PENDING ? 202 : 200).body(Map.of(
+                    "paymentId", payment.getId(),
+                    "status", payment.getStatus().name(),
+                    "bookingId", payBookingId
             ));
-        }
-
-        // Create payment - ALWAYS SUCCESSFUL FOR NOW
-        Payment payment = new Payment();
-        payment.setBooking(booking);
-        payment.setStatus(PaymentStatus.SUCCESS);  // Always mark as SUCCESS
-        
-        Payment savedPayment = paymentRepository.save(payment);
-        
-        // Update booking payment status to SUCCESS (Booking status stays PENDING for admin approval)
-        booking.setPaymentStatus(PaymentStatus.SUCCESS);
-        // Auto-confirm booking after successful payment
-        if (booking.getStatus() == BookingStatus.PENDING
-                || booking.getStatus() == BookingStatus.AGENT_APPROVED) {
-            booking.setStatus(BookingStatus.CONFIRMED);
-        }
-        bookingRepository.save(booking);
-        
-        logger.info("✅ Payment created successfully. Booking ID: {} - Payment: SUCCESS, Booking Status: {} (awaiting admin confirmation)", 
-                    bookingId, booking.getStatus());
-        return ResponseEntity.ok(Map.of(
-                "paymentId", savedPayment.getId(),
-                "status", savedPayment.getStatus().name(),
-                "bookingId", bookingId
-        ));
+        });
     }
 }
@@ -0,0 +1,24 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.*;
+
+// Progress of one bulk agent import; rows is filled once the job has finished
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentImportReport {
+    private String jobId;
+    private String status; // RUNNING, COMPLETED or FAILED
+    private int totalRows;
+    private int processed;
+    private int created;
+    private int skipped;
+    private int failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+    private List<AgentImportRow> rows;
+}
@@ -0,0 +1,17 @@
+package com.tourstravels.dto;
+
+import com.tourstravels.enums.AgentImportRowStatus;
+
+import lombok.*;
+
+// Result for one CSV line; temporaryPassword is only set for created agents
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgentImportRow {
+    private int line;
+    private String email;
+    private AgentImportRowStatus status;
+    private String message;
+    private String temporaryPassword;
+}
@@ -0,0 +1,32 @@
+package com.tourstravels.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+
+import lombok.*;
+
+// Compact dashboard counts; only non-zero cells are present
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusSummary {
+    private long total;
+    private Map<BookingStatus, Long> byStatus;
+    private Map<PaymentStatus, Long> byPaymentStatus;
+    private Map<BookingStatus, Map<PaymentStatus, Long>> matrix;
+    private List<GroupCounts> byPackage;
+    private List<GroupCounts> byAgent; // ADMIN only
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GroupCounts {
+        private Long id;
+        private String name;
+        private long total;
+        private Map<BookingStatus, Long> byStatus;
+    }
+}
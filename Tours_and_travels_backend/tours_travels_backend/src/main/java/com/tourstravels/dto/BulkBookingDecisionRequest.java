@@ -0,0 +1,13 @@
+package com.tourstravels.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingDecisionRequest {
+    private List<Long> bookingIds;
+    private String decision; // CONFIRM or CANCEL
+}
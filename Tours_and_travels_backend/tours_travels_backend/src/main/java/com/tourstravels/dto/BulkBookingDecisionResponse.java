@@ -0,0 +1,18 @@
+package com.tourstravels.dto;
+
+import java.util.Map;
+
+import com.tourstravels.enums.BookingDecisionOutcome;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingDecisionResponse {
+    private String decision;
+    private long applied;
+    private long skipped;
+    private long notFound;
+    private Map<Long, BookingDecisionOutcome> outcomes;
+}
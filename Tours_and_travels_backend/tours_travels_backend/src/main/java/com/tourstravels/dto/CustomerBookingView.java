@@ -0,0 +1,27 @@
+package com.tourstravels.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+
+import lombok.*;
+
+// Read model for "My Bookings", filled by one joined projection query
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBookingView {
+    private Long id;
+    private Integer touristsCount;
+    private BookingStatus status;
+    private PaymentStatus paymentStatus;
+    private BigDecimal amount;
+    private LocalDate bookingDate;
+    private LocalDate tourStartDate;
+    private String customerName;
+    private Long packageId;
+    private String packageName;
+    private Long agentId;
+}
@@ -0,0 +1,23 @@
+package com.tourstravels.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+
+import lombok.*;
+
+// Everything the customer dashboard needs in one response. A section that
+// failed or ran past its timeout is left null and named in unavailable.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerHome {
+    private User profile;
+    private List<CustomerBookingView> bookings;
+    private List<CustomerPaymentView> payments;
+    private List<TravelPackage> packages;
+    private Map<String, String> unavailable;
+    private long elapsedMs;
+}
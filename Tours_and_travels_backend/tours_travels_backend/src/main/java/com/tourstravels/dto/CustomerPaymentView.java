@@ -0,0 +1,24 @@
+package com.tourstravels.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+
+import lombok.*;
+
+// Read model for "My Payments", filled by one joined projection query
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPaymentView {
+    private Long id;
+    private PaymentStatus status;
+    private Long bookingId;
+    private BookingStatus bookingStatus;
+    private BigDecimal amount;
+    private LocalDate tourStartDate;
+    private Long packageId;
+    private String packageName;
+}
@@ -0,0 +1,24 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.tourstravels.entity.ManifestEntry;
+
+import lombok.*;
+
+// One page of a departure manifest plus the totals of the whole departure
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartureManifest {
+    private Long packageId;
+    private String packageTitle;
+    private LocalDate tourStartDate;
+    private long bookings;
+    private long tourists;
+    private long paidTourists;
+    private int page;
+    private int size;
+    private List<ManifestEntry> entries;
+}
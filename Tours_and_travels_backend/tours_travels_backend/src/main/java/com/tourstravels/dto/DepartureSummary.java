@@ -0,0 +1,16 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDate;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartureSummary {
+    private Long packageId;
+    private LocalDate tourStartDate;
+    private long bookings;
+    private long tourists;
+    private long paidTourists;
+}
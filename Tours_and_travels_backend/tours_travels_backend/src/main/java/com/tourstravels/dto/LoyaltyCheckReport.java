@@ -0,0 +1,22 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+
+// Outcome of one loyalty balance / ledger consistency pass
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyCheckReport {
+    private boolean repair;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long maxUserId;
+    private int chunks;
+    private int failedChunks;
+    private long checked;
+    private long mismatched;
+    private long missingBalances;
+    private long repaired;
+}
@@ -0,0 +1,18 @@
+package com.tourstravels.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.tourstravels.entity.LoyaltyEntry;
+
+import lombok.*;
+
+// Customer view of their loyalty points: balance, what a point is worth and the latest entries
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltySummary {
+    private long balance;
+    private BigDecimal pointValue;
+    private List<LoyaltyEntry> recentEntries;
+}
@@ -0,0 +1,18 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.*;
+
+// Items an admin has claimed and holds until leaseUntil. Packages come back
+// as TravelPackage, agents as UserSummary.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationBatch {
+    private String itemType;
+    private String claimedBy;
+    private LocalDateTime leaseUntil;
+    private List<?> items;
+}
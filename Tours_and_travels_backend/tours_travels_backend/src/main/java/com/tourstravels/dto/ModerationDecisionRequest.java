@@ -0,0 +1,13 @@
+package com.tourstravels.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationDecisionRequest {
+    private List<Long> itemIds;
+    private String decision; // APPROVE or REJECT
+}
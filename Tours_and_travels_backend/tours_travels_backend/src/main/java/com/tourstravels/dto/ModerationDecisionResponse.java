@@ -0,0 +1,19 @@
+package com.tourstravels.dto;
+
+import java.util.Map;
+
+import com.tourstravels.enums.ModerationOutcome;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationDecisionResponse {
+    private String itemType;
+    private String decision;
+    private long applied;
+    private long skipped;
+    private long notFound;
+    private Map<Long, ModerationOutcome> outcomes;
+}
@@ -0,0 +1,14 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationQueueDepth {
+    private String itemType;
+    private long depth;
+    private LocalDateTime oldestEnqueuedAt;
+}
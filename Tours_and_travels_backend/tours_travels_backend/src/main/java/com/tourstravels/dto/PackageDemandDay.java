@@ -0,0 +1,19 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDate;
+
+import lombok.*;
+
+// One day of a package's demand series; days without bookings are returned as zeros
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageDemandDay {
+    private LocalDate date;
+    private long bookedBookings;
+    private long bookedTourists;
+    private long departingBookings;
+    private long departingTourists;
+    private long cancelledBookings;
+    private long cancelledTourists;
+}
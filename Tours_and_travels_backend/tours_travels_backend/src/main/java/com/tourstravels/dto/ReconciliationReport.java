@@ -0,0 +1,25 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.*;
+
+// Outcome of one booking / payment reconciliation pass.
+// mismatches is keyed "<booking payment status> -> <payment status>".
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReport {
+    private boolean repair;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long fromId;
+    private long toId;
+    private int chunks;
+    private int failedChunks;
+    private long mismatched;
+    private long repaired;
+    private long paidWithoutPayment;
+    private Map<String, Long> mismatches;
+}
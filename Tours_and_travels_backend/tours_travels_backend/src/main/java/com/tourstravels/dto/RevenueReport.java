@@ -0,0 +1,37 @@
+package com.tourstravels.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.*;
+
+// Revenue over a date range from the daily rollup. Net is gross minus refunds.
+// byAgent is only filled for admins.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueReport {
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal gross;
+    private BigDecimal refunded;
+    private BigDecimal net;
+    private long paid;
+    private long refunds;
+    private List<Line> byAgent;
+    private List<Line> byPackage;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long id;
+        private String name;
+        private BigDecimal gross;
+        private BigDecimal refunded;
+        private BigDecimal net;
+        private long paid;
+        private long refunds;
+    }
+}
@@ -0,0 +1,16 @@
+package com.tourstravels.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+// One page of the admin user / agent directory plus the total of the whole filter
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDirectoryPage {
+    private int page;
+    private int size;
+    private long total;
+    private List<UserSummary> items;
+}
@@ -0,0 +1,24 @@
+package com.tourstravels.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+
+// Admin directory row: the user without password or packages graph, with a package count instead
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long userId;
+    private String name;
+    private String email;
+    private String role;
+    private String phone;
+    private String address;
+    private String companyName;
+    private String licenseNumber;
+    private Boolean isApproved;
+    private LocalDateTime approvalDate;
+    private String approvedBy;
+    private Long packageCount;
+}
@@ -0,0 +1,59 @@
+package com.tourstravels.entity;
+
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Terminal booking moved out of the hot bookings table by BookingArchiver.
+// References are plain ids so archived history never blocks deleting a user or package.
+@Entity
+@Table(name = "bookings_archive", indexes = {
+        @Index(name = "idx_bookings_archive_user", columnList = "user_id, id"),
+        @Index(name = "idx_bookings_archive_agent", columnList = "agent_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "package_id", nullable = false)
+    private Long packageId;
+
+    @Column(name = "agent_id")
+    private Long agentId;
+
+    @Column(name = "tourists_count", nullable = false)
+    private Integer touristsCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 40)
+    private PaymentStatus paymentStatus;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Column(name = "tour_start_date", nullable = false)
+    private LocalDate tourStartDate;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
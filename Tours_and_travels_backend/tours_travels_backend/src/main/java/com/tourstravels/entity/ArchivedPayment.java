@@ -0,0 +1,32 @@
+package com.tourstravels.entity;
+
+import com.tourstravels.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Payment of an archived booking, moved in the same transaction as its booking
+@Entity
+@Table(name = "payments_archive", indexes = {
+        @Index(name = "idx_payments_archive_booking", columnList = "booking_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedPayment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 40)
+    private PaymentStatus status;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -10,7 +10,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_status_tour_start", columnList = "status, tour_start_date"),
+        @Index(name = "idx_bookings_status_payment", columnList = "status, payment_status"),
+        @Index(name = "idx_bookings_package_status", columnList = "package_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,6 +60,22 @@ public class Booking {
     @Column(name = "tour_start_date" , nullable = false)
     private LocalDate tourStartDate;
 
+    /* COUPON — code sent by the customer, discount already taken off amount */
+    @Column(name = "coupon_code", length = 40)
+    private String couponCode;
+
+    @Column(name = "discount_amount", precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+
+    /* LOYALTY — points spent on this booking, their value is taken off amount */
+    @Column(name = "points_redeemed")
+    private Long pointsRedeemed;
+
+    /* OPTIMISTIC LOCK — bumped on every update, stale writes fail with 409 */
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
 
     /* ================= TRANSIENT PROPERTIES FOR API ================= */
 
@@ -0,0 +1,51 @@
+package com.tourstravels.entity;
+
+import com.tourstravels.enums.TransitionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One row of the append-only booking journal. Rows are only ever inserted;
+// the id is the replay position used by projection checkpoints.
+// For payment transitions oldStatus / newStatus hold payment statuses.
+@Entity
+@Table(name = "booking_transitions", indexes = {
+        @Index(name = "idx_transitions_booking", columnList = "booking_id, id"),
+        @Index(name = "idx_transitions_type_time", columnList = "transition, occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TransitionType transition;
+
+    @Column(name = "old_status", length = 40)
+    private String oldStatus;
+
+    @Column(name = "new_status", nullable = false, length = 40)
+    private String newStatus;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "package_id")
+    private Long packageId;
+
+    @Column(name = "agent_id")
+    private Long agentId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,51 @@
+package com.tourstravels.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Percentage coupon with a global redemption cap. "allocated" counts the
+// redemptions already leased out to application nodes in blocks, so it is
+// always >= the redemptions actually made and never exceeds the cap.
+@Entity
+@Table(name = "coupons", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_coupons_code", columnNames = "code")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Coupon {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 40)
+    private String code;
+
+    @Column(name = "discount_percent", nullable = false)
+    private Integer discountPercent;
+
+    @Column(name = "max_redemptions", nullable = false)
+    private Long maxRedemptions;
+
+    @Column(name = "per_customer_limit", nullable = false)
+    private Integer perCustomerLimit;
+
+    @Column(nullable = false)
+    private Long allocated;
+
+    @Column(name = "valid_from")
+    private LocalDateTime validFrom;
+
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    @Column(nullable = false)
+    private Boolean active;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
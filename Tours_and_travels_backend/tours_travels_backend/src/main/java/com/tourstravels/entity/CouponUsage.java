@@ -0,0 +1,30 @@
+package com.tourstravels.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Redemptions of one coupon by one customer; the per-customer cap is
+// enforced by a conditional increment on this row.
+@Entity
+@Table(name = "coupon_usage", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_coupon_usage", columnNames = {"coupon_id", "customer_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CouponUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "coupon_id", nullable = false)
+    private Long couponId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Integer used;
+}
@@ -0,0 +1,29 @@
+package com.tourstravels.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Resume point for chunked background jobs (last processed id per job)
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "processed", nullable = false)
+    private Long processed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
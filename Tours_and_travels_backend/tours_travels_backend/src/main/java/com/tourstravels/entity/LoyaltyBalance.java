@@ -0,0 +1,27 @@
+package com.tourstravels.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Materialized loyalty balance, changed in the same transaction as every
+// ledger entry. Can go negative when points already spent are revoked.
+@Entity
+@Table(name = "loyalty_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoyaltyBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
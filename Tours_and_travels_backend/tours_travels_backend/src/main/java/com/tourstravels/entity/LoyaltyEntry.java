@@ -0,0 +1,47 @@
+package com.tourstravels.entity;
+
+import com.tourstravels.enums.LoyaltyEntryType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Append-only loyalty points ledger. points is signed; a user's balance is
+// the sum of their entries. Earned / revoked entries point at the payment,
+// redeemed / restored ones at the booking, at most once each.
+@Entity
+@Table(name = "loyalty_ledger", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_loyalty_payment_type", columnNames = {"payment_id", "entry_type"}),
+        @UniqueConstraint(name = "uk_loyalty_booking_type", columnNames = {"booking_id", "entry_type"})
+}, indexes = {
+        @Index(name = "idx_loyalty_user", columnList = "user_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoyaltyEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LoyaltyEntryType type;
+
+    @Column(nullable = false)
+    private Long points;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
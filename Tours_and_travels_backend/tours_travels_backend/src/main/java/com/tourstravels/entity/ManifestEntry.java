@@ -0,0 +1,67 @@
+package com.tourstravels.entity;
+
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One passenger line of a departure manifest (package + tour date).
+// Denormalised copy of a booking and its customer, kept current from booking events
+// so a manifest is a single index range scan instead of a join over all bookings.
+@Entity
+@Table(name = "departure_manifest_entries", indexes = {
+        @Index(name = "idx_manifest_departure", columnList = "package_id, tour_start_date, booking_id"),
+        @Index(name = "idx_manifest_agent_date", columnList = "agent_id, tour_start_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ManifestEntry {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "package_id", nullable = false)
+    private Long packageId;
+
+    @Column(name = "agent_id", nullable = false)
+    private Long agentId;
+
+    @Column(name = "tour_start_date", nullable = false)
+    private LocalDate tourStartDate;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    @Column(name = "customer_phone")
+    private String customerPhone;
+
+    @Column(name = "tourists_count", nullable = false)
+    private Integer touristsCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "booking_status", nullable = false, length = 40)
+    private BookingStatus bookingStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false, length = 40)
+    private PaymentStatus paymentStatus;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
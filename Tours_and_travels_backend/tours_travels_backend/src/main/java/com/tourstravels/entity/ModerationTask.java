@@ -0,0 +1,44 @@
+package com.tourstravels.entity;
+
+import com.tourstravels.enums.ModerationItemType;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One pending package or agent waiting for review. An admin claims a batch
+// of rows by setting claimed_by and a lease; rows whose lease ran out can be
+// claimed again. The row is removed once the item has been reviewed.
+@Entity
+@Table(name = "moderation_queue", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_moderation_item", columnNames = {"item_type", "item_id"})
+}, indexes = {
+        @Index(name = "idx_moderation_claim", columnList = "item_type, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", nullable = false, length = 20)
+    private ModerationItemType itemType;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    @Column(name = "claimed_by", length = 150)
+    private String claimedBy;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,50 @@
+package com.tourstravels.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Daily demand rollup of one package. A row carries two series for the same day:
+// bookings made on that day (booking date) and bookings travelling on that day (tour date).
+// "Cancelled" covers every booking that dropped out: cancelled, rejected or expired.
+@Entity
+@Table(name = "package_daily_demand", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_package_daily_demand", columnNames = {"package_id", "demand_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageDailyDemand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "package_id", nullable = false)
+    private Long packageId;
+
+    @Column(name = "demand_date", nullable = false)
+    private LocalDate demandDate;
+
+    /* BY BOOKING DATE (gross) */
+    @Column(name = "booked_bookings", nullable = false)
+    private Long bookedBookings;
+
+    @Column(name = "booked_tourists", nullable = false)
+    private Long bookedTourists;
+
+    /* BY TOUR DATE (net of cancellations) */
+    @Column(name = "departing_bookings", nullable = false)
+    private Long departingBookings;
+
+    @Column(name = "departing_tourists", nullable = false)
+    private Long departingTourists;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private Long cancelledBookings;
+
+    @Column(name = "cancelled_tourists", nullable = false)
+    private Long cancelledTourists;
+}
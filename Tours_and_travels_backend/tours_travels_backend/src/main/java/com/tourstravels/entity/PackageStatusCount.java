@@ -0,0 +1,31 @@
+package com.tourstravels.entity;
+
+import com.tourstravels.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+// Journal projection: current number of bookings per package and status
+@Entity
+@Table(name = "package_status_counts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_package_status_counts", columnNames = {"package_id", "status"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageStatusCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "package_id", nullable = false)
+    private Long packageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private BookingStatus status;
+
+    @Column(name = "booking_count", nullable = false)
+    private Long bookingCount;
+}
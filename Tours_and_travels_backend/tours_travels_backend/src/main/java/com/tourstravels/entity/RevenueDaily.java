@@ -0,0 +1,47 @@
+package com.tourstravels.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Daily revenue rollup per agent and package. Gross is booked on the day a
+// payment succeeds and refunded on the day it is refunded; net is derived.
+@Entity
+@Table(name = "revenue_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_daily", columnNames = {"revenue_date", "agent_id", "package_id"})
+}, indexes = {
+        @Index(name = "idx_revenue_agent_date", columnList = "agent_id, revenue_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "revenue_date", nullable = false)
+    private LocalDate revenueDate;
+
+    @Column(name = "agent_id", nullable = false)
+    private Long agentId;
+
+    @Column(name = "package_id", nullable = false)
+    private Long packageId;
+
+    @Column(name = "gross_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal grossAmount;
+
+    @Column(name = "refunded_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundedAmount;
+
+    @Column(name = "paid_count", nullable = false)
+    private Long paidCount;
+
+    @Column(name = "refunded_count", nullable = false)
+    private Long refundedCount;
+}
@@ -3,8 +3,17 @@ package com.tourstravels.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import com.tourstravels.config.SecondLevelCacheConfig;
+
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = SecondLevelCacheConfig.ROLES)
+@Immutable // roles are seeded once and never updated; lets the READ_ONLY region apply cleanly
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
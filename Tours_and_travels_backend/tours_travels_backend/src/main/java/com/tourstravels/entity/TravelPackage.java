@@ -1,5 +1,6 @@
 package com.tourstravels.entity;
 
+import com.tourstravels.config.SecondLevelCacheConfig;
 import com.tourstravels.enums.PackageStatus;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -9,10 +10,14 @@ import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.web.multipart.MultipartFile;
 
 @Entity
 @Table(name = "travel_packages")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TRAVEL_PACKAGES)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,6 +63,12 @@ public class TravelPackage {
     @Column(nullable = false)
     private PackageStatus status;
 
+    /* ================= OPTIMISTIC LOCK ================= */
+
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     /* ================= AGENT ================= */
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -68,6 +79,7 @@ public class TravelPackage {
     /* ================= IMAGES ================= */
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PACKAGE_IMAGES)
     @CollectionTable(
         name = "package_images",
         joinColumns = @JoinColumn(name = "package_id")
@@ -5,11 +5,20 @@ import lombok.*;
 
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.tourstravels.config.SecondLevelCacheConfig;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_approved", columnList = "role_id, is_approved"),
+        @Index(name = "idx_users_name", columnList = "name")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,8 +41,14 @@ public class User {
 
     /* ================= ROLE ================= */
 
-    @ManyToOne(fetch = FetchType.EAGER)
-    @JoinColumn(name = "role_id", nullable = false)
+    // Only role_id is written and read with the user; names and authorities
+    // come from RoleRegistry, so loading a user never joins roles
+    @Column(name = "role_id", nullable = false)
+    private Long roleId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "role_id", insertable = false, updatable = false)
+    @JsonIgnore
     private Role role;
 
     /* ================= CUSTOMER PROFILE ================= */
@@ -63,4 +78,17 @@ public class User {
     @OneToMany(mappedBy = "agent", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<TravelPackage> packages;
+
+    public void setRole(Role role) {
+        this.role = role;
+        this.roleId = role == null ? null : role.getId();
+    }
+
+    public static class UserBuilder {
+        public UserBuilder role(Role role) {
+            this.role = role;
+            this.roleId = role == null ? null : role.getId();
+            return this;
+        }
+    }
 }
@@ -0,0 +1,8 @@
+package com.tourstravels.enums;
+
+public enum AgentImportRowStatus {
+	 CREATED,
+	    INVALID,
+	    DUPLICATE,
+	    FAILED
+}
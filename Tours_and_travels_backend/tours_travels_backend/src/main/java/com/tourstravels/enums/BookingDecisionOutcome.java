@@ -0,0 +1,9 @@
+package com.tourstravels.enums;
+
+public enum BookingDecisionOutcome {
+	 APPLIED,
+	    SKIPPED_ALREADY_CANCELLED,
+	    SKIPPED_ALREADY_FINISHED,
+	    SKIPPED_PAYMENT_PENDING,
+	    NOT_FOUND
+}
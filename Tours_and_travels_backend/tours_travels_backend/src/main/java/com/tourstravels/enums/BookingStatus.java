@@ -6,5 +6,14 @@ public enum BookingStatus {
 	    AGENT_REJECTED,
 	    CONFIRMED,
 	    CANCELLED,
-	    CANCELLED_BY_CUSTOMER
+	    CANCELLED_BY_CUSTOMER,
+	    EXPIRED,
+	    COMPLETED;
+
+	// A booking in one of these can no longer be paid or travel, so it gives back
+	// the coupon redemption and loyalty points it used
+	public boolean releasesDiscounts() {
+		return this == AGENT_REJECTED || this == CANCELLED
+				|| this == CANCELLED_BY_CUSTOMER || this == EXPIRED;
+	}
 }
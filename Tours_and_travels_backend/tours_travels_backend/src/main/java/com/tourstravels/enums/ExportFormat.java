@@ -0,0 +1,6 @@
+package com.tourstravels.enums;
+
+public enum ExportFormat {
+	 CSV,
+	    NDJSON
+}
@@ -0,0 +1,8 @@
+package com.tourstravels.enums;
+
+public enum LoyaltyEntryType {
+	 EARNED,
+	    REVOKED,
+	    REDEEMED,
+	    RESTORED
+}
@@ -0,0 +1,8 @@
+package com.tourstravels.enums;
+
+public enum ModerationOutcome {
+	 APPLIED,
+	    SKIPPED_CLAIMED_BY_OTHER,
+	    SKIPPED_ALREADY_REVIEWED,
+	    NOT_FOUND
+}
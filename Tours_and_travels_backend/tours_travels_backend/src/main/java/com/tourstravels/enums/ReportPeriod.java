@@ -0,0 +1,13 @@
+package com.tourstravels.enums;
+
+import java.time.LocalDate;
+
+public enum ReportPeriod {
+	 MTD,
+	    YTD;
+
+    // First day of the period that contains the given day
+    public LocalDate startOf(LocalDate day) {
+        return this == MTD ? day.withDayOfMonth(1) : day.withDayOfYear(1);
+    }
+}
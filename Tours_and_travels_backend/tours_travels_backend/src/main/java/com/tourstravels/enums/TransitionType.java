@@ -0,0 +1,18 @@
+package com.tourstravels.enums;
+
+public enum TransitionType {
+	 IMPORTED,
+	    CREATED,
+	    AGENT_APPROVED,
+	    AGENT_REJECTED,
+	    CONFIRMED,
+	    CANCELLED_BY_CUSTOMER,
+	    CANCELLED_BY_ADMIN,
+	    EXPIRED,
+	    COMPLETED,
+	    PAID,
+	    PAYMENT_PENDING,
+	    PAYMENT_FAILED,
+	    REFUNDED,
+	    PAYMENT_RECONCILED
+}
@@ -0,0 +1,15 @@
+package com.tourstravels.event;
+
+import com.tourstravels.enums.PaymentStatus;
+
+// Published when reconciliation copies a payment's status onto its booking.
+// The payment itself did not change, so no PaymentStatusChangedEvent is sent.
+public record BookingPaymentRepairedEvent(
+        Long bookingId,
+        Long customerId,
+        Long packageId,
+        Long agentId,
+        PaymentStatus oldPaymentStatus,
+        PaymentStatus newPaymentStatus
+) {
+}
@@ -0,0 +1,30 @@
+package com.tourstravels.event;
+
+import com.tourstravels.entity.Booking;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+
+// Published whenever a booking's status or payment status changes.
+// oldStatus is null for newly created bookings.
+public record BookingStatusChangedEvent(
+        Long bookingId,
+        Long customerId,
+        Long packageId,
+        Long agentId,
+        BookingStatus oldStatus,
+        BookingStatus newStatus,
+        PaymentStatus paymentStatus
+) {
+
+    public static BookingStatusChangedEvent of(Booking booking, BookingStatus oldStatus) {
+        return new BookingStatusChangedEvent(
+                booking.getId(),
+                booking.getUser() != null ? booking.getUser().getUserId() : null,
+                booking.getTourPackage() != null ? booking.getTourPackage().getId() : null,
+                booking.getAgentId(),
+                oldStatus,
+                booking.getStatus(),
+                booking.getPaymentStatus()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.tourstravels.event;
+
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.enums.PackageStatus;
+
+// Published whenever a package is created, reviewed or deleted.
+// oldStatus is null for new packages, newStatus is null for deleted ones.
+public record PackageStatusChangedEvent(
+        Long packageId,
+        Long agentId,
+        PackageStatus oldStatus,
+        PackageStatus newStatus
+) {
+
+    public static PackageStatusChangedEvent of(TravelPackage travelPackage, PackageStatus oldStatus) {
+        return new PackageStatusChangedEvent(
+                travelPackage.getId(),
+                travelPackage.getAgent() != null ? travelPackage.getAgent().getUserId() : null,
+                oldStatus,
+                travelPackage.getStatus()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.tourstravels.event;
+
+import com.tourstravels.entity.Booking;
+import com.tourstravels.entity.Payment;
+import com.tourstravels.enums.PaymentStatus;
+
+// Published whenever a payment is created or its status changes.
+// oldStatus is null for newly created payments.
+public record PaymentStatusChangedEvent(
+        Long paymentId,
+        Long bookingId,
+        Long customerId,
+        Long agentId,
+        PaymentStatus oldStatus,
+        PaymentStatus newStatus
+) {
+
+    public static PaymentStatusChangedEvent of(Payment payment, PaymentStatus oldStatus) {
+        Booking booking = payment.getBooking();
+        return new PaymentStatusChangedEvent(
+                payment.getId(),
+                booking != null ? booking.getId() : null,
+                booking != null && booking.getUser() != null ? booking.getUser().getUserId() : null,
+                booking != null ? booking.getAgentId() : null,
+                oldStatus,
+                payment.getStatus()
+        );
+    }
+}
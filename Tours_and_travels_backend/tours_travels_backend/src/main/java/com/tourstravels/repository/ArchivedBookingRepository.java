@@ -0,0 +1,78 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import com.tourstravels.dto.CustomerBookingView;
+import com.tourstravels.entity.ArchivedBooking;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.enums.TransitionType;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    // ARCHIVER → copy a chunk of terminal bookings, guarded so a row that changed since the scan stays live
+    @Modifying
+    @Query("INSERT INTO ArchivedBooking (id, userId, packageId, agentId, touristsCount, status, paymentStatus, "
+            + "amount, bookingDate, tourStartDate, archivedAt) "
+            + "SELECT b.id, b.user.userId, tp.id, tp.agent.userId, b.touristsCount, b.status, b.paymentStatus, "
+            + "b.amount, b.bookingDate, b.tourStartDate, LOCAL_DATETIME "
+            + "FROM Booking b JOIN b.tourPackage tp WHERE b.id IN :ids AND b.status IN :statuses")
+    int copyBookings(
+            @Param("ids") Collection<Long> ids,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("SELECT a.id FROM ArchivedBooking a WHERE a.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // CUSTOMER → archived part of "My Bookings", same shape as the live read model
+    @Query("SELECT new com.tourstravels.dto.CustomerBookingView("
+            + "a.id, a.touristsCount, a.status, a.paymentStatus, a.amount, a.bookingDate, a.tourStartDate, "
+            + "u.name, a.packageId, tp.title, a.agentId) "
+            + "FROM ArchivedBooking a JOIN User u ON u.userId = a.userId "
+            + "LEFT JOIN TravelPackage tp ON tp.id = a.packageId "
+            + "WHERE a.userId = :userId ORDER BY a.id DESC")
+    List<CustomerBookingView> findViewsByUserId(@Param("userId") Long userId);
+
+    // BACKFILL → archived bookings made per day
+    @Query("SELECT a.bookingDate AS day, COUNT(a) AS bookings, SUM(a.touristsCount) AS tourists "
+            + "FROM ArchivedBooking a WHERE a.packageId = :packageId AND a.bookingDate BETWEEN :from AND :to "
+            + "GROUP BY a.bookingDate")
+    List<BookingRepository.DailyCountView> countByBookingDate(
+            @Param("packageId") Long packageId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // BACKFILL → archived bookings travelling / dropped per tour date
+    @Query("SELECT a.tourStartDate AS day, "
+            + "SUM(CASE WHEN a.status IN :dropped THEN 0 ELSE 1 END) AS bookings, "
+            + "SUM(CASE WHEN a.status IN :dropped THEN 0 ELSE a.touristsCount END) AS tourists, "
+            + "SUM(CASE WHEN a.status IN :dropped THEN 1 ELSE 0 END) AS droppedBookings, "
+            + "SUM(CASE WHEN a.status IN :dropped THEN a.touristsCount ELSE 0 END) AS droppedTourists "
+            + "FROM ArchivedBooking a WHERE a.packageId = :packageId AND a.tourStartDate BETWEEN :from AND :to "
+            + "GROUP BY a.tourStartDate")
+    List<BookingRepository.TourDateCountView> countByTourDate(
+            @Param("packageId") Long packageId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("dropped") Collection<BookingStatus> dropped);
+
+    // BACKFILL → archived payments that predate the journal, attributed to the booking date
+    @Query("SELECT a.agentId AS agentId, a.packageId AS packageId, SUM(a.amount) AS amount, COUNT(a) AS payments "
+            + "FROM ArchivedBooking a "
+            + "WHERE a.bookingDate = :day AND a.paymentStatus IN :paymentStatuses AND a.agentId IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM BookingTransition t "
+            + "WHERE t.bookingId = a.id AND (t.transition = :journaled "
+            + "OR (t.transition = com.tourstravels.enums.TransitionType.REFUNDED AND t.oldStatus <> 'SUCCESS'))) "
+            + "GROUP BY a.agentId, a.packageId")
+    List<BookingRepository.RevenueSourceView> sumUnjournaledRevenue(
+            @Param("day") LocalDate day,
+            @Param("paymentStatuses") Collection<PaymentStatus> paymentStatuses,
+            @Param("journaled") TransitionType journaled);
+}
@@ -0,0 +1,29 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.tourstravels.dto.CustomerPaymentView;
+import com.tourstravels.entity.ArchivedPayment;
+
+public interface ArchivedPaymentRepository extends JpaRepository<ArchivedPayment, Long> {
+
+    // ARCHIVER → copy the payments of bookings archived in the same chunk
+    @Modifying
+    @Query("INSERT INTO ArchivedPayment (id, bookingId, status, archivedAt) "
+            + "SELECT p.id, p.booking.id, p.status, LOCAL_DATETIME FROM Payment p WHERE p.booking.id IN :bookingIds")
+    int copyPayments(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // CUSTOMER → archived part of "My Payments", same shape as the live read model
+    @Query("SELECT new com.tourstravels.dto.CustomerPaymentView("
+            + "p.id, p.status, a.id, a.status, a.amount, a.tourStartDate, a.packageId, tp.title) "
+            + "FROM ArchivedPayment p JOIN ArchivedBooking a ON a.id = p.bookingId "
+            + "LEFT JOIN TravelPackage tp ON tp.id = a.packageId "
+            + "WHERE a.userId = :userId ORDER BY p.id DESC")
+    List<CustomerPaymentView> findViewsByUserId(@Param("userId") Long userId);
+}
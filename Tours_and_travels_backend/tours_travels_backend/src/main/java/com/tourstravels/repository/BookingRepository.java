@@ -1,16 +1,35 @@
 package com.tourstravels.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import com.tourstravels.dto.CustomerBookingView;
 import com.tourstravels.entity.Booking;
 import com.tourstravels.entity.User;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.enums.TransitionType;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     // CUSTOMER → My Bookings
     List<Booking> findByUserUserId(Long userId);
 
+    // CUSTOMER → My Bookings as a flat read model (single query, no lazy loads)
+    @Query("SELECT new com.tourstravels.dto.CustomerBookingView("
+            + "b.id, b.touristsCount, b.status, b.paymentStatus, b.amount, b.bookingDate, b.tourStartDate, "
+            + "u.name, tp.id, tp.title, tp.agent.userId) "
+            + "FROM Booking b JOIN b.user u JOIN b.tourPackage tp "
+            + "WHERE u.userId = :userId ORDER BY b.id DESC")
+    List<CustomerBookingView> findViewsByUserId(@Param("userId") Long userId);
+
 
     // ADMIN → All bookings with eager loading
     @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.tourPackage tp LEFT JOIN FETCH tp.agent")
@@ -24,4 +43,259 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 		return false;
 	}
 
+    // ADMIN → Bulk decisions: status snapshot of a chunk without loading entities
+    @Query("SELECT b.id AS id, b.status AS status, b.paymentStatus AS paymentStatus, "
+            + "b.user.userId AS customerId, tp.id AS packageId, tp.agent.userId AS agentId "
+            + "FROM Booking b JOIN b.tourPackage tp WHERE b.id IN :ids")
+    List<StatusView> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ADMIN → Bulk cancel, guarded so already-cancelled rows are left alone
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 WHERE b.id IN :ids AND b.status NOT IN :excluded")
+    int updateStatusForIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") BookingStatus status,
+            @Param("excluded") Collection<BookingStatus> excluded);
+
+    // ADMIN → Bulk confirm, only for bookings whose payment went through
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 WHERE b.id IN :ids AND b.status NOT IN :excluded AND b.paymentStatus = :paymentStatus")
+    int updateStatusForPaidIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") BookingStatus status,
+            @Param("excluded") Collection<BookingStatus> excluded,
+            @Param("paymentStatus") PaymentStatus paymentStatus);
+
+    // SWEEPER → next chunk of bookings in the given statuses whose tour date is before the cutoff
+    @Query("SELECT b.id AS id, b.status AS status, b.paymentStatus AS paymentStatus, "
+            + "b.user.userId AS customerId, tp.id AS packageId, tp.agent.userId AS agentId "
+            + "FROM Booking b JOIN b.tourPackage tp "
+            + "WHERE b.status IN :statuses AND b.tourStartDate < :cutoff AND b.id > :afterId ORDER BY b.id")
+    List<StatusView> findForSweep(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("cutoff") LocalDate cutoff,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // SWEEPER → transition a chunk, only rows still in one of the expected statuses
+    // and with no charge in flight (those are picked up by a later pass)
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 "
+            + "WHERE b.id IN :ids AND b.status IN :expected "
+            + "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.booking.id = b.id AND p.status = :inFlight)")
+    int transitionStatusForIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") BookingStatus status,
+            @Param("expected") Collection<BookingStatus> expected,
+            @Param("inFlight") PaymentStatus inFlight);
+
+    // COUPONS → code redeemed by a booking, if any
+    @Query("SELECT b.couponCode FROM Booking b WHERE b.id = :id")
+    String findCouponCodeById(@Param("id") Long id);
+
+    // CUSTOMER → a payment for this booking is still waiting for the gateway
+    @Query("SELECT COUNT(p) > 0 FROM Payment p WHERE p.booking.id = :bookingId AND p.status = :status")
+    boolean existsPaymentInStatus(@Param("bookingId") Long bookingId, @Param("status") PaymentStatus status);
+
+    // MANIFESTS → every (package, tour date) with travelling bookings in a date window
+    @Query("SELECT DISTINCT b.tourPackage.id AS packageId, b.tourStartDate AS tourStartDate "
+            + "FROM Booking b WHERE b.tourStartDate BETWEEN :from AND :to AND b.status IN :statuses")
+    List<DepartureView> findDeparturesBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
+    // ARCHIVER → next chunk of terminal bookings whose tour date is before the cutoff
+    @Query("SELECT b.id FROM Booking b WHERE b.status IN :statuses AND b.tourStartDate < :cutoff "
+            + "AND b.id > :afterId ORDER BY b.id")
+    List<Long> findArchivableIds(
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("cutoff") LocalDate cutoff,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // ARCHIVER → remove bookings already copied to bookings_archive
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /* ================= DEMAND ================= */
+
+    // DEMAND → the fields a rollup delta needs, without loading the booking
+    @Query("SELECT b.tourPackage.id AS packageId, b.bookingDate AS bookingDate, "
+            + "b.tourStartDate AS tourStartDate, b.touristsCount AS touristsCount "
+            + "FROM Booking b WHERE b.id = :id")
+    DemandSnapshotView findDemandSnapshot(@Param("id") Long id);
+
+    // BACKFILL → packages with any booking in the window
+    @Query("SELECT DISTINCT b.tourPackage.id FROM Booking b "
+            + "WHERE b.bookingDate BETWEEN :from AND :to OR b.tourStartDate BETWEEN :from AND :to")
+    List<Long> findPackageIdsWithDemand(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // BACKFILL → bookings made per day
+    @Query("SELECT b.bookingDate AS day, COUNT(b) AS bookings, SUM(b.touristsCount) AS tourists "
+            + "FROM Booking b WHERE b.tourPackage.id = :packageId AND b.bookingDate BETWEEN :from AND :to "
+            + "GROUP BY b.bookingDate")
+    List<DailyCountView> countByBookingDate(
+            @Param("packageId") Long packageId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // BACKFILL → bookings travelling / dropped per tour date
+    @Query("SELECT b.tourStartDate AS day, "
+            + "SUM(CASE WHEN b.status IN :dropped THEN 0 ELSE 1 END) AS bookings, "
+            + "SUM(CASE WHEN b.status IN :dropped THEN 0 ELSE b.touristsCount END) AS tourists, "
+            + "SUM(CASE WHEN b.status IN :dropped THEN 1 ELSE 0 END) AS droppedBookings, "
+            + "SUM(CASE WHEN b.status IN :dropped THEN b.touristsCount ELSE 0 END) AS droppedTourists "
+            + "FROM Booking b WHERE b.tourPackage.id = :packageId AND b.tourStartDate BETWEEN :from AND :to "
+            + "GROUP BY b.tourStartDate")
+    List<TourDateCountView> countByTourDate(
+            @Param("packageId") Long packageId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("dropped") Collection<BookingStatus> dropped);
+
+    /* ================= REVENUE ================= */
+
+    // REVENUE → the fields a rollup delta needs, without loading the booking
+    @Query("SELECT b.amount AS amount, tp.id AS packageId, tp.agent.userId AS agentId "
+            + "FROM Booking b JOIN b.tourPackage tp WHERE b.id = :id")
+    RevenueSnapshotView findRevenueSnapshot(@Param("id") Long id);
+
+    // BACKFILL → payments that predate the journal, attributed to the booking date.
+    // A booking is counted unless the journal already holds the given transition for it,
+    // or shows its charge was voided straight from PENDING (it never earned anything).
+    @Query("SELECT tp.agent.userId AS agentId, tp.id AS packageId, SUM(b.amount) AS amount, COUNT(b) AS payments "
+            + "FROM Booking b JOIN b.tourPackage tp "
+            + "WHERE b.bookingDate = :day AND b.paymentStatus IN :paymentStatuses "
+            + "AND NOT EXISTS (SELECT 1 FROM BookingTransition t "
+            + "WHERE t.bookingId = b.id AND (t.transition = :journaled "
+            + "OR (t.transition = com.tourstravels.enums.TransitionType.REFUNDED AND t.oldStatus <> 'SUCCESS'))) "
+            + "GROUP BY tp.agent.userId, tp.id")
+    List<RevenueSourceView> sumUnjournaledRevenue(
+            @Param("day") LocalDate day,
+            @Param("paymentStatuses") Collection<PaymentStatus> paymentStatuses,
+            @Param("journaled") TransitionType journaled);
+
+    /* ================= PAYMENT RECONCILIATION ================= */
+
+    @Query("SELECT COALESCE(MAX(b.id), 0) FROM Booking b")
+    Long findMaxId();
+
+    // RECONCILER → bookings in (afterId, toId] whose payment status disagrees with their payment
+    @Query("SELECT b.id AS bookingId, b.paymentStatus AS bookingPaymentStatus, p.status AS paymentStatus "
+            + "FROM Payment p JOIN p.booking b "
+            + "WHERE b.id > :afterId AND b.id <= :toId "
+            + "AND (b.paymentStatus IS NULL OR b.paymentStatus <> p.status)")
+    List<PaymentMismatchView> findPaymentMismatches(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    // RECONCILER → bookings marked paid that have no payment row at all (report only)
+    @Query("SELECT COUNT(b) FROM Booking b "
+            + "WHERE b.id > :afterId AND b.id <= :toId AND b.paymentStatus IN :paidStatuses "
+            + "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.booking = b)")
+    long countPaidWithoutPayment(
+            @Param("afterId") Long afterId,
+            @Param("toId") Long toId,
+            @Param("paidStatuses") Collection<PaymentStatus> paidStatuses);
+
+    // RECONCILER → copy the payment status onto bookings, only where the payment
+    // still has that status (it may have moved on since the scan)
+    @Modifying
+    @Query("UPDATE Booking b SET b.paymentStatus = :status, b.version = b.version + 1 "
+            + "WHERE b.id IN :ids AND (b.paymentStatus IS NULL OR b.paymentStatus <> :status) "
+            + "AND EXISTS (SELECT 1 FROM Payment p WHERE p.booking.id = b.id AND p.status = :status)")
+    int alignPaymentStatus(@Param("ids") Collection<Long> ids, @Param("status") PaymentStatus status);
+
+    /* ================= STATUS AGGREGATES ================= */
+
+    // ADMIN → status x payment status matrix
+    @Query("SELECT b.status AS status, b.paymentStatus AS paymentStatus, COUNT(b) AS count "
+            + "FROM Booking b GROUP BY b.status, b.paymentStatus")
+    List<StatusCountView> countByStatusAndPaymentStatus();
+
+    // AGENT → status x payment status matrix for the agent's packages
+    @Query("SELECT b.status AS status, b.paymentStatus AS paymentStatus, COUNT(b) AS count "
+            + "FROM Booking b JOIN b.tourPackage tp WHERE tp.agent.userId = :agentId "
+            + "GROUP BY b.status, b.paymentStatus")
+    List<StatusCountView> countByStatusAndPaymentStatusForAgent(@Param("agentId") Long agentId);
+
+    // ADMIN → per package status counts
+    @Query("SELECT tp.id AS groupId, tp.title AS groupName, b.status AS status, COUNT(b) AS count "
+            + "FROM Booking b JOIN b.tourPackage tp GROUP BY tp.id, tp.title, b.status")
+    List<GroupStatusCountView> countByPackageAndStatus();
+
+    // AGENT → per package status counts for the agent's packages
+    @Query("SELECT tp.id AS groupId, tp.title AS groupName, b.status AS status, COUNT(b) AS count "
+            + "FROM Booking b JOIN b.tourPackage tp WHERE tp.agent.userId = :agentId "
+            + "GROUP BY tp.id, tp.title, b.status")
+    List<GroupStatusCountView> countByPackageAndStatusForAgent(@Param("agentId") Long agentId);
+
+    // ADMIN → per agent status counts
+    @Query("SELECT a.userId AS groupId, a.name AS groupName, b.status AS status, COUNT(b) AS count "
+            + "FROM Booking b JOIN b.tourPackage tp JOIN tp.agent a GROUP BY a.userId, a.name, b.status")
+    List<GroupStatusCountView> countByAgentAndStatus();
+
+    interface StatusView {
+        Long getId();
+        BookingStatus getStatus();
+        PaymentStatus getPaymentStatus();
+        Long getCustomerId();
+        Long getPackageId();
+        Long getAgentId();
+    }
+
+    interface StatusCountView {
+        BookingStatus getStatus();
+        PaymentStatus getPaymentStatus();
+        Long getCount();
+    }
+
+    interface GroupStatusCountView {
+        Long getGroupId();
+        String getGroupName();
+        BookingStatus getStatus();
+        Long getCount();
+    }
+
+    interface DepartureView {
+        Long getPackageId();
+        LocalDate getTourStartDate();
+    }
+
+    interface DemandSnapshotView {
+        Long getPackageId();
+        LocalDate getBookingDate();
+        LocalDate getTourStartDate();
+        Integer getTouristsCount();
+    }
+
+    interface DailyCountView {
+        LocalDate getDay();
+        Long getBookings();
+        Long getTourists();
+    }
+
+    interface TourDateCountView extends DailyCountView {
+        Long getDroppedBookings();
+        Long getDroppedTourists();
+    }
+
+    interface RevenueSnapshotView {
+        BigDecimal getAmount();
+        Long getPackageId();
+        Long getAgentId();
+    }
+
+    interface RevenueSourceView {
+        Long getAgentId();
+        Long getPackageId();
+        BigDecimal getAmount();
+        Long getPayments();
+    }
+
+    interface PaymentMismatchView {
+        Long getBookingId();
+        PaymentStatus getBookingPaymentStatus();
+        PaymentStatus getPaymentStatus();
+    }
 }
@@ -0,0 +1,55 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.tourstravels.entity.BookingTransition;
+import com.tourstravels.enums.TransitionType;
+
+public interface BookingTransitionRepository extends JpaRepository<BookingTransition, Long> {
+
+    // ADMIN → history of one booking, oldest first
+    List<BookingTransition> findByBookingIdOrderById(Long bookingId);
+
+    // PROJECTOR → next chunk of the journal after a checkpoint
+    @Query("SELECT t FROM BookingTransition t WHERE t.id > :afterId ORDER BY t.id")
+    List<BookingTransition> findAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM BookingTransition t")
+    Long findHeadId();
+
+    // ADMIN → seed the journal with the current state of bookings that predate it
+    @Modifying
+    @Query("INSERT INTO BookingTransition (bookingId, transition, oldStatus, newStatus, customerId, packageId, "
+            + "agentId, occurredAt) "
+            + "SELECT b.id, :imported, NULL, CAST(b.status AS String), "
+            + "b.user.userId, tp.id, tp.agent.userId, LOCAL_DATETIME "
+            + "FROM Booking b JOIN b.tourPackage tp "
+            + "WHERE NOT EXISTS (SELECT 1 FROM BookingTransition t WHERE t.bookingId = b.id)")
+    int importUnjournaledBookings(@Param("imported") TransitionType imported);
+
+    // REVENUE BACKFILL → amounts of one payment transition journaled in [from, to),
+    // priced from the live booking or, once archived, its archived copy.
+    // Payment transitions carry no package id, so it comes from the booking as well.
+    // fromStatus (optional) restricts to transitions out of that payment status.
+    @Query("SELECT t.agentId AS agentId, COALESCE(t.packageId, b.tourPackage.id, a.packageId) AS packageId, "
+            + "SUM(COALESCE(b.amount, a.amount)) AS amount, COUNT(t) AS payments "
+            + "FROM BookingTransition t "
+            + "LEFT JOIN Booking b ON b.id = t.bookingId "
+            + "LEFT JOIN ArchivedBooking a ON a.id = t.bookingId "
+            + "WHERE t.transition = :transition AND t.occurredAt >= :from AND t.occurredAt < :to "
+            + "AND (:fromStatus IS NULL OR t.oldStatus = :fromStatus) "
+            + "AND t.agentId IS NOT NULL AND COALESCE(t.packageId, b.tourPackage.id, a.packageId) IS NOT NULL "
+            + "GROUP BY t.agentId, COALESCE(t.packageId, b.tourPackage.id, a.packageId)")
+    List<BookingRepository.RevenueSourceView> sumTransitionRevenue(
+            @Param("transition") TransitionType transition,
+            @Param("fromStatus") String fromStatus,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+}
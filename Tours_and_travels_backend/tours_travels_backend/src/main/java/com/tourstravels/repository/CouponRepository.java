@@ -0,0 +1,61 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.tourstravels.entity.Coupon;
+
+public interface CouponRepository extends JpaRepository<Coupon, Long> {
+
+    Optional<Coupon> findByCode(String code);
+
+    boolean existsByCode(String code);
+
+    // LEASE → redemptions not yet handed out to any node
+    @Query("SELECT c.maxRedemptions - c.allocated FROM Coupon c WHERE c.id = :id")
+    Long findUnallocated(@Param("id") Long id);
+
+    // LEASE → take a block of n; 0 means another node got there first or the cap would be crossed
+    @Modifying
+    @Query("UPDATE Coupon c SET c.allocated = c.allocated + :n "
+            + "WHERE c.id = :id AND c.allocated + :n <= c.maxRedemptions")
+    int allocate(@Param("id") Long id, @Param("n") long n);
+
+    // LEASE → give back the unused part of a block
+    @Modifying
+    @Query("UPDATE Coupon c SET c.allocated = c.allocated - :n WHERE c.id = :id AND c.allocated >= :n")
+    int release(@Param("id") Long id, @Param("n") long n);
+
+    @Modifying
+    @Query("UPDATE Coupon c SET c.active = false WHERE c.id = :id")
+    int deactivate(@Param("id") Long id);
+
+    // ADMIN → coupons with the redemptions actually made
+    @Query("SELECT c.id AS id, c.code AS code, c.discountPercent AS discountPercent, "
+            + "c.maxRedemptions AS maxRedemptions, c.perCustomerLimit AS perCustomerLimit, "
+            + "c.allocated AS allocated, COALESCE(SUM(u.used), 0) AS redeemed, c.active AS active, "
+            + "c.validFrom AS validFrom, c.validUntil AS validUntil "
+            + "FROM Coupon c LEFT JOIN CouponUsage u ON u.couponId = c.id "
+            + "GROUP BY c.id, c.code, c.discountPercent, c.maxRedemptions, c.perCustomerLimit, "
+            + "c.allocated, c.active, c.validFrom, c.validUntil ORDER BY c.id DESC")
+    List<CouponStatsView> findStats();
+
+    interface CouponStatsView {
+        Long getId();
+        String getCode();
+        Integer getDiscountPercent();
+        Long getMaxRedemptions();
+        Integer getPerCustomerLimit();
+        Long getAllocated();
+        Long getRedeemed();
+        Boolean getActive();
+        LocalDateTime getValidFrom();
+        LocalDateTime getValidUntil();
+    }
+}
@@ -0,0 +1,33 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.tourstravels.entity.CouponUsage;
+
+public interface CouponUsageRepository extends JpaRepository<CouponUsage, Long> {
+
+    boolean existsByCouponIdAndCustomerId(Long couponId, Long customerId);
+
+    // BOOKING → count one more use; 0 means the customer has reached the limit
+    @Modifying
+    @Query("UPDATE CouponUsage u SET u.used = u.used + 1 "
+            + "WHERE u.couponId = :couponId AND u.customerId = :customerId AND u.used < :limit")
+    int incrementIfBelow(
+            @Param("couponId") Long couponId,
+            @Param("customerId") Long customerId,
+            @Param("limit") int limit);
+
+    // BOOKING → a cancelled or expired booking gives its use back
+    @Modifying
+    @Query("UPDATE CouponUsage u SET u.used = u.used - 1 "
+            + "WHERE u.couponId = :couponId AND u.customerId = :customerId AND u.used > 0")
+    int decrementUsed(
+            @Param("couponId") Long couponId,
+            @Param("customerId") Long customerId);
+
+    @Query("SELECT COALESCE(SUM(u.used), 0) FROM CouponUsage u WHERE u.couponId = :couponId")
+    long sumUsed(@Param("couponId") Long couponId);
+}
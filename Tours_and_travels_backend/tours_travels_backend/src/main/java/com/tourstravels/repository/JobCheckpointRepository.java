@@ -0,0 +1,7 @@
+package com.tourstravels.repository;
+
+import com.tourstravels.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -0,0 +1,41 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.tourstravels.entity.LoyaltyBalance;
+
+public interface LoyaltyBalanceRepository extends JpaRepository<LoyaltyBalance, Long> {
+
+    // LEDGER → apply a signed delta; 0 means the user has no balance row yet
+    @Modifying
+    @Query("UPDATE LoyaltyBalance b SET b.balance = b.balance + :delta, b.updatedAt = :now "
+            + "WHERE b.userId = :userId")
+    int addPoints(@Param("userId") Long userId, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    // BOOKING → spend points; 0 means the balance is too low
+    @Modifying
+    @Query("UPDATE LoyaltyBalance b SET b.balance = b.balance - :points, b.updatedAt = :now "
+            + "WHERE b.userId = :userId AND b.balance >= :points")
+    int deductIfEnough(@Param("userId") Long userId, @Param("points") long points, @Param("now") LocalDateTime now);
+
+    // CHECK → balances in (afterId, toId]
+    @Query("SELECT b FROM LoyaltyBalance b WHERE b.userId > :afterId AND b.userId <= :toId")
+    List<LoyaltyBalance> findInRange(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    // CHECK → recompute from the ledger in one statement so a concurrent entry is not lost
+    @Modifying
+    @Query("UPDATE LoyaltyBalance b SET b.balance = "
+            + "(SELECT COALESCE(SUM(l.points), 0) FROM LoyaltyEntry l WHERE l.userId = b.userId), "
+            + "b.updatedAt = :now WHERE b.userId IN :userIds")
+    int recompute(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COALESCE(MAX(b.userId), 0) FROM LoyaltyBalance b")
+    Long findMaxUserId();
+}
@@ -0,0 +1,38 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.tourstravels.entity.LoyaltyEntry;
+import com.tourstravels.enums.LoyaltyEntryType;
+
+public interface LoyaltyEntryRepository extends JpaRepository<LoyaltyEntry, Long> {
+
+    Optional<LoyaltyEntry> findByPaymentIdAndType(Long paymentId, LoyaltyEntryType type);
+
+    Optional<LoyaltyEntry> findByBookingIdAndType(Long bookingId, LoyaltyEntryType type);
+
+    boolean existsByBookingIdAndType(Long bookingId, LoyaltyEntryType type);
+
+    // CUSTOMER → latest entries first, range scan on idx_loyalty_user
+    @Query("SELECT l FROM LoyaltyEntry l WHERE l.userId = :userId ORDER BY l.id DESC")
+    List<LoyaltyEntry> findRecent(@Param("userId") Long userId, Pageable pageable);
+
+    // CHECK → ledger totals per user in (afterId, toId]
+    @Query("SELECT l.userId AS userId, SUM(l.points) AS points FROM LoyaltyEntry l "
+            + "WHERE l.userId > :afterId AND l.userId <= :toId GROUP BY l.userId")
+    List<UserPointsView> sumByUserRange(@Param("afterId") Long afterId, @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(MAX(l.userId), 0) FROM LoyaltyEntry l")
+    Long findMaxUserId();
+
+    interface UserPointsView {
+        Long getUserId();
+        Long getPoints();
+    }
+}
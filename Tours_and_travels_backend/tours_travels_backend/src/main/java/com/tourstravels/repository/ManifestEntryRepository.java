@@ -0,0 +1,113 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import com.tourstravels.entity.ManifestEntry;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+
+public interface ManifestEntryRepository extends JpaRepository<ManifestEntry, Long> {
+
+    String COPY_FROM_BOOKINGS = "INSERT INTO ManifestEntry (bookingId, packageId, agentId, tourStartDate, "
+            + "customerId, customerName, customerEmail, customerPhone, touristsCount, bookingStatus, "
+            + "paymentStatus, amount, refreshedAt) "
+            + "SELECT b.id, tp.id, tp.agent.userId, b.tourStartDate, u.userId, u.name, u.email, u.phone, "
+            + "b.touristsCount, b.status, b.paymentStatus, b.amount, LOCAL_DATETIME "
+            + "FROM Booking b JOIN b.user u JOIN b.tourPackage tp ";
+
+    /* ================= REFRESH ================= */
+
+    // EVENTS → drop the line of one booking before re-copying it
+    @Modifying
+    @Query("DELETE FROM ManifestEntry m WHERE m.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    // EVENTS → copy one booking back in, only while it is a travelling status
+    @Modifying
+    @Query(COPY_FROM_BOOKINGS + "WHERE b.id = :bookingId AND b.status IN :statuses")
+    int copyBooking(
+            @Param("bookingId") Long bookingId,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
+    // ARCHIVER → archived bookings leave their manifests
+    @Modifying
+    @Query("DELETE FROM ManifestEntry m WHERE m.bookingId IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // REBUILD → drop a whole departure
+    @Modifying
+    @Query("DELETE FROM ManifestEntry m WHERE m.packageId = :packageId AND m.tourStartDate = :date")
+    int deleteDeparture(
+            @Param("packageId") Long packageId,
+            @Param("date") LocalDate date);
+
+    // REBUILD → copy a whole departure in one INSERT ... SELECT
+    @Modifying
+    @Query(COPY_FROM_BOOKINGS + "WHERE tp.id = :packageId AND b.tourStartDate = :date AND b.status IN :statuses")
+    int copyDeparture(
+            @Param("packageId") Long packageId,
+            @Param("date") LocalDate date,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
+    // REBUILD → departures that already have manifest lines, so emptied ones get repaired too
+    @Query("SELECT DISTINCT m.packageId AS packageId, m.tourStartDate AS tourStartDate "
+            + "FROM ManifestEntry m WHERE m.tourStartDate BETWEEN :from AND :to")
+    List<BookingRepository.DepartureView> findDeparturesBetween(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /* ================= READ ================= */
+
+    // AGENT → one page of a manifest, served from idx_manifest_departure
+    List<ManifestEntry> findByPackageIdAndTourStartDateOrderByBookingId(
+            Long packageId, LocalDate tourStartDate, Pageable pageable);
+
+    // AGENT → CSV download walks the manifest in keyset chunks
+    @Query("SELECT m FROM ManifestEntry m WHERE m.packageId = :packageId AND m.tourStartDate = :date "
+            + "AND m.bookingId > :afterId ORDER BY m.bookingId")
+    List<ManifestEntry> findDepartureChunk(
+            @Param("packageId") Long packageId,
+            @Param("date") LocalDate date,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // AGENT → headline totals of one departure
+    @Query("SELECT COUNT(m) AS bookings, COALESCE(SUM(m.touristsCount), 0) AS tourists, "
+            + "COALESCE(SUM(CASE WHEN m.paymentStatus = :paid THEN m.touristsCount ELSE 0 END), 0) AS paidTourists "
+            + "FROM ManifestEntry m WHERE m.packageId = :packageId AND m.tourStartDate = :date")
+    TotalsView totalsForDeparture(
+            @Param("packageId") Long packageId,
+            @Param("date") LocalDate date,
+            @Param("paid") PaymentStatus paid);
+
+    // AGENT → departures in a date window with their totals
+    @Query("SELECT m.packageId AS packageId, m.tourStartDate AS tourStartDate, COUNT(m) AS bookings, "
+            + "SUM(m.touristsCount) AS tourists, "
+            + "SUM(CASE WHEN m.paymentStatus = :paid THEN m.touristsCount ELSE 0 END) AS paidTourists "
+            + "FROM ManifestEntry m WHERE m.agentId = :agentId AND m.tourStartDate BETWEEN :from AND :to "
+            + "GROUP BY m.packageId, m.tourStartDate ORDER BY m.tourStartDate, m.packageId")
+    List<DepartureTotalsView> departuresForAgent(
+            @Param("agentId") Long agentId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("paid") PaymentStatus paid);
+
+    interface TotalsView {
+        Long getBookings();
+        Long getTourists();
+        Long getPaidTourists();
+    }
+
+    interface DepartureTotalsView extends TotalsView {
+        Long getPackageId();
+        LocalDate getTourStartDate();
+    }
+}
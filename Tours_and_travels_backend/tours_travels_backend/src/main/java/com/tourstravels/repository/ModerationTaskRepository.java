@@ -0,0 +1,119 @@
+package com.tourstravels.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.tourstravels.entity.ModerationTask;
+import com.tourstravels.enums.ModerationItemType;
+import com.tourstravels.enums.PackageStatus;
+
+public interface ModerationTaskRepository extends JpaRepository<ModerationTask, Long> {
+
+    /* ===== CLAIM ===== */
+
+    // ADMIN → next unleased rows, oldest first. SKIP LOCKED (lock timeout -2)
+    // passes over rows another admin is claiming right now instead of waiting.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM ModerationTask t WHERE t.itemType = :type "
+            + "AND (t.leaseUntil IS NULL OR t.leaseUntil < :now) ORDER BY t.id")
+    List<ModerationTask> findClaimable(
+            @Param("type") ModerationItemType type,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    // ADMIN → rows this admin still holds, so a reload gets the same batch back
+    @Query("SELECT t FROM ModerationTask t WHERE t.itemType = :type AND t.claimedBy = :admin "
+            + "AND t.leaseUntil >= :now ORDER BY t.id")
+    List<ModerationTask> findHeld(
+            @Param("type") ModerationItemType type,
+            @Param("admin") String admin,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ModerationTask t SET t.claimedBy = :admin, t.leaseUntil = :leaseUntil WHERE t.id IN :ids")
+    int lease(
+            @Param("ids") Collection<Long> ids,
+            @Param("admin") String admin,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE ModerationTask t SET t.claimedBy = NULL, t.leaseUntil = NULL "
+            + "WHERE t.itemType = :type AND t.itemId IN :itemIds AND t.claimedBy = :admin")
+    int release(
+            @Param("type") ModerationItemType type,
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("admin") String admin);
+
+    /* ===== DECIDE ===== */
+
+    // ADMIN → rows about to be decided, locked so an expired lease cannot be re-claimed meanwhile
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM ModerationTask t WHERE t.itemType = :type AND t.itemId IN :itemIds")
+    List<ModerationTask> lockByItems(
+            @Param("type") ModerationItemType type,
+            @Param("itemIds") Collection<Long> itemIds);
+
+    @Modifying
+    @Query("DELETE FROM ModerationTask t WHERE t.itemType = :type AND t.itemId IN :itemIds")
+    int deleteByItems(
+            @Param("type") ModerationItemType type,
+            @Param("itemIds") Collection<Long> itemIds);
+
+    /* ===== SYNC ===== */
+
+    boolean existsByItemTypeAndItemId(ModerationItemType itemType, Long itemId);
+
+    @Query("SELECT p.id FROM TravelPackage p WHERE p.status = :pending AND NOT EXISTS ("
+            + "SELECT 1 FROM ModerationTask t WHERE t.itemType = :type AND t.itemId = p.id)")
+    List<Long> findUnqueuedPackages(
+            @Param("type") ModerationItemType type,
+            @Param("pending") PackageStatus pending);
+
+    @Query("SELECT u.userId FROM User u WHERE u.roleId = :roleId "
+            + "AND (u.isApproved = false OR u.isApproved IS NULL) AND NOT EXISTS ("
+            + "SELECT 1 FROM ModerationTask t WHERE t.itemType = :type AND t.itemId = u.userId)")
+    List<Long> findUnqueuedAgents(
+            @Param("type") ModerationItemType type,
+            @Param("roleId") Long roleId);
+
+    // Rows whose package was reviewed or deleted outside the queue
+    @Modifying
+    @Query("DELETE FROM ModerationTask t WHERE t.itemType = :type AND NOT EXISTS ("
+            + "SELECT 1 FROM TravelPackage p WHERE p.id = t.itemId AND p.status = :pending)")
+    int deleteStalePackages(
+            @Param("type") ModerationItemType type,
+            @Param("pending") PackageStatus pending);
+
+    @Modifying
+    @Query("DELETE FROM ModerationTask t WHERE t.itemType = :type AND NOT EXISTS ("
+            + "SELECT 1 FROM User u WHERE u.userId = t.itemId AND u.roleId = :roleId "
+            + "AND (u.isApproved = false OR u.isApproved IS NULL))")
+    int deleteStaleAgents(
+            @Param("type") ModerationItemType type,
+            @Param("roleId") Long roleId);
+
+    /* ===== METRICS ===== */
+
+    @Query("SELECT t.itemType AS itemType, COUNT(t) AS depth, MIN(t.enqueuedAt) AS oldest "
+            + "FROM ModerationTask t GROUP BY t.itemType")
+    List<DepthView> findDepth();
+
+    interface DepthView {
+        ModerationItemType getItemType();
+        Long getDepth();
+        LocalDateTime getOldest();
+    }
+}
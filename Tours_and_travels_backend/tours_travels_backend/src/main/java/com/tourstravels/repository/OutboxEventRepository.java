@@ -0,0 +1,44 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.tourstravels.entity.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // RELAY → next batch of due events, oldest first
+    @Query("SELECT e FROM OutboxEvent e WHERE e.nextAttemptAt <= :now AND e.attempts < :maxAttempts ORDER BY e.id")
+    List<OutboxEvent> findDue(
+            @Param("now") LocalDateTime now,
+            @Param("maxAttempts") int maxAttempts,
+            Pageable pageable);
+
+    // RELAY → purge delivered events
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // RELAY → push a failed event back
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.lastError = :lastError WHERE e.id = :id")
+    int markFailed(
+            @Param("id") Long id,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError);
+
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.attempts < :maxAttempts")
+    long countPending(@Param("maxAttempts") int maxAttempts);
+
+    // Events that used up their attempts and wait for someone to look at them
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.attempts >= :maxAttempts")
+    long countParked(@Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,46 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.tourstravels.entity.PackageDailyDemand;
+
+public interface PackageDailyDemandRepository extends JpaRepository<PackageDailyDemand, Long> {
+
+    // AGENT → one row per day with demand, range scan on uk_package_daily_demand
+    List<PackageDailyDemand> findByPackageIdAndDemandDateBetweenOrderByDemandDate(
+            Long packageId, LocalDate from, LocalDate to);
+
+    // EVENTS → add a delta to one day; 0 means the row does not exist yet
+    @Modifying
+    @Query("UPDATE PackageDailyDemand d SET "
+            + "d.bookedBookings = d.bookedBookings + :bookedBookings, "
+            + "d.bookedTourists = d.bookedTourists + :bookedTourists, "
+            + "d.departingBookings = d.departingBookings + :departingBookings, "
+            + "d.departingTourists = d.departingTourists + :departingTourists, "
+            + "d.cancelledBookings = d.cancelledBookings + :cancelledBookings, "
+            + "d.cancelledTourists = d.cancelledTourists + :cancelledTourists "
+            + "WHERE d.packageId = :packageId AND d.demandDate = :date")
+    int addDemand(
+            @Param("packageId") Long packageId,
+            @Param("date") LocalDate date,
+            @Param("bookedBookings") long bookedBookings,
+            @Param("bookedTourists") long bookedTourists,
+            @Param("departingBookings") long departingBookings,
+            @Param("departingTourists") long departingTourists,
+            @Param("cancelledBookings") long cancelledBookings,
+            @Param("cancelledTourists") long cancelledTourists);
+
+    // BACKFILL → drop a package's window before writing it again
+    @Modifying
+    @Query("DELETE FROM PackageDailyDemand d WHERE d.packageId = :packageId AND d.demandDate BETWEEN :from AND :to")
+    int deleteWindow(
+            @Param("packageId") Long packageId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
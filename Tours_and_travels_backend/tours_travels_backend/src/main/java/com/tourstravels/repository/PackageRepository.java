@@ -2,8 +2,13 @@ package com.tourstravels.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
 import java.util.List;
 import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.config.SecondLevelCacheConfig;
 import com.tourstravels.entity.User;
 import com.tourstravels.enums.PackageStatus;
 
@@ -11,9 +16,18 @@ public interface PackageRepository extends JpaRepository<TravelPackage, Long> {
 
     List<TravelPackage> findByAgent(User agent);
 
+    // Cached per status; any write to travel_packages or users invalidates it
     @Query("SELECT DISTINCT p FROM TravelPackage p LEFT JOIN FETCH p.agent WHERE p.status = :status")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.PACKAGES_BY_STATUS)
+    })
     List<TravelPackage> findByStatus(PackageStatus status);
 
+    // ADMIN → a claimed moderation batch
+    @Query("SELECT DISTINCT p FROM TravelPackage p LEFT JOIN FETCH p.agent WHERE p.id IN :ids ORDER BY p.id")
+    List<TravelPackage> findWithAgentByIdIn(Collection<Long> ids);
+
     // ADMIN → All packages with eager loading of agent
     @Query("SELECT DISTINCT p FROM TravelPackage p LEFT JOIN FETCH p.agent")
     List<TravelPackage> findAllWithDetails();
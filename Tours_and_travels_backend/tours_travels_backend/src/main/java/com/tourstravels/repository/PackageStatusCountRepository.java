@@ -0,0 +1,25 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+import com.tourstravels.entity.PackageStatusCount;
+import com.tourstravels.enums.BookingStatus;
+
+public interface PackageStatusCountRepository extends JpaRepository<PackageStatusCount, Long> {
+
+    // PROJECTOR → apply a net delta; 0 means the row does not exist yet
+    @Modifying
+    @Query("UPDATE PackageStatusCount c SET c.bookingCount = c.bookingCount + :delta "
+            + "WHERE c.packageId = :packageId AND c.status = :status")
+    int addToCount(
+            @Param("packageId") Long packageId,
+            @Param("status") BookingStatus status,
+            @Param("delta") long delta);
+
+    List<PackageStatusCount> findAllByOrderByPackageIdAscStatusAsc();
+}
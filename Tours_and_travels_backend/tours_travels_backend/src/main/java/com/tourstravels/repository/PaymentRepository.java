@@ -1,12 +1,19 @@
 package com.tourstravels.repository;
 
+import com.tourstravels.dto.CustomerPaymentView;
 import com.tourstravels.entity.Payment;
 import com.tourstravels.entity.Booking;
 import com.tourstravels.entity.User;
+import com.tourstravels.enums.PaymentStatus;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +25,44 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Customer payments (via booking → user)
     List<Payment> findByBookingUser(User user);
 
+    // Customer payments as a flat read model (single query, no lazy loads)
+    @Query("SELECT new com.tourstravels.dto.CustomerPaymentView("
+            + "p.id, p.status, b.id, b.status, b.amount, b.tourStartDate, tp.id, tp.title) "
+            + "FROM Payment p JOIN p.booking b JOIN b.tourPackage tp "
+            + "WHERE b.user.userId = :userId ORDER BY p.id DESC")
+    List<CustomerPaymentView> findViewsByUserId(@Param("userId") Long userId);
+
     // Query to fetch all payments with eager loading of booking and user data
     @Query("SELECT DISTINCT p FROM Payment p LEFT JOIN FETCH p.booking b LEFT JOIN FETCH b.user LEFT JOIN FETCH b.tourPackage")
     List<Payment> findAllWithDetails();
+
+    // ADMIN → payment counts per status in one aggregate
+    @Query("SELECT p.status AS status, COUNT(p) AS count FROM Payment p GROUP BY p.status")
+    List<StatusCountView> countByStatus();
+
+    // PROCESSOR → what the gateway needs to charge one payment
+    @Query("SELECT p.id AS paymentId, b.id AS bookingId, b.amount AS amount, p.status AS status "
+            + "FROM Payment p JOIN p.booking b WHERE p.id = :id")
+    ChargeView findChargeView(@Param("id") Long id);
+
+    // PROCESSOR → payments still waiting for the gateway, oldest first
+    @Query("SELECT p.id FROM Payment p WHERE p.status = :status ORDER BY p.id")
+    List<Long> findIdsByStatus(@Param("status") PaymentStatus status, Pageable pageable);
+
+    // ARCHIVER → remove payments already copied to payments_archive
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.booking.id IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    interface ChargeView {
+        Long getPaymentId();
+        Long getBookingId();
+        BigDecimal getAmount();
+        PaymentStatus getStatus();
+    }
+
+    interface StatusCountView {
+        PaymentStatus getStatus();
+        Long getCount();
+    }
 }
@@ -0,0 +1,76 @@
+package com.tourstravels.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.tourstravels.entity.RevenueDaily;
+
+public interface RevenueDailyRepository extends JpaRepository<RevenueDaily, Long> {
+
+    // ADMIN → revenue per agent over a date range
+    @Query("SELECT r.agentId AS groupId, u.name AS groupName, "
+            + "SUM(r.grossAmount) AS gross, SUM(r.refundedAmount) AS refunded, "
+            + "SUM(r.paidCount) AS paid, SUM(r.refundedCount) AS refunds "
+            + "FROM RevenueDaily r LEFT JOIN User u ON u.userId = r.agentId "
+            + "WHERE r.revenueDate BETWEEN :from AND :to "
+            + "GROUP BY r.agentId, u.name ORDER BY SUM(r.grossAmount) DESC")
+    List<RevenueGroupView> sumByAgent(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ADMIN → revenue per package over a date range
+    @Query("SELECT r.packageId AS groupId, tp.title AS groupName, "
+            + "SUM(r.grossAmount) AS gross, SUM(r.refundedAmount) AS refunded, "
+            + "SUM(r.paidCount) AS paid, SUM(r.refundedCount) AS refunds "
+            + "FROM RevenueDaily r LEFT JOIN TravelPackage tp ON tp.id = r.packageId "
+            + "WHERE r.revenueDate BETWEEN :from AND :to "
+            + "GROUP BY r.packageId, tp.title ORDER BY SUM(r.grossAmount) DESC")
+    List<RevenueGroupView> sumByPackage(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // AGENT → own packages only, range scan on idx_revenue_agent_date
+    @Query("SELECT r.packageId AS groupId, tp.title AS groupName, "
+            + "SUM(r.grossAmount) AS gross, SUM(r.refundedAmount) AS refunded, "
+            + "SUM(r.paidCount) AS paid, SUM(r.refundedCount) AS refunds "
+            + "FROM RevenueDaily r LEFT JOIN TravelPackage tp ON tp.id = r.packageId "
+            + "WHERE r.agentId = :agentId AND r.revenueDate BETWEEN :from AND :to "
+            + "GROUP BY r.packageId, tp.title ORDER BY SUM(r.grossAmount) DESC")
+    List<RevenueGroupView> sumByPackageForAgent(
+            @Param("agentId") Long agentId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    // EVENTS → add a delta to one (day, agent, package); 0 means the row does not exist yet
+    @Modifying
+    @Query("UPDATE RevenueDaily r SET "
+            + "r.grossAmount = r.grossAmount + :gross, "
+            + "r.refundedAmount = r.refundedAmount + :refunded, "
+            + "r.paidCount = r.paidCount + :paid, "
+            + "r.refundedCount = r.refundedCount + :refunds "
+            + "WHERE r.revenueDate = :date AND r.agentId = :agentId AND r.packageId = :packageId")
+    int addRevenue(
+            @Param("date") LocalDate date,
+            @Param("agentId") Long agentId,
+            @Param("packageId") Long packageId,
+            @Param("gross") BigDecimal gross,
+            @Param("refunded") BigDecimal refunded,
+            @Param("paid") long paid,
+            @Param("refunds") long refunds);
+
+    // BACKFILL → drop one day before writing it again
+    @Modifying
+    @Query("DELETE FROM RevenueDaily r WHERE r.revenueDate = :date")
+    int deleteDay(@Param("date") LocalDate date);
+
+    interface RevenueGroupView {
+        Long getGroupId();
+        String getGroupName();
+        BigDecimal getGross();
+        BigDecimal getRefunded();
+        Long getPaid();
+        Long getRefunds();
+    }
+}
@@ -1,9 +1,15 @@
 package com.tourstravels.repository;
 
+import com.tourstravels.dto.UserSummary;
 import com.tourstravels.entity.User;
 import com.tourstravels.entity.Role;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,9 +17,48 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // ADMIN → emails of a bulk import that are already taken
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     List<User> findByRole(Role role);
 
-    List<User> findByRoleAndIsApprovedFalse(Role role);
+    /* ===== ADMIN DIRECTORY ===== */
+
+    String SUMMARY_SELECT = "SELECT new com.tourstravels.dto.UserSummary("
+            + "u.userId, u.name, u.email, r.roleName, u.phone, u.address, u.companyName, u.licenseNumber, "
+            + "u.isApproved, u.approvalDate, u.approvedBy, "
+            + "(SELECT COUNT(p) FROM TravelPackage p WHERE p.agent = u)) "
+            + "FROM User u JOIN u.role r ";
+
+    // Pending covers both false and never-set approval
+    String APPROVAL_FILTER = "AND (:approved IS NULL OR u.isApproved = :approved "
+            + "OR (:approved = false AND u.isApproved IS NULL)) ";
+
+    // :prefix has its wildcards escaped with ! and ends with %
+    String PREFIX_FILTER = "(:prefix IS NULL OR u.name LIKE :prefix ESCAPE '!' "
+            + "OR u.email LIKE :prefix ESCAPE '!') ";
+
+    // ADMIN → one role, range scan on idx_users_role_approved
+    @Query(value = SUMMARY_SELECT + "WHERE u.role = :role " + APPROVAL_FILTER + "AND " + PREFIX_FILTER
+            + "ORDER BY u.userId DESC",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.role = :role " + APPROVAL_FILTER + "AND " + PREFIX_FILTER)
+    Page<UserSummary> findSummariesByRole(
+            @Param("role") Role role,
+            @Param("approved") Boolean approved,
+            @Param("prefix") String prefix,
+            Pageable pageable);
+
+    // ADMIN → every role
+    @Query(value = SUMMARY_SELECT + "WHERE " + PREFIX_FILTER + "ORDER BY u.userId DESC",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE " + PREFIX_FILTER)
+    Page<UserSummary> findSummaries(@Param("prefix") String prefix, Pageable pageable);
+
+    // ADMIN → single row by primary key
+    @Query(SUMMARY_SELECT + "WHERE u.userId = :userId")
+    Optional<UserSummary> findSummaryById(@Param("userId") Long userId);
 
-    List<User> findByRoleAndIsApprovedTrue(Role role);
+    // ADMIN → a claimed moderation batch
+    @Query(SUMMARY_SELECT + "WHERE u.userId IN :userIds ORDER BY u.userId")
+    List<UserSummary> findSummariesByIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,178 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.config.CacheConfig;
+import com.tourstravels.entity.JobCheckpoint;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.repository.ArchivedBookingRepository;
+import com.tourstravels.repository.ArchivedPaymentRepository;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.JobCheckpointRepository;
+import com.tourstravels.repository.ManifestEntryRepository;
+import com.tourstravels.repository.PaymentRepository;
+import com.tourstravels.util.ConcurrencyRetry;
+import com.tourstravels.util.RowThrottle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Moves terminal bookings whose tour date is older than archive.min-age-days,
+// together with their payments, into bookings_archive / payments_archive.
+// Each chunk copies and deletes in one short transaction, so a booking is
+// always in exactly one of the two tables.
+@Component
+public class BookingArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingArchiver.class);
+
+    private static final String JOB_NAME = "booking-archiver";
+
+    // No transition leaves these statuses
+    private static final Set<BookingStatus> TERMINAL_STATUSES = EnumSet.of(
+            BookingStatus.CANCELLED, BookingStatus.CANCELLED_BY_CUSTOMER, BookingStatus.AGENT_REJECTED,
+            BookingStatus.EXPIRED, BookingStatus.COMPLETED);
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ArchivedPaymentRepository archivedPaymentRepository;
+    private final ManifestEntryRepository manifestEntryRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int minAgeDays;
+    private final int chunkSize;
+    private final int rowsPerSecond;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    public BookingArchiver(
+            BookingRepository bookingRepository,
+            PaymentRepository paymentRepository,
+            ArchivedBookingRepository archivedBookingRepository,
+            ArchivedPaymentRepository archivedPaymentRepository,
+            ManifestEntryRepository manifestEntryRepository,
+            JobCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${archive.enabled:true}") boolean enabled,
+            @Value("${archive.min-age-days:365}") int minAgeDays,
+            @Value("${archive.chunk-size:500}") int chunkSize,
+            @Value("${archive.rows-per-second:2000}") int rowsPerSecond,
+            @Value("${archive.max-attempts:3}") int maxAttempts,
+            @Value("${archive.retry-backoff-ms:100}") long retryBackoffMillis
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.archivedPaymentRepository = archivedPaymentRepository;
+        this.manifestEntryRepository = manifestEntryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+        this.chunkSize = chunkSize;
+        this.rowsPerSecond = rowsPerSecond;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 3 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(minAgeDays);
+
+        Counter archived = meterRegistry.counter("booking.archiver.rows");
+        Timer chunkTimer = meterRegistry.timer("booking.archiver.chunk.duration");
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME, 0L, 0L, null));
+        if (checkpoint.getLastId() > 0) {
+            logger.info("🔁 {} resuming after booking ID {}", JOB_NAME, checkpoint.getLastId());
+        }
+
+        long passTotal = 0;
+        while (true) {
+            long started = System.nanoTime();
+            Integer moved = ConcurrencyRetry.execute(JOB_NAME + " chunk", maxAttempts, retryBackoffMillis,
+                    () -> transactionTemplate.execute(status -> archiveChunk(checkpoint, cutoff)));
+            long elapsedNanos = System.nanoTime() - started;
+
+            if (moved == null || moved < 0) {
+                break;
+            }
+            chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            archived.increment(moved);
+            passTotal += moved;
+
+            RowThrottle.pause(chunkSize, rowsPerSecond, elapsedNanos);
+        }
+
+        // Pass finished: next run scans from the start again
+        checkpoint.setLastId(0L);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        if (passTotal > 0) {
+            // Archived rows drop out of the live status counts
+            Cache summaries = cacheManager.getCache(CacheConfig.BOOKING_SUMMARIES);
+            if (summaries != null) {
+                summaries.clear();
+            }
+            logger.info("✅ {} archived {} bookings with tour date before {}", JOB_NAME, passTotal, cutoff);
+        }
+    }
+
+    // Returns the number of bookings archived, or -1 when there is nothing left to scan
+    private int archiveChunk(JobCheckpoint checkpoint, LocalDate cutoff) {
+
+        List<Long> ids = bookingRepository.findArchivableIds(
+                TERMINAL_STATUSES, cutoff, checkpoint.getLastId(), PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return -1;
+        }
+
+        int copied = archivedBookingRepository.copyBookings(ids, TERMINAL_STATUSES);
+
+        // Only bookings that made it into the archive leave the live tables
+        List<Long> archivedIds = copied == ids.size() ? ids : archivedBookingRepository.findIdsByIdIn(ids);
+        if (!archivedIds.isEmpty()) {
+            archivedPaymentRepository.copyPayments(archivedIds);
+            manifestEntryRepository.deleteByBookingIdIn(archivedIds);
+            paymentRepository.deleteByBookingIdIn(archivedIds);
+            bookingRepository.deleteByIdIn(archivedIds);
+        }
+
+        checkpoint.setLastId(ids.get(ids.size() - 1));
+        checkpoint.setProcessed(checkpoint.getProcessed() + archivedIds.size());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        return archivedIds.size();
+    }
+}
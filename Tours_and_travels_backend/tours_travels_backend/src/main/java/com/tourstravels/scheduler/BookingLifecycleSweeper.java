@@ -0,0 +1,188 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.entity.JobCheckpoint;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.JobCheckpointRepository;
+import com.tourstravels.util.ConcurrencyRetry;
+import com.tourstravels.util.RowThrottle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Moves bookings whose tour date has passed into a terminal state:
+// PENDING / AGENT_APPROVED → EXPIRED, CONFIRMED → COMPLETED.
+// Bookings with a charge still at the gateway are left for a later pass.
+// Works in small keyset chunks, one short transaction each, and records the
+// last processed id so an interrupted pass resumes where it stopped.
+@Component
+public class BookingLifecycleSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingLifecycleSweeper.class);
+
+    private static final Set<BookingStatus> OPEN_STATUSES =
+            EnumSet.of(BookingStatus.PENDING, BookingStatus.AGENT_APPROVED);
+
+    private static final Set<BookingStatus> CONFIRMED_STATUSES =
+            EnumSet.of(BookingStatus.CONFIRMED);
+
+    private final BookingRepository bookingRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int rowsPerSecond;
+    private final int completionGraceDays;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    public BookingLifecycleSweeper(
+            BookingRepository bookingRepository,
+            JobCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${booking.sweeper.enabled:true}") boolean enabled,
+            @Value("${booking.sweeper.chunk-size:200}") int chunkSize,
+            @Value("${booking.sweeper.rows-per-second:1000}") int rowsPerSecond,
+            @Value("${booking.sweeper.completion-grace-days:1}") int completionGraceDays,
+            @Value("${booking.sweeper.max-attempts:3}") int maxAttempts,
+            @Value("${booking.sweeper.retry-backoff-ms:100}") long retryBackoffMillis
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.rowsPerSecond = rowsPerSecond;
+        this.completionGraceDays = completionGraceDays;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @Scheduled(
+            initialDelayString = "${booking.sweeper.initial-delay-ms:60000}",
+            fixedDelayString = "${booking.sweeper.interval-ms:900000}"
+    )
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+
+        sweep("booking-sweeper-expire", OPEN_STATUSES, BookingStatus.EXPIRED, today);
+        sweep("booking-sweeper-complete", CONFIRMED_STATUSES, BookingStatus.COMPLETED,
+                today.minusDays(completionGraceDays));
+    }
+
+    private void sweep(String jobName, Set<BookingStatus> from, BookingStatus to, LocalDate cutoff) {
+
+        String transition = to.name().toLowerCase();
+        Counter transitioned = meterRegistry.counter("booking.sweeper.rows", "transition", transition);
+        Counter chunks = meterRegistry.counter("booking.sweeper.chunks", "transition", transition);
+        Timer chunkTimer = meterRegistry.timer("booking.sweeper.chunk.duration", "transition", transition);
+
+        JobCheckpoint checkpoint = checkpointRepository.findById(jobName)
+                .orElseGet(() -> new JobCheckpoint(jobName, 0L, 0L, null));
+        if (checkpoint.getLastId() > 0) {
+            logger.info("🔁 {} resuming after booking ID {}", jobName, checkpoint.getLastId());
+        }
+
+        long passTotal = 0;
+        while (true) {
+            long started = System.nanoTime();
+            Chunk chunk = ConcurrencyRetry.execute(jobName + " chunk", maxAttempts, retryBackoffMillis,
+                    () -> transactionTemplate.execute(status -> sweepChunk(checkpoint, from, to, cutoff)));
+            long elapsedNanos = System.nanoTime() - started;
+
+            if (chunk == null) {
+                break;
+            }
+            // Advance the in-memory resume point only once the chunk has committed,
+            // so a retried chunk starts from the same id
+            checkpoint.setLastId(chunk.lastId());
+            checkpoint.setProcessed(checkpoint.getProcessed() + chunk.moved());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+
+            chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            chunks.increment();
+            transitioned.increment(chunk.moved());
+            passTotal += chunk.moved();
+
+            RowThrottle.pause(chunkSize, rowsPerSecond, elapsedNanos);
+        }
+
+        // Pass finished: next run scans from the start again
+        checkpoint.setLastId(0L);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        if (passTotal > 0) {
+            logger.info("✅ {} moved {} bookings to {}", jobName, passTotal, to);
+        }
+    }
+
+    // Outcome of one committed chunk
+    private record Chunk(int moved, long lastId) {}
+
+    // Returns the chunk outcome, or null when there is nothing left to scan
+    private Chunk sweepChunk(JobCheckpoint checkpoint, Set<BookingStatus> from,
+                           BookingStatus to, LocalDate cutoff) {
+
+        List<BookingRepository.StatusView> views = bookingRepository.findForSweep(
+                from, cutoff, checkpoint.getLastId(), PageRequest.of(0, chunkSize));
+        if (views.isEmpty()) {
+            return null;
+        }
+
+        List<Long> ids = views.stream().map(BookingRepository.StatusView::getId).toList();
+        int moved = bookingRepository.transitionStatusForIds(ids, to, from, PaymentStatus.PENDING);
+
+        // A row changed concurrently is skipped by the UPDATE guard; only announce real transitions
+        Set<Long> movedIds = moved == ids.size()
+                ? Set.copyOf(ids)
+                : bookingRepository.findStatusByIdIn(ids).stream()
+                        .filter(v -> v.getStatus() == to)
+                        .map(BookingRepository.StatusView::getId)
+                        .collect(Collectors.toSet());
+        for (BookingRepository.StatusView view : views) {
+            if (movedIds.contains(view.getId())) {
+                eventPublisher.publishEvent(new BookingStatusChangedEvent(
+                        view.getId(), view.getCustomerId(), view.getPackageId(), view.getAgentId(),
+                        view.getStatus(), to, view.getPaymentStatus()));
+            }
+        }
+
+        // Persist the resume point in the same transaction, from a copy so a rollback leaves the caller's untouched
+        long lastId = ids.get(ids.size() - 1);
+        checkpointRepository.save(new JobCheckpoint(checkpoint.getJobName(), lastId,
+                checkpoint.getProcessed() + moved, LocalDateTime.now()));
+        return new Chunk(moved, lastId);
+    }
+}
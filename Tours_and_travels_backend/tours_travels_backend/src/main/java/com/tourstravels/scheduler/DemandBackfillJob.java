@@ -0,0 +1,49 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.service.DemandService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Nightly recomputation of the daily demand rollup over the reporting window
+// (past year plus the booking horizon), repairing deltas lost to failed listeners.
+@Component
+public class DemandBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DemandBackfillJob.class);
+
+    private final DemandService demandService;
+    private final boolean enabled;
+    private final int pastDays;
+    private final int futureDays;
+
+    public DemandBackfillJob(
+            DemandService demandService,
+            @Value("${demand.backfill.enabled:true}") boolean enabled,
+            @Value("${demand.backfill.past-days:366}") int pastDays,
+            @Value("${demand.backfill.future-days:366}") int futureDays
+    ) {
+        this.demandService = demandService;
+        this.enabled = enabled;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+    }
+
+    @Scheduled(cron = "${demand.backfill.cron:0 0 4 * * *}")
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        try {
+            demandService.backfill(today.minusDays(pastDays), today.plusDays(futureDays));
+        } catch (RuntimeException e) {
+            logger.error("❌ Daily demand backfill failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.service.ManifestService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Nightly re-copy of every departure in the next N days from the bookings table.
+// Departures are independent, so they are rebuilt in parallel, each in its own
+// short transaction; a failed departure is logged and left for the next night.
+@Component
+public class DepartureManifestRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartureManifestRebuilder.class);
+
+    private final ManifestService manifestService;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int horizonDays;
+    private final int parallelism;
+
+    public DepartureManifestRebuilder(
+            ManifestService manifestService,
+            MeterRegistry meterRegistry,
+            @Value("${manifest.rebuild.enabled:true}") boolean enabled,
+            @Value("${manifest.rebuild.horizon-days:30}") int horizonDays,
+            @Value("${manifest.rebuild.parallelism:4}") int parallelism
+    ) {
+        this.manifestService = manifestService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(cron = "${manifest.rebuild.cron:0 30 2 * * *}")
+    public void rebuildUpcoming() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(horizonDays);
+        List<BookingRepository.DepartureView> departures = manifestService.findDeparturesBetween(from, to);
+        logger.info("🧾 Rebuilding {} departure manifests between {} and {} ({} threads)",
+                departures.size(), from, to, parallelism);
+
+        Timer timer = meterRegistry.timer("manifest.rebuild.departure.duration");
+        AtomicLong rows = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (BookingRepository.DepartureView departure : departures) {
+                futures.add(executor.submit(() -> timer.record(() -> {
+                    try {
+                        rows.addAndGet(manifestService.rebuildDeparture(
+                                departure.getPackageId(), departure.getTourStartDate()));
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        logger.warn("⚠️ Manifest rebuild of package {} on {} failed: {}",
+                                departure.getPackageId(), departure.getTourStartDate(), e.getMessage());
+                    }
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("⚠️ Manifest rebuild interrupted");
+        } catch (ExecutionException e) {
+            logger.warn("⚠️ Manifest rebuild task failed: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        meterRegistry.counter("manifest.rebuild.rows").increment(rows.get());
+        logger.info("✅ Rebuilt {} departures ({} rows, {} failed) in {} ms",
+                departures.size() - failed.get(), rows.get(), failed.get(),
+                (System.nanoTime() - started) / 1_000_000L);
+    }
+}
@@ -0,0 +1,150 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.entity.BookingTransition;
+import com.tourstravels.entity.JobCheckpoint;
+import com.tourstravels.repository.BookingTransitionRepository;
+import com.tourstravels.repository.JobCheckpointRepository;
+import com.tourstravels.service.JournalProjection;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replays booking_transitions into every JournalProjection bean.
+// Each projection has its own checkpoint (job_checkpoints "projection:<name>"),
+// advanced in the same transaction as the projected rows, so a projection is
+// never applied twice and can be rebuilt by resetting it to position 0.
+// Identity ids are handed out before commit, so a row can become visible after
+// a higher id; rows younger than the settle window are left for the next run.
+@Component
+public class JournalProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalProjector.class);
+
+    private final Map<String, JournalProjection> projections = new LinkedHashMap<>();
+    private final BookingTransitionRepository transitionRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final long settleMillis;
+
+    public JournalProjector(
+            List<JournalProjection> projections,
+            BookingTransitionRepository transitionRepository,
+            JobCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${journal.projector.chunk-size:1000}") int chunkSize,
+            @Value("${journal.projector.settle-ms:5000}") long settleMillis
+    ) {
+        for (JournalProjection projection : projections) {
+            this.projections.put(projection.getName(), projection);
+        }
+        this.transitionRepository = transitionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.settleMillis = settleMillis;
+    }
+
+    @Scheduled(
+            initialDelayString = "${journal.projector.initial-delay-ms:30000}",
+            fixedDelayString = "${journal.projector.interval-ms:10000}"
+    )
+    public synchronized void catchUp() {
+        for (JournalProjection projection : projections.values()) {
+            long applied = replay(projection);
+            if (applied > 0) {
+                logger.debug("🧾 Projection {} applied {} transitions", projection.getName(), applied);
+            }
+        }
+    }
+
+    // Drops the projection and replays the whole journal into it
+    public synchronized long rebuild(String name) {
+        JournalProjection projection = projections.get(name);
+        if (projection == null) {
+            throw new RuntimeException("Unknown projection: " + name);
+        }
+        logger.info("🔁 Rebuilding projection {} from the start of the journal", name);
+        transactionTemplate.executeWithoutResult(status -> {
+            projection.reset();
+            JobCheckpoint checkpoint = checkpoint(name);
+            checkpoint.setLastId(0L);
+            checkpoint.setProcessed(0L);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        });
+        long applied = replay(projection);
+        logger.info("✅ Projection {} rebuilt from {} transitions", name, applied);
+        return applied;
+    }
+
+    // Position of each projection and how far it trails the journal head
+    public Map<String, Long> getLag() {
+        long head = transitionRepository.findHeadId();
+        Map<String, Long> lag = new LinkedHashMap<>();
+        for (String name : projections.keySet()) {
+            lag.put(name, head - checkpoint(name).getLastId());
+        }
+        return lag;
+    }
+
+    private long replay(JournalProjection projection) {
+        long total = 0;
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMillis * 1_000_000L);
+        while (true) {
+            Integer applied = transactionTemplate.execute(status -> {
+                JobCheckpoint checkpoint = checkpoint(projection.getName());
+                List<BookingTransition> chunk = settledPrefix(
+                        transitionRepository.findAfter(checkpoint.getLastId(), PageRequest.of(0, chunkSize)),
+                        settledBefore);
+                if (chunk.isEmpty()) {
+                    return 0;
+                }
+                projection.apply(chunk);
+                checkpoint.setLastId(chunk.get(chunk.size() - 1).getId());
+                checkpoint.setProcessed(checkpoint.getProcessed() + chunk.size());
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                checkpointRepository.save(checkpoint);
+                return chunk.size();
+            });
+            if (applied == null || applied == 0) {
+                break;
+            }
+            total += applied;
+            meterRegistry.counter("journal.projector.transitions", "projection", projection.getName())
+                    .increment(applied);
+        }
+        return total;
+    }
+
+    private static List<BookingTransition> settledPrefix(List<BookingTransition> chunk, LocalDateTime settledBefore) {
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!chunk.get(i).getOccurredAt().isBefore(settledBefore)) {
+                return chunk.subList(0, i);
+            }
+        }
+        return chunk;
+    }
+
+    private JobCheckpoint checkpoint(String name) {
+        String jobName = "projection:" + name;
+        return checkpointRepository.findById(jobName)
+                .orElseGet(() -> new JobCheckpoint(jobName, 0L, 0L, null));
+    }
+}
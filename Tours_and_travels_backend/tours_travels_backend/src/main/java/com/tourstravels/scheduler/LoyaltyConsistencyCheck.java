@@ -0,0 +1,219 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.config.CacheConfig;
+import com.tourstravels.dto.LoyaltyCheckReport;
+import com.tourstravels.entity.LoyaltyBalance;
+import com.tourstravels.repository.LoyaltyBalanceRepository;
+import com.tourstravels.repository.LoyaltyEntryRepository;
+import com.tourstravels.util.ConcurrencyRetry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Verifies loyalty_balances against the sum of loyalty_ledger. The user id
+// space is cut into ranges (afterId, afterId + chunk-size] that are checked in
+// parallel, each in its own short transaction. In repair mode a drifted
+// balance is recomputed from the ledger in a single UPDATE, which waits for
+// any in-flight entry of that user instead of overwriting it.
+@Component
+public class LoyaltyConsistencyCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoyaltyConsistencyCheck.class);
+
+    private static final String JOB_NAME = "loyalty-check";
+
+    private final LoyaltyEntryRepository entryRepository;
+    private final LoyaltyBalanceRepository balanceRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final boolean repairByDefault;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile LoyaltyCheckReport lastReport;
+
+    public LoyaltyConsistencyCheck(
+            LoyaltyEntryRepository entryRepository,
+            LoyaltyBalanceRepository balanceRepository,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${loyalty.check.enabled:true}") boolean enabled,
+            @Value("${loyalty.check.repair:true}") boolean repairByDefault,
+            @Value("${loyalty.check.chunk-size:5000}") int chunkSize,
+            @Value("${loyalty.check.parallelism:4}") int parallelism,
+            @Value("${loyalty.check.max-attempts:3}") int maxAttempts,
+            @Value("${loyalty.check.retry-backoff-ms:100}") long retryBackoffMillis
+    ) {
+        this.entryRepository = entryRepository;
+        this.balanceRepository = balanceRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.repairByDefault = repairByDefault;
+        this.chunkSize = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @Scheduled(cron = "${loyalty.check.cron:0 30 4 * * *}")
+    public void checkNightly() {
+        if (enabled) {
+            check(repairByDefault);
+        }
+    }
+
+    public LoyaltyCheckReport getLastReport() {
+        return lastReport;
+    }
+
+    // Returns null when a pass is already running
+    public LoyaltyCheckReport check(boolean repair) {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("⏭️ {} already running", JOB_NAME);
+            return null;
+        }
+        try {
+            LoyaltyCheckReport report = runPass(repair);
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private LoyaltyCheckReport runPass(boolean repair) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long maxUserId = Math.max(entryRepository.findMaxUserId(), balanceRepository.findMaxUserId());
+
+        List<Long> rangeStarts = new ArrayList<>();
+        for (long afterId = 0; afterId < maxUserId; afterId += chunkSize) {
+            rangeStarts.add(afterId);
+        }
+        logger.info("🔍 {} checking users 1..{} in {} chunks ({} threads, repair={})",
+                JOB_NAME, maxUserId, rangeStarts.size(), parallelism, repair);
+
+        AtomicLong checked = new AtomicLong();
+        AtomicLong mismatched = new AtomicLong();
+        AtomicLong missing = new AtomicLong();
+        AtomicLong repaired = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long afterId : rangeStarts) {
+                long toId = Math.min(afterId + chunkSize, maxUserId);
+                futures.add(executor.submit(() -> {
+                    try {
+                        ChunkResult result = ConcurrencyRetry.execute(JOB_NAME + " chunk", maxAttempts,
+                                retryBackoffMillis,
+                                () -> transactionTemplate.execute(status -> checkChunk(afterId, toId, repair)));
+                        checked.addAndGet(result.checked());
+                        mismatched.addAndGet(result.mismatched());
+                        missing.addAndGet(result.missing());
+                        repaired.addAndGet(result.repaired());
+                        evict(result.repairedIds());
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        logger.warn("⚠️ {} chunk ({}, {}] failed: {}", JOB_NAME, afterId, toId, e.getMessage());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("⚠️ {} interrupted", JOB_NAME);
+        } catch (ExecutionException e) {
+            logger.warn("⚠️ {} task failed: {}", JOB_NAME, e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        meterRegistry.counter("loyalty.check.mismatches").increment(mismatched.get() + missing.get());
+        meterRegistry.counter("loyalty.check.repaired").increment(repaired.get());
+
+        LoyaltyCheckReport report = new LoyaltyCheckReport(repair, startedAt, LocalDateTime.now(),
+                maxUserId, rangeStarts.size(), failed.get(), checked.get(), mismatched.get(),
+                missing.get(), repaired.get());
+        logger.info("✅ {} finished: {} users checked, {} mismatched, {} missing, {} repaired, {} failed chunks",
+                JOB_NAME, checked.get(), mismatched.get(), missing.get(), repaired.get(), failed.get());
+        return report;
+    }
+
+    // After the chunk committed, so a concurrent read cannot cache the old balance again
+    private void evict(List<Long> userIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.LOYALTY_BALANCES);
+        if (cache != null) {
+            userIds.forEach(cache::evict);
+        }
+    }
+
+    private ChunkResult checkChunk(long afterId, long toId, boolean repair) {
+        Map<Long, Long> ledger = new HashMap<>();
+        for (LoyaltyEntryRepository.UserPointsView row : entryRepository.sumByUserRange(afterId, toId)) {
+            ledger.put(row.getUserId(), row.getPoints());
+        }
+
+        List<Long> drifted = new ArrayList<>();
+        List<LoyaltyBalance> balances = balanceRepository.findInRange(afterId, toId);
+        for (LoyaltyBalance balance : balances) {
+            long expected = ledger.getOrDefault(balance.getUserId(), 0L);
+            ledger.remove(balance.getUserId());
+            if (balance.getBalance() != expected) {
+                drifted.add(balance.getUserId());
+            }
+        }
+        long checked = balances.size() + ledger.size();
+        // Whatever is left has ledger entries but no balance row
+        List<Long> missing = new ArrayList<>(ledger.keySet());
+
+        long repaired = 0;
+        List<Long> ids = new ArrayList<>(drifted);
+        ids.addAll(missing);
+        if (repair && (!drifted.isEmpty() || !missing.isEmpty())) {
+            LocalDateTime now = LocalDateTime.now();
+            for (Long userId : missing) {
+                balanceRepository.save(LoyaltyBalance.builder().userId(userId).balance(0L).updatedAt(now).build());
+            }
+            balanceRepository.flush();
+            repaired = balanceRepository.recompute(ids, now);
+        }
+        return new ChunkResult(checked, drifted.size(), missing.size(), repaired, repair ? ids : List.of());
+    }
+
+    private record ChunkResult(long checked, long mismatched, long missing, long repaired, List<Long> repairedIds) {
+    }
+}
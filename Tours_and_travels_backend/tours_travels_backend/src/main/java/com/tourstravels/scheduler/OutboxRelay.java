@@ -0,0 +1,71 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.service.OutboxService;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Polls outbox_events and drains every due batch before sleeping again.
+// Runs on its own thread rather than the shared @Scheduled pool, so long
+// jobs there (reconciliation, sweeps) never hold up delivery. A second
+// application instance would deliver the same rows, which at-least-once
+// subscribers already tolerate.
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxService outboxService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long initialDelayMillis;
+    private final long intervalMillis;
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "outbox-relay"));
+
+    public OutboxRelay(
+            OutboxService outboxService,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${outbox.relay.initial-delay-ms:5000}") long initialDelayMillis,
+            @Value("${outbox.relay.interval-ms:500}") long intervalMillis
+    ) {
+        this.outboxService = outboxService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.initialDelayMillis = initialDelayMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        timer.scheduleWithFixedDelay(this::relay, initialDelayMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void relay() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (outboxService.relayBatch() < batchSize) {
+                    return;
+                }
+            }
+            logger.info("📮 Outbox backlog remains after {} batches, continuing next run", maxBatchesPerRun);
+        } catch (RuntimeException e) {
+            logger.error("❌ Outbox relay failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,285 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.dto.ReconciliationReport;
+import com.tourstravels.entity.JobCheckpoint;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.BookingPaymentRepairedEvent;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.JobCheckpointRepository;
+import com.tourstravels.util.ConcurrencyRetry;
+import com.tourstravels.util.RowThrottle;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Aligns bookings.payment_status with payments.status, the payment being the
+// source of truth. The booking id space is cut into keyset ranges
+// (afterId, afterId + chunk-size] that are scanned in parallel, each in its own
+// short transaction, with a shared rows-per-second budget. Mismatches are
+// counted and, in repair mode, fixed row by row (mismatches are rare) so each
+// repaired booking is announced like any other booking change.
+// The checkpoint is the highest id below which every range has finished, so a
+// restart resumes without rescanning or skipping a range.
+@Component
+public class PaymentReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciler.class);
+
+    private static final String JOB_NAME = "payment-reconciler";
+
+    // Booking payment statuses that claim money was taken
+    private static final Set<PaymentStatus> PAID_STATUSES = EnumSet.of(PaymentStatus.SUCCESS, PaymentStatus.REFUNDED);
+
+    private final BookingRepository bookingRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final boolean repairByDefault;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int rowsPerSecond;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReconciliationReport lastReport;
+
+    public PaymentReconciler(
+            BookingRepository bookingRepository,
+            JobCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${reconcile.enabled:true}") boolean enabled,
+            @Value("${reconcile.repair:true}") boolean repairByDefault,
+            @Value("${reconcile.chunk-size:5000}") int chunkSize,
+            @Value("${reconcile.parallelism:4}") int parallelism,
+            @Value("${reconcile.rows-per-second:50000}") int rowsPerSecond,
+            @Value("${reconcile.max-attempts:3}") int maxAttempts,
+            @Value("${reconcile.retry-backoff-ms:100}") long retryBackoffMillis
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.repairByDefault = repairByDefault;
+        this.chunkSize = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.rowsPerSecond = rowsPerSecond;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @Scheduled(cron = "${reconcile.cron:0 45 3 * * *}")
+    public void reconcileNightly() {
+        if (enabled) {
+            reconcile(repairByDefault);
+        }
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    // Returns null when a pass is already running
+    public ReconciliationReport reconcile(boolean repair) {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("⏭️ {} already running", JOB_NAME);
+            return null;
+        }
+        try {
+            ReconciliationReport report = runPass(repair);
+            lastReport = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport runPass(boolean repair) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME, 0L, 0L, null));
+        long fromId = checkpoint.getLastId();
+        long maxId = bookingRepository.findMaxId();
+        if (fromId > 0) {
+            logger.info("🔁 {} resuming after booking ID {}", JOB_NAME, fromId);
+        }
+
+        List<Long> rangeStarts = new ArrayList<>();
+        for (long afterId = fromId; afterId < maxId; afterId += chunkSize) {
+            rangeStarts.add(afterId);
+        }
+        logger.info("🔍 {} scanning bookings {}..{} in {} chunks ({} threads, repair={})",
+                JOB_NAME, fromId + 1, maxId, rangeStarts.size(), parallelism, repair);
+
+        Map<String, AtomicLong> mismatches = new ConcurrentHashMap<>();
+        AtomicLong repaired = new AtomicLong();
+        AtomicLong paidWithoutPayment = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+        Watermark watermark = new Watermark(fromId);
+        Timer chunkTimer = meterRegistry.timer("payment.reconciler.chunk.duration");
+        long perWorkerRowsPerSecond = rowsPerSecond <= 0 ? 0 : Math.max(1, rowsPerSecond / parallelism);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long afterId : rangeStarts) {
+                long toId = Math.min(afterId + chunkSize, maxId);
+                futures.add(executor.submit(() -> {
+                    long started = System.nanoTime();
+                    try {
+                        ChunkResult result = ConcurrencyRetry.execute(JOB_NAME + " chunk", maxAttempts,
+                                retryBackoffMillis,
+                                () -> transactionTemplate.execute(status -> reconcileChunk(afterId, toId, repair)));
+                        result.mismatches().forEach((key, count) ->
+                                mismatches.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(count));
+                        repaired.addAndGet(result.repaired());
+                        paidWithoutPayment.addAndGet(result.paidWithoutPayment());
+                        advance(checkpoint, watermark, afterId, toId);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        logger.warn("⚠️ {} chunk ({}, {}] failed: {}", JOB_NAME, afterId, toId, e.getMessage());
+                    }
+                    long elapsedNanos = System.nanoTime() - started;
+                    chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                    RowThrottle.pause(toId - afterId, perWorkerRowsPerSecond, elapsedNanos);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("⚠️ {} interrupted", JOB_NAME);
+        } catch (ExecutionException e) {
+            logger.warn("⚠️ {} task failed: {}", JOB_NAME, e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Pass finished: next run scans from the start again. A failed chunk
+        // holds the watermark, so an incomplete pass resumes from there instead.
+        if (failed.get() == 0) {
+            saveCheckpoint(checkpoint, 0L);
+        }
+
+        Map<String, Long> byKind = new TreeMap<>();
+        mismatches.forEach((key, count) -> byKind.put(key, count.get()));
+        long mismatched = byKind.values().stream().mapToLong(Long::longValue).sum();
+        meterRegistry.counter("payment.reconciler.mismatches").increment(mismatched);
+        meterRegistry.counter("payment.reconciler.repaired").increment(repaired.get());
+
+        ReconciliationReport report = new ReconciliationReport(repair, startedAt, LocalDateTime.now(),
+                fromId, maxId, rangeStarts.size(), failed.get(), mismatched, repaired.get(),
+                paidWithoutPayment.get(), byKind);
+        logger.info("✅ {} finished: {} mismatched, {} repaired, {} paid without payment, {} failed chunks",
+                JOB_NAME, mismatched, repaired.get(), paidWithoutPayment.get(), failed.get());
+        return report;
+    }
+
+    private ChunkResult reconcileChunk(long afterId, long toId, boolean repair) {
+        List<BookingRepository.PaymentMismatchView> rows = bookingRepository.findPaymentMismatches(afterId, toId);
+        long paidWithoutPayment = bookingRepository.countPaidWithoutPayment(afterId, toId, PAID_STATUSES);
+
+        Map<String, Long> kinds = new TreeMap<>();
+        for (BookingRepository.PaymentMismatchView row : rows) {
+            kinds.merge(row.getBookingPaymentStatus() + " -> " + row.getPaymentStatus(), 1L, Long::sum);
+        }
+        if (!repair || rows.isEmpty()) {
+            return new ChunkResult(kinds, 0, paidWithoutPayment);
+        }
+
+        // The UPDATE re-checks the mismatch, so a row fixed concurrently is not counted or announced
+        Map<Long, BookingRepository.PaymentMismatchView> repaired = new HashMap<>();
+        for (BookingRepository.PaymentMismatchView row : rows) {
+            if (bookingRepository.alignPaymentStatus(List.of(row.getBookingId()), row.getPaymentStatus()) == 1) {
+                repaired.put(row.getBookingId(), row);
+            }
+        }
+        if (!repaired.isEmpty()) {
+            for (BookingRepository.StatusView view : bookingRepository.findStatusByIdIn(repaired.keySet())) {
+                BookingRepository.PaymentMismatchView row = repaired.get(view.getId());
+                eventPublisher.publishEvent(new BookingStatusChangedEvent(
+                        view.getId(), view.getCustomerId(), view.getPackageId(), view.getAgentId(),
+                        view.getStatus(), view.getStatus(), row.getPaymentStatus()));
+                eventPublisher.publishEvent(new BookingPaymentRepairedEvent(
+                        view.getId(), view.getCustomerId(), view.getPackageId(), view.getAgentId(),
+                        row.getBookingPaymentStatus(), row.getPaymentStatus()));
+            }
+        }
+        return new ChunkResult(kinds, repaired.size(), paidWithoutPayment);
+    }
+
+    private void advance(JobCheckpoint checkpoint, Watermark watermark, long afterId, long toId) {
+        Long moved = watermark.complete(afterId, toId);
+        if (moved != null) {
+            saveCheckpoint(checkpoint, moved);
+        }
+    }
+
+    private void saveCheckpoint(JobCheckpoint checkpoint, long lastId) {
+        synchronized (checkpoint) {
+            checkpoint.setLastId(lastId);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        }
+    }
+
+    private record ChunkResult(Map<String, Long> mismatches, long repaired, long paidWithoutPayment) {
+    }
+
+    // Highest id below which every range has completed
+    private static final class Watermark {
+        private final Map<Long, Long> completedEnds = new HashMap<>();
+        private long value;
+
+        Watermark(long start) {
+            this.value = start;
+        }
+
+        // Returns the new watermark when it moved, otherwise null
+        synchronized Long complete(long afterId, long toId) {
+            completedEnds.put(afterId, toId);
+            long before = value;
+            Long end;
+            while ((end = completedEnds.remove(value)) != null) {
+                value = end;
+            }
+            return value != before ? value : null;
+        }
+    }
+}
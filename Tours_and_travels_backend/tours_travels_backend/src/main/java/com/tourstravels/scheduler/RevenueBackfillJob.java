@@ -0,0 +1,105 @@
+package com.tourstravels.scheduler;
+
+import com.tourstravels.service.RevenueService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Recomputes the revenue rollup day by day from the journal. Days are
+// independent, so they are rebuilt in parallel, each in its own short
+// transaction; a failed day is logged and left for the next run.
+// Nightly it repairs the last few days; admins can backfill any range.
+@Component
+public class RevenueBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueBackfillJob.class);
+
+    private final RevenueService revenueService;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int pastDays;
+    private final int parallelism;
+
+    public RevenueBackfillJob(
+            RevenueService revenueService,
+            MeterRegistry meterRegistry,
+            @Value("${revenue.backfill.enabled:true}") boolean enabled,
+            @Value("${revenue.backfill.past-days:7}") int pastDays,
+            @Value("${revenue.backfill.parallelism:4}") int parallelism
+    ) {
+        this.revenueService = revenueService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pastDays = pastDays;
+        this.parallelism = parallelism;
+    }
+
+    @Scheduled(cron = "${revenue.backfill.cron:0 15 4 * * *}")
+    public void backfillRecent() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        backfill(today.minusDays(pastDays), today);
+    }
+
+    // Returns the number of days that could not be rebuilt
+    public int backfill(LocalDate from, LocalDate to) {
+        List<LocalDate> days = from.datesUntil(to.plusDays(1)).toList();
+        logger.info("💰 Backfilling revenue rollup for {} days between {} and {} ({} threads)",
+                days.size(), from, to, parallelism);
+
+        Timer timer = meterRegistry.timer("revenue.backfill.day.duration");
+        AtomicLong rows = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (LocalDate day : days) {
+                futures.add(executor.submit(() -> timer.record(() -> {
+                    try {
+                        rows.addAndGet(revenueService.backfillDay(day));
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        logger.warn("⚠️ Revenue backfill of {} failed: {}", day, e.getMessage());
+                    }
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("⚠️ Revenue backfill interrupted");
+        } catch (ExecutionException e) {
+            logger.warn("⚠️ Revenue backfill task failed: {}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        meterRegistry.counter("revenue.backfill.rows").increment(rows.get());
+        logger.info("✅ Revenue rollup rebuilt for {} days ({} rows, {} failed) in {} ms",
+                days.size() - failed.get(), rows.get(), failed.get(),
+                (System.nanoTime() - started) / 1_000_000L);
+        return failed.get();
+    }
+}
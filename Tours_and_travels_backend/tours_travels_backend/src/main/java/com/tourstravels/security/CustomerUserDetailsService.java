@@ -19,6 +19,9 @@ public class CustomerUserDetailsService implements UserDetailsService {
     // Repository used to fetch user details from the database
     private final UserRepository userRepository;
 
+    // Cached role lookups, so resolving authorities needs no join on roles
+    private final RoleRegistry roleRegistry;
+
     // This method is called automatically by Spring Security during authentication
     @Override
     public UserDetails loadUserByUsername(String email)
@@ -37,7 +40,7 @@ public class CustomerUserDetailsService implements UserDetailsService {
         return org.springframework.security.core.userdetails.User
                 .withUsername(user.getEmail())   // Set username (email)
                 .password(user.getPassword())    // Encrypted password (BCrypt hash)
-                .authorities("ROLE_" + user.getRole().getRoleName()) // Assign role
+                .authorities(roleRegistry.authoritiesOf(user.getRoleId())) // Assign role
                 .build();
     }
 }
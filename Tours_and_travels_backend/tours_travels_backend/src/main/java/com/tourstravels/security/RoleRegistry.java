@@ -0,0 +1,103 @@
+package com.tourstravels.security;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.tourstravels.entity.Role;
+import com.tourstravels.entity.User;
+import com.tourstravels.repository.RoleRepository;
+
+// Roles are a handful of rows that never change at runtime, so they are read
+// once into an immutable snapshot keyed by id and by name. Users carry only
+// role_id; names and granted authorities are resolved here without a join.
+@Component
+public class RoleRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    public static final String ADMIN = "ADMIN";
+    public static final String AGENT = "AGENT";
+    public static final String CUSTOMER = "CUSTOMER";
+
+    private final RoleRepository roleRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    public Role require(String roleName) {
+        String name = roleName == null ? "" : roleName.trim().toUpperCase();
+        Entry entry = snapshot.byName.get(name);
+        if (entry == null) {
+            entry = reload().byName.get(name);
+        }
+        if (entry == null) {
+            throw new RuntimeException("Role " + roleName + " not found");
+        }
+        return entry.role;
+    }
+
+    public String nameOf(Long roleId) {
+        Entry entry = lookup(roleId);
+        return entry == null ? null : entry.role.getRoleName();
+    }
+
+    // Shared, immutable list: building UserDetails allocates nothing per request
+    public List<GrantedAuthority> authoritiesOf(Long roleId) {
+        Entry entry = lookup(roleId);
+        return entry == null ? List.of() : entry.authorities;
+    }
+
+    public boolean is(User user, String roleName) {
+        Entry entry = lookup(user.getRoleId());
+        return entry != null && entry.role.getRoleName().equals(roleName);
+    }
+
+    private Entry lookup(Long roleId) {
+        if (roleId == null) {
+            return null;
+        }
+        Entry entry = snapshot.byId.get(roleId);
+        // Only a role seeded after startup can miss; pick it up once
+        return entry != null ? entry : reload().byId.get(roleId);
+    }
+
+    private synchronized Snapshot reload() {
+        Map<Long, Entry> byId = new HashMap<>();
+        Map<String, Entry> byName = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            // Copied so no caller can hold on to a managed entity
+            Role copy = new Role(role.getId(), role.getRoleName());
+            Entry entry = new Entry(copy, List.of(new SimpleGrantedAuthority("ROLE_" + copy.getRoleName())));
+            byId.put(copy.getId(), entry);
+            byName.put(copy.getRoleName(), entry);
+        }
+        Snapshot loaded = new Snapshot(Map.copyOf(byId), Map.copyOf(byName));
+        snapshot = loaded;
+        logger.info("🔑 Loaded {} roles: {}", byName.size(), byName.keySet());
+        return loaded;
+    }
+
+    private record Entry(Role role, List<GrantedAuthority> authorities) {
+    }
+
+    private record Snapshot(Map<Long, Entry> byId, Map<String, Entry> byName) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,12 @@
+package com.tourstravels.service;
+
+import java.io.InputStream;
+
+import com.tourstravels.dto.AgentImportReport;
+
+public interface AgentImportService {
+
+    // ADMIN
+    AgentImportReport importAgents(InputStream csv, String adminName);
+    AgentImportReport getJob(String jobId, String adminName);
+}
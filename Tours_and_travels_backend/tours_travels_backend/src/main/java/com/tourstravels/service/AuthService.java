@@ -2,6 +2,8 @@ package com.tourstravels.service;
 
 import java.util.List;
 
+import com.tourstravels.dto.UserDirectoryPage;
+import com.tourstravels.dto.UserSummary;
 import com.tourstravels.entity.User;
 
 public interface AuthService {
@@ -16,13 +18,18 @@ public interface AuthService {
 
 	List<User> getAllUsers();
 
-	List<User> getPendingAgents();
+	// ADMIN directory → approved null = every agent; search is a name / email prefix
+	UserDirectoryPage getAgents(Boolean approved, String search, int page, int size);
 
-	List<User> getApprovedAgents();
+	// ADMIN directory → role null = every user
+	UserDirectoryPage getUsers(String roleName, String search, int page, int size);
+
+	UserSummary getUserSummary(Long userId);
 
 	User approveAgent(Long agentId, String adminName);
 
-	void rejectAgent(Long agentId);
+	// Returns the deleted registration
+	User rejectAgent(Long agentId);
 
 	boolean emailExists(String email);
 }
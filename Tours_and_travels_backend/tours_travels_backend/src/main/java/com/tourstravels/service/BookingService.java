@@ -1,21 +1,27 @@
 package com.tourstravels.service;
 
 import java.util.List;
+
+import com.tourstravels.dto.BulkBookingDecisionResponse;
+import com.tourstravels.dto.CustomerBookingView;
 import com.tourstravels.entity.Booking;
 
 public interface BookingService {
 
     // CUSTOMER
     List<Booking> getBookingsByUser(Long userId);
+    // includeArchived adds bookings moved to bookings_archive
+    List<CustomerBookingView> getBookingViewsByUser(Long userId, boolean includeArchived);
     Booking createBooking(Booking booking);
 
     // AGENT
     List<Booking> getBookingsForAgent(String agentEmail);
-    Booking agentDecision(Long bookingId, String decision);
+    Booking agentDecision(Long bookingId, String agentEmail, String decision);
 
     // ADMIN
     List<Booking> getBookingsForAdmin();
     Booking adminDecision(Long bookingId, String decision);
+    BulkBookingDecisionResponse bulkAdminDecision(List<Long> bookingIds, String decision);
     
     Booking cancelByCustomer(Long bookingId, Long customerId);
 }
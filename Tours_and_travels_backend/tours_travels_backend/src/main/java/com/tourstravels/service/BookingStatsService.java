@@ -0,0 +1,12 @@
+package com.tourstravels.service;
+
+import com.tourstravels.dto.BookingStatusSummary;
+
+public interface BookingStatsService {
+
+    // ADMIN
+    BookingStatusSummary getAdminSummary();
+
+    // AGENT
+    BookingStatusSummary getAgentSummary(Long agentId);
+}
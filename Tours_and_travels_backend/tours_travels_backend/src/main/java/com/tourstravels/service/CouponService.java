@@ -0,0 +1,29 @@
+package com.tourstravels.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.tourstravels.entity.Coupon;
+import com.tourstravels.repository.CouponRepository.CouponStatsView;
+
+public interface CouponService {
+
+    // BOOKING → must run inside the booking transaction: the redemption is
+    // counted against both caps and given back if that transaction rolls back.
+    // Returns null when no code was given.
+    Redemption redeem(String code, Long customerId, BigDecimal amount);
+
+    // ADMIN
+    Coupon createCoupon(Coupon coupon);
+
+    List<CouponStatsView> getStats();
+
+    void deactivate(Long couponId);
+
+    // Hands unused leased redemptions of idle coupons back to the database;
+    // returns how many were released
+    long releaseIdleLeases();
+
+    record Redemption(String code, BigDecimal discount) {
+    }
+}
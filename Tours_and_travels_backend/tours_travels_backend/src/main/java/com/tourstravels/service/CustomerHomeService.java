@@ -0,0 +1,10 @@
+package com.tourstravels.service;
+
+import com.tourstravels.dto.CustomerHome;
+import com.tourstravels.entity.User;
+
+public interface CustomerHomeService {
+
+    // CUSTOMER
+    CustomerHome getHome(User customer);
+}
@@ -0,0 +1,15 @@
+package com.tourstravels.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.tourstravels.dto.PackageDemandDay;
+
+public interface DemandService {
+
+    // AGENT
+    List<PackageDemandDay> getPackageDemand(Long agentId, Long packageId, LocalDate from, LocalDate to);
+
+    // Recomputes the rollup of every package for the window from bookings and the archive
+    int backfill(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,13 @@
+package com.tourstravels.service;
+
+import java.io.OutputStream;
+
+import com.tourstravels.enums.ExportFormat;
+
+public interface ExportService {
+
+    // ADMIN
+    long exportBookings(ExportFormat format, OutputStream out);
+
+    long exportPayments(ExportFormat format, OutputStream out);
+}
@@ -0,0 +1,13 @@
+package com.tourstravels.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+
+public interface IdempotencyService {
+
+    // Runs action once per (scope, userId, key); replays the stored response for repeats.
+    // requestHash guards against the same key being reused for a different request.
+    ResponseEntity<?> execute(String scope, Long userId, String key, String requestHash,
+                              Supplier<ResponseEntity<?>> action);
+}
@@ -0,0 +1,20 @@
+package com.tourstravels.service;
+
+import java.util.List;
+
+import com.tourstravels.entity.BookingTransition;
+
+// A read model derived only from booking_transitions.
+// JournalProjector feeds it journal rows in order and tracks its position, so a
+// projection can be dropped and rebuilt at any time by replaying from the start.
+public interface JournalProjection {
+
+    // Stable name, also used for the checkpoint row
+    String getName();
+
+    // Called in the same transaction as the checkpoint update
+    void apply(List<BookingTransition> transitions);
+
+    // Removes all projected state before a replay from the start
+    void reset();
+}
@@ -0,0 +1,14 @@
+package com.tourstravels.service;
+
+import java.util.List;
+
+import com.tourstravels.entity.BookingTransition;
+
+public interface JournalService {
+
+    // ADMIN
+    List<BookingTransition> getBookingHistory(Long bookingId);
+
+    // Journals the current status of every booking that has no journal rows yet
+    int importExistingBookings();
+}
@@ -0,0 +1,19 @@
+package com.tourstravels.service;
+
+import java.math.BigDecimal;
+
+import com.tourstravels.dto.LoyaltySummary;
+
+public interface LoyaltyService {
+
+    // CUSTOMER → cached balance
+    long getBalance(Long userId);
+
+    LoyaltySummary getSummary(Long userId);
+
+    // BOOKING → discount for spending points on an amount; throws if over the allowed share
+    BigDecimal quoteRedemption(long points, BigDecimal amount);
+
+    // BOOKING → must run inside the booking transaction; throws if the balance is too low
+    void redeem(Long userId, Long bookingId, long points);
+}
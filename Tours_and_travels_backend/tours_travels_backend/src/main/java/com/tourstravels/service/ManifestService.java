@@ -0,0 +1,27 @@
+package com.tourstravels.service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.tourstravels.dto.DepartureManifest;
+import com.tourstravels.dto.DepartureSummary;
+import com.tourstravels.repository.BookingRepository;
+
+public interface ManifestService {
+
+    // AGENT
+    List<DepartureSummary> getDepartures(Long agentId, LocalDate from, LocalDate to);
+
+    DepartureManifest getManifest(Long agentId, Long packageId, LocalDate date, int page, int size);
+
+    // Throws AccessDeniedException unless the package belongs to the agent
+    void checkPackageOwner(Long agentId, Long packageId);
+
+    long writeManifestCsv(Long packageId, LocalDate date, OutputStream out);
+
+    // REBUILD
+    List<BookingRepository.DepartureView> findDeparturesBetween(LocalDate from, LocalDate to);
+
+    int rebuildDeparture(Long packageId, LocalDate date);
+}
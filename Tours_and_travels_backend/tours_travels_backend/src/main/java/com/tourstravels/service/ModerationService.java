@@ -0,0 +1,22 @@
+package com.tourstravels.service;
+
+import java.util.List;
+
+import com.tourstravels.dto.ModerationBatch;
+import com.tourstravels.dto.ModerationDecisionResponse;
+import com.tourstravels.dto.ModerationQueueDepth;
+import com.tourstravels.enums.ModerationItemType;
+
+public interface ModerationService {
+
+    // ADMIN
+    ModerationBatch claim(String itemType, String admin, int size);
+    ModerationDecisionResponse decide(String itemType, String admin, List<Long> itemIds, String decision);
+    int release(String itemType, String admin, List<Long> itemIds);
+    List<ModerationQueueDepth> getQueueDepth();
+
+    // Queue maintenance
+    void enqueue(ModerationItemType itemType, Long itemId);
+    void dequeue(ModerationItemType itemType, Long itemId);
+    int sync();
+}
@@ -0,0 +1,11 @@
+package com.tourstravels.service;
+
+public interface OutboxService {
+
+    // RELAY → delivers one batch of due events; returns how many rows were read
+    int relayBatch();
+
+    long countPending();
+
+    long countParked();
+}
@@ -0,0 +1,12 @@
+package com.tourstravels.service;
+
+// In-process consumer of outbox events. Delivery is at least once: an event is
+// handed out again if any subscriber failed or the relay stopped before purging
+// it, so handle must tolerate repeats. Throwing schedules a retry.
+public interface OutboxSubscriber {
+
+    String getName();
+
+    // event is one of the records in com.tourstravels.event
+    void handle(Object event);
+}
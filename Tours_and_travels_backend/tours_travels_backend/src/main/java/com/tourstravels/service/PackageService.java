@@ -10,6 +10,8 @@ public interface PackageService {
 
     // AGENT
     TravelPackage createPackage(TravelPackage travelPackage, String agentEmail);
+    TravelPackage updatePackage(Long packageId, TravelPackage updated);
+    TravelPackage addImages(Long packageId, List<String> imageUrls);
     List<TravelPackage> getPackagesByAgent(String agentEmail);
 
     // ADMIN
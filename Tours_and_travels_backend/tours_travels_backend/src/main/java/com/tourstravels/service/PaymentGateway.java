@@ -0,0 +1,30 @@
+package com.tourstravels.service;
+
+import java.math.BigDecimal;
+
+// External payment provider. Calls may block for seconds, so they are only
+// made from PaymentProcessor workers, never on a request thread.
+public interface PaymentGateway {
+
+    // The payment id doubles as the idempotency key: charging the same payment
+    // again after a timeout must not take the money twice.
+    // Throws GatewayUnavailableException for failures worth retrying.
+    ChargeResult charge(Long paymentId, BigDecimal amount);
+
+    record ChargeResult(boolean approved, String reference, String declineReason) {
+
+        public static ChargeResult approved(String reference) {
+            return new ChargeResult(true, reference, null);
+        }
+
+        public static ChargeResult declined(String reason) {
+            return new ChargeResult(false, null, reason);
+        }
+    }
+
+    class GatewayUnavailableException extends RuntimeException {
+        public GatewayUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.tourstravels.service;
+
+public interface PaymentProcessor {
+
+    // Queues a PENDING payment for the gateway; false if it is already queued or the queue is full
+    boolean submit(Long paymentId);
+
+    // Re-queues PENDING payments that are not in flight (after a restart or a full queue)
+    int resubmitPending();
+
+    int getInFlight();
+}
@@ -1,5 +1,6 @@
 package com.tourstravels.service;
 
+import com.tourstravels.dto.CustomerPaymentView;
 import com.tourstravels.entity.Payment;
 import com.tourstravels.entity.User;
 
@@ -7,15 +8,25 @@ import java.util.List;
 
 public interface PaymentService {
 
-    Payment createPayment(Long bookingId, Double amount, String paymentMode);
+    // CUSTOMER → pay for own booking. Records a PENDING payment that is charged
+    // asynchronously; returns the existing payment if there already is one,
+    // and re-queues it if it had failed.
+    Payment createPayment(Long bookingId, Long customerId);
 
     Payment getPayment(Long paymentId);
 
     List<Payment> getPaymentsByUser(User user);
 
+    // includeArchived adds payments moved to payments_archive
+    List<CustomerPaymentView> getPaymentViewsByUser(Long userId, boolean includeArchived);
+
     List<Payment> getAllPayments();
 
+    // PENDING → SUCCESS; also marks the booking paid and auto-confirms it
     Payment confirmPayment(Long paymentId);
 
+    // PENDING → FAILED (declined by the gateway or gateway unavailable)
+    Payment failPayment(Long paymentId, String reason);
+
     Payment refundPayment(Long paymentId);
 }
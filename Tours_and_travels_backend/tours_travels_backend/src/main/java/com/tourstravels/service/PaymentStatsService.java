@@ -0,0 +1,14 @@
+package com.tourstravels.service;
+
+import java.util.Map;
+
+import com.tourstravels.enums.PaymentStatus;
+
+public interface PaymentStatsService {
+
+    // ADMIN
+    Map<PaymentStatus, Long> getStatusCounts();
+
+    // Replaces the live counters with a fresh GROUP BY; returns the total drift corrected
+    long reconcile();
+}
@@ -0,0 +1,17 @@
+package com.tourstravels.service;
+
+import java.time.LocalDate;
+
+import com.tourstravels.dto.RevenueReport;
+
+public interface RevenueService {
+
+    // ADMIN
+    RevenueReport getAdminReport(LocalDate from, LocalDate to);
+
+    // AGENT
+    RevenueReport getAgentReport(Long agentId, LocalDate from, LocalDate to);
+
+    // BACKFILL → recompute one day of the rollup; returns the rows written
+    int backfillDay(LocalDate day);
+}
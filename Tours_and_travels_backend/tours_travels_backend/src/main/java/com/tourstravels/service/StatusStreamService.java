@@ -0,0 +1,11 @@
+package com.tourstravels.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface StatusStreamService {
+
+    // role is ADMIN, AGENT or CUSTOMER; lastEventId is the SSE Last-Event-ID header (may be null)
+    SseEmitter subscribe(String role, Long userId, String lastEventId);
+
+    int getSubscriberCount();
+}
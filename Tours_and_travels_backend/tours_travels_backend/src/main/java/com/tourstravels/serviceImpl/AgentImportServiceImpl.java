@@ -0,0 +1,470 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.dto.AgentImportReport;
+import com.tourstravels.dto.AgentImportRow;
+import com.tourstravels.enums.AgentImportRowStatus;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.security.RoleRegistry;
+import com.tourstravels.service.AgentImportService;
+import com.tourstravels.util.PasswordGenerator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// Creates approved agents from a CSV upload. Rows are validated up front,
+// then handled in chunks: emails already taken are skipped, generated
+// passwords are BCrypt-hashed on a fixed pool, and the chunk is written with
+// one JDBC batch insert. Small files are imported on the request thread;
+// larger ones run as a background job whose progress can be polled by the
+// admin who started it. A finished report carries the temporary passwords, so
+// it is handed out once and otherwise evicted after the retention period.
+@Service
+public class AgentImportServiceImpl implements AgentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgentImportServiceImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO users (name, email, password, role_id, phone, address, "
+            + "company_name, license_number, is_approved, approval_date, approved_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    // Column lengths of the users table
+    private static final int MAX_NAME = 255;
+    private static final int MAX_EMAIL = 255;
+    private static final int MAX_COMPANY = 150;
+    private static final int MAX_LICENSE = 100;
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int syncThreshold;
+    private final int maxRows;
+    private final int batchSize;
+    private final int passwordLength;
+    private final long retentionMinutes;
+
+    private final ExecutorService hashPool;
+    private final ExecutorService jobRunner;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public AgentImportServiceImpl(
+            UserRepository userRepository,
+            RoleRegistry roleRegistry,
+            PasswordEncoder passwordEncoder,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${agent.import.sync-threshold:200}") int syncThreshold,
+            @Value("${agent.import.max-rows:10000}") int maxRows,
+            @Value("${agent.import.batch-size:200}") int batchSize,
+            @Value("${agent.import.hash-threads:4}") int hashThreads,
+            @Value("${agent.import.password-length:12}") int passwordLength,
+            @Value("${agent.import.job-retention-minutes:60}") long retentionMinutes
+    ) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.syncThreshold = syncThreshold;
+        this.maxRows = maxRows;
+        this.batchSize = Math.max(1, batchSize);
+        this.passwordLength = passwordLength;
+        this.retentionMinutes = retentionMinutes;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(Math.max(1, hashThreads),
+                r -> new Thread(r, "agent-import-hash-" + threadIds.incrementAndGet()));
+        // One import at a time; later uploads wait their turn
+        this.jobRunner = Executors.newSingleThreadExecutor(r -> new Thread(r, "agent-import"));
+    }
+
+    /* ================= JOBS ================= */
+
+    @Override
+    public AgentImportReport importAgents(InputStream csv, String adminName) {
+        List<CsvRow> rows = parse(csv);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("The file has no agent rows");
+        }
+        if (rows.size() > maxRows) {
+            throw new RuntimeException("At most " + maxRows + " rows per import");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), adminName, rows.size());
+        logger.info("📥 Agent import {} started by {}: {} rows", job.id, adminName, rows.size());
+
+        if (rows.size() <= syncThreshold) {
+            // The report goes straight back to the caller, so it is never stored
+            run(job, rows, adminName);
+            return job.report();
+        }
+        jobs.put(job.id, job);
+        jobRunner.execute(() -> run(job, rows, adminName));
+        return job.report();
+    }
+
+    // Only the starting admin sees the job; a finished report is removed once read
+    @Override
+    public AgentImportReport getJob(String jobId, String adminName) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.adminName.equals(adminName)) {
+            throw new RuntimeException("Import job not found");
+        }
+        AgentImportReport report = job.report();
+        if (job.finishedAt != null) {
+            jobs.remove(jobId, job);
+        }
+        return report;
+    }
+
+    // Finished reports nobody came back for still hold temporary passwords
+    @Scheduled(fixedDelayString = "${agent.import.evict-interval-ms:60000}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(Job job, List<CsvRow> rows, String adminName) {
+        try {
+            Long roleId = roleRegistry.require(RoleRegistry.AGENT).getId();
+            List<CsvRow> valid = validate(job, rows);
+            for (int from = 0; from < valid.size(); from += batchSize) {
+                importChunk(job, valid.subList(from, Math.min(from + batchSize, valid.size())), roleId, adminName);
+            }
+            job.finish("COMPLETED", null);
+            logger.info("✅ Agent import {} finished: {} created, {} skipped, {} failed",
+                    job.id, job.created.get(), job.skipped.get(), job.failed.get());
+        } catch (RuntimeException e) {
+            job.finish("FAILED", e.getMessage());
+            logger.error("❌ Agent import {} failed: {}", job.id, e.getMessage(), e);
+        }
+    }
+
+    /* ================= ROWS ================= */
+
+    // Field checks plus duplicates inside the file itself
+    private List<CsvRow> validate(Job job, List<CsvRow> rows) {
+        Set<String> seen = new HashSet<>();
+        List<CsvRow> valid = new ArrayList<>();
+        for (CsvRow row : rows) {
+            String error = check(row);
+            if (error != null) {
+                job.settle(row, AgentImportRowStatus.INVALID, error, null);
+            } else if (!seen.add(row.email)) {
+                job.settle(row, AgentImportRowStatus.DUPLICATE, "Email appears more than once in the file", null);
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private static String check(CsvRow row) {
+        if (row.name == null) {
+            return "Name is required";
+        }
+        if (row.email == null) {
+            return "Email is required";
+        }
+        if (!EMAIL.matcher(row.email).matches()) {
+            return "Email is not valid";
+        }
+        if (row.name.length() > MAX_NAME || row.email.length() > MAX_EMAIL
+                || (row.companyName != null && row.companyName.length() > MAX_COMPANY)
+                || (row.licenseNumber != null && row.licenseNumber.length() > MAX_LICENSE)) {
+            return "A field is too long";
+        }
+        return null;
+    }
+
+    private void importChunk(Job job, List<CsvRow> chunk, Long roleId, String adminName) {
+        Set<String> taken = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.email).toList()));
+        List<CsvRow> fresh = new ArrayList<>();
+        for (CsvRow row : chunk) {
+            if (taken.contains(row.email)) {
+                job.settle(row, AgentImportRowStatus.DUPLICATE, "Email already exists", null);
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        hashPasswords(fresh);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    INSERT_SQL, fresh, fresh.size(), (ps, row) -> bind(ps, row, roleId, now, adminName)));
+            fresh.forEach(row -> job.settle(row, AgentImportRowStatus.CREATED, null, row.password));
+        } catch (DataIntegrityViolationException e) {
+            // An email was registered since the check; settle the chunk row by row
+            for (CsvRow row : fresh) {
+                insertOne(job, row, roleId, now, adminName);
+            }
+        }
+    }
+
+    private void insertOne(Job job, CsvRow row, Long roleId, LocalDateTime now, String adminName) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row, roleId, now, adminName)));
+            job.settle(row, AgentImportRowStatus.CREATED, null, row.password);
+        } catch (DataIntegrityViolationException e) {
+            job.settle(row, AgentImportRowStatus.DUPLICATE, "Email already exists", null);
+        } catch (RuntimeException e) {
+            job.settle(row, AgentImportRowStatus.FAILED, e.getMessage(), null);
+        }
+    }
+
+    // BCrypt dominates the cost of an import, so the chunk is hashed in parallel
+    private void hashPasswords(List<CsvRow> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (CsvRow row : rows) {
+            row.password = PasswordGenerator.generate(passwordLength);
+            hashes.add(hashPool.submit(() -> passwordEncoder.encode(row.password)));
+        }
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).hash = hashes.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Agent import interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private static void bind(PreparedStatement ps, CsvRow row, Long roleId, LocalDateTime now, String adminName)
+            throws SQLException {
+        ps.setString(1, row.name);
+        ps.setString(2, row.email);
+        ps.setString(3, row.hash);
+        ps.setLong(4, roleId);
+        setNullable(ps, 5, row.phone);
+        setNullable(ps, 6, row.address);
+        setNullable(ps, 7, row.companyName);
+        setNullable(ps, 8, row.licenseNumber);
+        ps.setBoolean(9, true);
+        ps.setTimestamp(10, Timestamp.valueOf(now));
+        setNullable(ps, 11, adminName);
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    /* ================= CSV ================= */
+
+    // Header names are matched case-insensitively, ignoring spaces and underscores
+    private static List<CsvRow> parse(InputStream csv) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new RuntimeException("The file is empty");
+            }
+            if (headerLine.startsWith("\uFEFF")) {
+                headerLine = headerLine.substring(1);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> header = splitLine(headerLine);
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).toLowerCase().replaceAll("[\\s_]", ""), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("email")) {
+                throw new RuntimeException("The header must contain name and email columns");
+            }
+
+            List<CsvRow> rows = new ArrayList<>();
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitLine(line);
+                String email = field(fields, columns, "email");
+                rows.add(new CsvRow(lineNumber,
+                        field(fields, columns, "name"),
+                        email == null ? null : email.toLowerCase(),
+                        field(fields, columns, "phone"),
+                        field(fields, columns, "address"),
+                        field(fields, columns, "companyname"),
+                        field(fields, columns, "licensenumber")));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the file: " + e.getMessage());
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Comma separated, with "double quoted" fields and "" as an escaped quote
+    private static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobRunner.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    private static final class CsvRow {
+        private final int line;
+        private final String name;
+        private final String email;
+        private final String phone;
+        private final String address;
+        private final String companyName;
+        private final String licenseNumber;
+        private String password;
+        private String hash;
+
+        private CsvRow(int line, String name, String email, String phone, String address,
+                       String companyName, String licenseNumber) {
+            this.line = line;
+            this.name = name;
+            this.email = email;
+            this.phone = phone;
+            this.address = address;
+            this.companyName = companyName;
+            this.licenseNumber = licenseNumber;
+        }
+    }
+
+    // Live progress of one import; each row is settled exactly once
+    private final class Job {
+        private final String id;
+        private final String adminName;
+        private final int totalRows;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AgentImportRow[] results;
+        private final Map<Integer, Integer> indexByLine = new HashMap<>();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile String status = "RUNNING";
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, String adminName, int totalRows) {
+            this.id = id;
+            this.adminName = adminName;
+            this.totalRows = totalRows;
+            this.results = new AgentImportRow[totalRows];
+        }
+
+        private void settle(CsvRow row, AgentImportRowStatus rowStatus, String rowMessage, String password) {
+            int index = indexByLine.computeIfAbsent(row.line, line -> indexByLine.size());
+            results[index] = new AgentImportRow(row.line, row.email, rowStatus, rowMessage, password);
+            processed.incrementAndGet();
+            switch (rowStatus) {
+                case CREATED -> created.incrementAndGet();
+                case FAILED -> failed.incrementAndGet();
+                default -> skipped.incrementAndGet();
+            }
+            meterRegistry.counter("agent.import.rows", "status", rowStatus.name()).increment();
+        }
+
+        private void finish(String finalStatus, String finalMessage) {
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private AgentImportReport report() {
+            boolean done = finishedAt != null;
+            List<AgentImportRow> rows = done
+                    ? Arrays.stream(results).filter(row -> row != null)
+                            .sorted((a, b) -> Integer.compare(a.getLine(), b.getLine())).toList()
+                    : null;
+            return new AgentImportReport(id, status, totalRows, processed.get(), created.get(), skipped.get(),
+                    failed.get(), startedAt, finishedAt, message, rows);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.tourstravels.serviceImpl;
 
+import com.tourstravels.dto.UserDirectoryPage;
+import com.tourstravels.dto.UserSummary;
 import com.tourstravels.entity.Role;
 import com.tourstravels.entity.User;
-import com.tourstravels.repository.RoleRepository;
+import com.tourstravels.enums.ModerationItemType;
 import com.tourstravels.repository.UserRepository;
+import com.tourstravels.security.RoleRegistry;
 import com.tourstravels.service.AuthService;
+import com.tourstravels.service.ModerationService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
@@ -21,8 +27,11 @@ public class AuthServiceImpl implements AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final ModerationService moderationService;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
     // CUSTOMER self-registration
     @Override
@@ -47,8 +56,7 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("Phone is required");
         }
 
-        Role role = roleRepository.findByRoleName("CUSTOMER")
-                .orElseThrow(() -> new RuntimeException("Role CUSTOMER not found"));
+        Role role = roleRegistry.require(RoleRegistry.CUSTOMER);
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setRole(role);
@@ -61,8 +69,7 @@ public class AuthServiceImpl implements AuthService {
     // AGENT creation (ADMIN only) - Already approved
     @Override
     public User registerAgent(User user) {
-        Role role = roleRepository.findByRoleName("AGENT")
-                .orElseThrow(() -> new RuntimeException("Role AGENT not found"));
+        Role role = roleRegistry.require(RoleRegistry.AGENT);
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setRole(role);
@@ -81,8 +88,7 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("Email already exists");
         }
 
-        Role role = roleRepository.findByRoleName("AGENT")
-                .orElseThrow(() -> new RuntimeException("Role AGENT not found"));
+        Role role = roleRegistry.require(RoleRegistry.AGENT);
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setRole(role);
@@ -91,6 +97,7 @@ public class AuthServiceImpl implements AuthService {
         user.setApprovedBy(null);
 
         User savedAgent = userRepository.save(user);
+        moderationService.enqueue(ModerationItemType.AGENT, savedAgent.getUserId());
         logger.info("✅ Agent registered (PENDING): {}", savedAgent.getEmail());
         return savedAgent;
     }
@@ -111,31 +118,52 @@ public class AuthServiceImpl implements AuthService {
         users.forEach(user -> {
             logger.debug("User: ID={}, Name={}, Email={}, Role={}", 
                 user.getUserId(), user.getName(), user.getEmail(), 
-                user.getRole() != null ? user.getRole().getRoleName() : "NO_ROLE");
+                user.getRoleId() != null ? roleRegistry.nameOf(user.getRoleId()) : "NO_ROLE");
         });
         return users;
     }
 
     @Override
-    public List<User> getPendingAgents() {
-        logger.info("🔍 Fetching pending agents");
-        Role agentRole = roleRepository.findByRoleName("AGENT")
-                .orElseThrow(() -> new RuntimeException("Role AGENT not found"));
-
-        List<User> pendingAgents = userRepository.findByRoleAndIsApprovedFalse(agentRole);
-        logger.info("✅ Found {} pending agents", pendingAgents.size());
-        return pendingAgents;
+    public UserDirectoryPage getAgents(Boolean approved, String search, int page, int size) {
+        Role agentRole = roleRegistry.require(RoleRegistry.AGENT);
+        Page<UserSummary> agents = userRepository.findSummariesByRole(
+                agentRole, approved, toPrefix(search), pageRequest(page, size));
+        logger.info("✅ Found {} agents (approved={}, search={})", agents.getTotalElements(), approved, search);
+        return toDirectoryPage(agents);
+    }
+
+    @Override
+    public UserDirectoryPage getUsers(String roleName, String search, int page, int size) {
+        if (roleName == null || roleName.isBlank()) {
+            return toDirectoryPage(userRepository.findSummaries(toPrefix(search), pageRequest(page, size)));
+        }
+        Role role = roleRegistry.require(roleName);
+        return toDirectoryPage(userRepository.findSummariesByRole(role, null, toPrefix(search), pageRequest(page, size)));
     }
 
     @Override
-    public List<User> getApprovedAgents() {
-        logger.info("🔍 Fetching approved agents");
-        Role agentRole = roleRepository.findByRoleName("AGENT")
-                .orElseThrow(() -> new RuntimeException("Role AGENT not found"));
-
-        List<User> approvedAgents = userRepository.findByRoleAndIsApprovedTrue(agentRole);
-        logger.info("✅ Found {} approved agents", approvedAgents.size());
-        return approvedAgents;
+    public UserSummary getUserSummary(Long userId) {
+        return userRepository.findSummaryById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    // Prefix match so the name / email indexes can be range-scanned; user wildcards are escaped
+    private static String toPrefix(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        return search.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
+
+    private static UserDirectoryPage toDirectoryPage(Page<UserSummary> page) {
+        return new UserDirectoryPage(page.getNumber(), page.getSize(), page.getTotalElements(), page.getContent());
     }
 
     @Override
@@ -145,7 +173,7 @@ public class AuthServiceImpl implements AuthService {
         User agent = userRepository.findById(agentId)
                 .orElseThrow(() -> new RuntimeException("Agent not found"));
 
-        if (!agent.getRole().getRoleName().equals("AGENT")) {
+        if (!roleRegistry.is(agent, RoleRegistry.AGENT)) {
             throw new RuntimeException("User is not an agent");
         }
 
@@ -154,23 +182,26 @@ public class AuthServiceImpl implements AuthService {
         agent.setApprovedBy(adminName);
 
         User approvedAgent = userRepository.save(agent);
+        moderationService.dequeue(ModerationItemType.AGENT, agentId);
         logger.info("✅ Agent approved: {} (by {})", agent.getEmail(), adminName);
         return approvedAgent;
     }
 
     @Override
-    public void rejectAgent(Long agentId) {
+    public User rejectAgent(Long agentId) {
         logger.info("❌ Rejecting agent (ID: {})", agentId);
 
         User agent = userRepository.findById(agentId)
                 .orElseThrow(() -> new RuntimeException("Agent not found"));
 
-        if (!agent.getRole().getRoleName().equals("AGENT")) {
+        if (!roleRegistry.is(agent, RoleRegistry.AGENT)) {
             throw new RuntimeException("User is not an agent");
         }
 
         userRepository.deleteById(agentId);
+        moderationService.dequeue(ModerationItemType.AGENT, agentId);
         logger.info("✅ Agent registration rejected and deleted: {}", agent.getEmail());
+        return agent;
     }
 
     @Override
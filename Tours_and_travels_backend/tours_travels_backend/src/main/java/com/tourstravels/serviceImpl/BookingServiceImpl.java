@@ -1,23 +1,44 @@
 package com.tourstravels.serviceImpl;
 
+import com.tourstravels.dto.BulkBookingDecisionResponse;
+import com.tourstravels.dto.CustomerBookingView;
 import com.tourstravels.entity.Booking;
 import com.tourstravels.entity.TravelPackage;
 import com.tourstravels.entity.User;
+import com.tourstravels.enums.BookingDecisionOutcome;
 import com.tourstravels.enums.BookingStatus;
 import com.tourstravels.enums.PackageStatus;
 import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.repository.ArchivedBookingRepository;
 import com.tourstravels.repository.BookingRepository;
 import com.tourstravels.repository.PackageRepository;
 import com.tourstravels.repository.UserRepository;
 import com.tourstravels.service.BookingService;
+import com.tourstravels.service.CouponService;
+import com.tourstravels.service.LoyaltyService;
+import com.tourstravels.util.ConcurrencyRetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -26,17 +47,53 @@ public class BookingServiceImpl implements BookingService {
     private static final Logger logger = LoggerFactory.getLogger(BookingServiceImpl.class);
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final PackageRepository packageRepository;
     private final UserRepository userRepository;
+    private final CouponService couponService;
+    private final LoyaltyService loyaltyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int bulkChunkSize;
+    private final int bulkMaxAttempts;
+    private final long bulkRetryBackoffMillis;
+
+    // Statuses an admin decision can no longer change
+    private static final Set<BookingStatus> CANCELLED_STATUSES =
+            EnumSet.of(BookingStatus.CANCELLED, BookingStatus.CANCELLED_BY_CUSTOMER);
+
+    // Lifecycle end states set by the sweeper
+    private static final Set<BookingStatus> FINISHED_STATUSES =
+            EnumSet.of(BookingStatus.EXPIRED, BookingStatus.COMPLETED);
+
+    private static final Set<BookingStatus> CLOSED_STATUSES = EnumSet.of(
+            BookingStatus.CANCELLED, BookingStatus.CANCELLED_BY_CUSTOMER,
+            BookingStatus.EXPIRED, BookingStatus.COMPLETED);
 
     public BookingServiceImpl(
             BookingRepository bookingRepository,
+            ArchivedBookingRepository archivedBookingRepository,
             PackageRepository packageRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            CouponService couponService,
+            LoyaltyService loyaltyService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${booking.bulk.chunk-size:500}") int bulkChunkSize,
+            @Value("${booking.bulk.max-attempts:3}") int bulkMaxAttempts,
+            @Value("${booking.bulk.retry-backoff-ms:50}") long bulkRetryBackoffMillis
     ) {
         this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
         this.packageRepository = packageRepository;
         this.userRepository = userRepository;
+        this.couponService = couponService;
+        this.loyaltyService = loyaltyService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkChunkSize = bulkChunkSize;
+        this.bulkMaxAttempts = bulkMaxAttempts;
+        this.bulkRetryBackoffMillis = bulkRetryBackoffMillis;
     }
 
     /* CUSTOMER */
@@ -46,6 +103,19 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findByUserUserId(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerBookingView> getBookingViewsByUser(Long userId, boolean includeArchived) {
+        List<CustomerBookingView> views = bookingRepository.findViewsByUserId(userId);
+        if (!includeArchived) {
+            return views;
+        }
+        List<CustomerBookingView> all = new ArrayList<>(views);
+        all.addAll(archivedBookingRepository.findViewsByUserId(userId));
+        all.sort(Comparator.comparing(CustomerBookingView::getId).reversed());
+        return all;
+    }
+
     @Override
     public Booking createBooking(Booking booking) {
 
@@ -98,10 +168,28 @@ public class BookingServiceImpl implements BookingService {
         booking.setUser(customer);
         booking.setTourPackage(travelPackage);
         booking.setAmount(BigDecimal.valueOf(travelPackage.getPrice()));
+
+        // coupon caps are counted here and given back if this transaction rolls back
+        CouponService.Redemption redemption = couponService.redeem(
+                booking.getCouponCode(), customer.getUserId(), booking.getAmount());
+        booking.setCouponCode(redemption != null ? redemption.code() : null);
+        booking.setDiscountAmount(redemption != null ? redemption.discount() : null);
+        if (redemption != null) {
+            booking.setAmount(booking.getAmount().subtract(redemption.discount()));
+        }
+
+        // loyalty points are checked against the balance once the booking has an id
+        long points = booking.getPointsRedeemed() != null ? booking.getPointsRedeemed() : 0L;
+        booking.setAmount(booking.getAmount().subtract(loyaltyService.quoteRedemption(points, booking.getAmount())));
+        booking.setPointsRedeemed(points > 0 ? points : null);
+
         booking.setStatus(BookingStatus.PENDING);
         booking.setPaymentStatus(PaymentStatus.PENDING);
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        loyaltyService.redeem(customer.getUserId(), saved.getId(), points);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(saved, null));
+        return saved;
     }
 
     
@@ -123,13 +211,26 @@ public class BookingServiceImpl implements BookingService {
             throw new RuntimeException("Booking already cancelled");
         }
 
+        // Expired or completed bookings are closed
+        if (FINISHED_STATUSES.contains(booking.getStatus())) {
+            throw new RuntimeException("Booking is already " + booking.getStatus().name().toLowerCase());
+        }
+
         // Payment completed → cannot cancel
         if (booking.getPaymentStatus() == PaymentStatus.SUCCESS) {
             throw new RuntimeException("Cannot cancel booking after payment");
         }
 
+        // Charge still at the gateway → wait for its outcome
+        if (bookingRepository.existsPaymentInStatus(bookingId, PaymentStatus.PENDING)) {
+            throw new RuntimeException("Payment is being processed, try again shortly");
+        }
+
+        BookingStatus oldStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED_BY_CUSTOMER);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(saved, oldStatus));
+        return saved;
     }
 
 
@@ -146,10 +247,39 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Booking agentDecision(Long bookingId, String decision) {
-        throw new UnsupportedOperationException(
-                "Agents cannot make booking decisions"
-        );
+    public Booking agentDecision(Long bookingId, String agentEmail, String decision) {
+
+        User agent = userRepository.findByEmail(agentEmail)
+                .orElseThrow(() -> new RuntimeException("Agent not found"));
+
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+
+        // Verify booking belongs to agent's package
+        if (!agent.getUserId().equals(booking.getAgentId())) {
+            throw new AccessDeniedException("Unauthorized");
+        }
+
+        // Agents only review new bookings; a closed or already reviewed one is never reopened
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new RuntimeException("Booking is already " + booking.getStatus().name().toLowerCase());
+        }
+
+        BookingStatus oldStatus = booking.getStatus();
+        switch (decision.toUpperCase()) {
+            case "APPROVE":
+                booking.setStatus(BookingStatus.AGENT_APPROVED);
+                break;
+            case "REJECT":
+                booking.setStatus(BookingStatus.AGENT_REJECTED);
+                break;
+            default:
+                throw new RuntimeException("Invalid agent decision");
+        }
+
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(saved, oldStatus));
+        return saved;
     }
 
     /* ADMIN */
@@ -165,20 +295,141 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public Booking adminDecision(Long bookingId, String decision) {
 
+        BookingStatus target = toAdminTarget(decision);
+
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+        switch (evaluateAdminDecision(booking.getStatus(), booking.getPaymentStatus(), target)) {
+            case SKIPPED_ALREADY_CANCELLED:
+                throw new RuntimeException("Booking already cancelled");
+            case SKIPPED_ALREADY_FINISHED:
+                throw new RuntimeException("Booking is already " + booking.getStatus().name().toLowerCase());
+            case SKIPPED_PAYMENT_PENDING:
+                throw new RuntimeException("Payment must be completed before confirming booking");
+            default:
+                break;
+        }
+
+        BookingStatus oldStatus = booking.getStatus();
+        booking.setStatus(target);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(saved, oldStatus));
+        return saved;
+    }
+
+    // Each chunk runs in its own short transaction, so a large batch never
+    // holds row locks for the whole request.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkBookingDecisionResponse bulkAdminDecision(List<Long> bookingIds, String decision) {
+
+        BookingStatus target = toAdminTarget(decision);
+
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            throw new RuntimeException("At least one booking ID is required");
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(bookingIds));
+        logger.info("📦 Bulk admin decision {} for {} bookings (chunk size {})",
+                target, ids.size(), bulkChunkSize);
+
+        Map<Long, BookingDecisionOutcome> outcomes = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+            // A chunk that collides with a concurrent single-booking update is rolled back and re-run
+            Map<Long, BookingDecisionOutcome> chunkOutcomes = ConcurrencyRetry.execute(
+                    "Bulk admin decision chunk", bulkMaxAttempts, bulkRetryBackoffMillis,
+                    () -> transactionTemplate.execute(status -> applyDecisionChunk(chunk, target)));
+            outcomes.putAll(chunkOutcomes);
+        }
+
+        long applied = outcomes.values().stream()
+                .filter(o -> o == BookingDecisionOutcome.APPLIED).count();
+        long notFound = outcomes.values().stream()
+                .filter(o -> o == BookingDecisionOutcome.NOT_FOUND).count();
+        long skipped = outcomes.size() - applied - notFound;
+
+        logger.info("✅ Bulk admin decision {} - applied: {}, skipped: {}, not found: {}",
+                target, applied, skipped, notFound);
+        return new BulkBookingDecisionResponse(decision.toUpperCase(), applied, skipped, notFound, outcomes);
+    }
+
+    private Map<Long, BookingDecisionOutcome> applyDecisionChunk(List<Long> chunk, BookingStatus target) {
+
+        Map<Long, BookingDecisionOutcome> outcomes = new LinkedHashMap<>();
+        for (Long id : chunk) {
+            outcomes.put(id, BookingDecisionOutcome.NOT_FOUND);
+        }
+
+        // Classify with the same rules as the single-item path
+        Map<Long, BookingRepository.StatusView> eligibleViews = new LinkedHashMap<>();
+        for (BookingRepository.StatusView view : bookingRepository.findStatusByIdIn(chunk)) {
+            BookingDecisionOutcome outcome =
+                    evaluateAdminDecision(view.getStatus(), view.getPaymentStatus(), target);
+            outcomes.put(view.getId(), outcome);
+            if (outcome == BookingDecisionOutcome.APPLIED) {
+                eligibleViews.put(view.getId(), view);
+            }
+        }
+        Set<Long> eligible = eligibleViews.keySet();
+
+        if (eligible.isEmpty()) {
+            return outcomes;
+        }
+
+        // The guards are repeated in the UPDATE so a row changed since the read is not overwritten
+        int updated = target == BookingStatus.CONFIRMED
+                ? bookingRepository.updateStatusForPaidIds(
+                        eligible, target, CLOSED_STATUSES, PaymentStatus.SUCCESS)
+                : bookingRepository.updateStatusForIds(eligible, target, CLOSED_STATUSES);
+
+        if (updated != eligible.size()) {
+            for (BookingRepository.StatusView view : bookingRepository.findStatusByIdIn(eligible)) {
+                if (view.getStatus() != target) {
+                    outcomes.put(view.getId(),
+                            evaluateAdminDecision(view.getStatus(), view.getPaymentStatus(), target));
+                }
+            }
+        }
+
+        for (BookingRepository.StatusView view : eligibleViews.values()) {
+            if (outcomes.get(view.getId()) == BookingDecisionOutcome.APPLIED) {
+                eventPublisher.publishEvent(new BookingStatusChangedEvent(
+                        view.getId(), view.getCustomerId(), view.getPackageId(), view.getAgentId(),
+                        view.getStatus(), target, view.getPaymentStatus()));
+            }
+        }
+        return outcomes;
+    }
+
+    private static BookingStatus toAdminTarget(String decision) {
+        if (decision == null) {
+            throw new RuntimeException("Invalid admin decision");
+        }
         switch (decision.toUpperCase()) {
             case "CONFIRM":
-                booking.setStatus(BookingStatus.CONFIRMED);
-                break;
+                return BookingStatus.CONFIRMED;
             case "CANCEL":
-                booking.setStatus(BookingStatus.CANCELLED);
-                break;
+                return BookingStatus.CANCELLED;
             default:
                 throw new RuntimeException("Invalid admin decision");
         }
+    }
 
-        return bookingRepository.save(booking);
+    // Single source of truth for admin transitions, shared by single and bulk decisions
+    private static BookingDecisionOutcome evaluateAdminDecision(
+            BookingStatus current, PaymentStatus paymentStatus, BookingStatus target) {
+
+        if (CANCELLED_STATUSES.contains(current)) {
+            return BookingDecisionOutcome.SKIPPED_ALREADY_CANCELLED;
+        }
+        if (FINISHED_STATUSES.contains(current)) {
+            return BookingDecisionOutcome.SKIPPED_ALREADY_FINISHED;
+        }
+        if (target == BookingStatus.CONFIRMED && paymentStatus != PaymentStatus.SUCCESS) {
+            return BookingDecisionOutcome.SKIPPED_PAYMENT_PENDING;
+        }
+        return BookingDecisionOutcome.APPLIED;
     }
 }
@@ -0,0 +1,99 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.config.CacheConfig;
+import com.tourstravels.dto.BookingStatusSummary;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.service.BookingStatsService;
+import com.tourstravels.service.OutboxSubscriber;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+public class BookingStatsServiceImpl implements BookingStatsService, OutboxSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatsServiceImpl.class);
+
+    private final BookingRepository bookingRepository;
+
+    public BookingStatsServiceImpl(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKING_SUMMARIES, key = "'admin'")
+    public BookingStatusSummary getAdminSummary() {
+        logger.info("📊 Computing admin booking summary");
+        BookingStatusSummary summary = fromMatrix(bookingRepository.countByStatusAndPaymentStatus());
+        summary.setByPackage(groupCounts(bookingRepository.countByPackageAndStatus()));
+        summary.setByAgent(groupCounts(bookingRepository.countByAgentAndStatus()));
+        return summary;
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKING_SUMMARIES, key = "'agent:' + #agentId")
+    public BookingStatusSummary getAgentSummary(Long agentId) {
+        logger.info("📊 Computing booking summary for agent {}", agentId);
+        BookingStatusSummary summary =
+                fromMatrix(bookingRepository.countByStatusAndPaymentStatusForAgent(agentId));
+        summary.setByPackage(groupCounts(bookingRepository.countByPackageAndStatusForAgent(agentId)));
+        return summary;
+    }
+
+    @Override
+    public String getName() {
+        return "booking-summaries";
+    }
+
+    // Counts are cheap to recompute, so any committed booking, payment or
+    // package change drops them all; repeated deliveries only evict again
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKING_SUMMARIES, allEntries = true)
+    public void handle(Object event) {
+        logger.debug("♻️ {} delivered, evicting summaries", event.getClass().getSimpleName());
+    }
+
+    private static BookingStatusSummary fromMatrix(List<BookingRepository.StatusCountView> rows) {
+        long total = 0;
+        Map<BookingStatus, Long> byStatus = new EnumMap<>(BookingStatus.class);
+        Map<PaymentStatus, Long> byPaymentStatus = new EnumMap<>(PaymentStatus.class);
+        Map<BookingStatus, Map<PaymentStatus, Long>> matrix = new EnumMap<>(BookingStatus.class);
+
+        for (BookingRepository.StatusCountView row : rows) {
+            long count = row.getCount();
+            total += count;
+            byStatus.merge(row.getStatus(), count, Long::sum);
+            byPaymentStatus.merge(row.getPaymentStatus(), count, Long::sum);
+            matrix.computeIfAbsent(row.getStatus(), s -> new EnumMap<>(PaymentStatus.class))
+                    .put(row.getPaymentStatus(), count);
+        }
+        return new BookingStatusSummary(total, byStatus, byPaymentStatus, matrix, null, null);
+    }
+
+    private static List<BookingStatusSummary.GroupCounts> groupCounts(
+            List<BookingRepository.GroupStatusCountView> rows) {
+
+        Map<Long, BookingStatusSummary.GroupCounts> groups = new LinkedHashMap<>();
+        for (BookingRepository.GroupStatusCountView row : rows) {
+            BookingStatusSummary.GroupCounts group = groups.computeIfAbsent(row.getGroupId(),
+                    id -> new BookingStatusSummary.GroupCounts(
+                            id, row.getGroupName(), 0, new EnumMap<>(BookingStatus.class)));
+            group.setTotal(group.getTotal() + row.getCount());
+            group.getByStatus().merge(row.getStatus(), row.getCount(), Long::sum);
+        }
+        return new ArrayList<>(groups.values());
+    }
+}
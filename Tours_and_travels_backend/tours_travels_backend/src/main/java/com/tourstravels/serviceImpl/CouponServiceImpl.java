@@ -0,0 +1,437 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.entity.Coupon;
+import com.tourstravels.entity.CouponUsage;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.CouponRepository;
+import com.tourstravels.repository.CouponRepository.CouponStatsView;
+import com.tourstravels.repository.CouponUsageRepository;
+import com.tourstravels.service.CouponService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Coupon redemption without a hot row. Each node leases blocks of redemptions
+// from coupons.allocated with a conditional UPDATE and hands them out from
+// striped in-memory counters, so the coupon row is touched once per block
+// instead of once per booking. Only leased permits are ever handed out, which
+// keeps the global cap exact; a node that dies loses its unused permits, so a
+// cap can be under-delivered by at most one block per node, never exceeded.
+// The per-customer cap is a conditional increment on that customer's own row.
+// A booking that is rejected, cancelled or expires gives both back.
+@Service
+public class CouponServiceImpl implements CouponService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CouponServiceImpl.class);
+
+    private static final int LEASE_ATTEMPTS = 5;
+
+    private final CouponRepository couponRepository;
+    private final CouponUsageRepository usageRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final Counter redemptionCounter;
+    private final Counter leaseCounter;
+    private final int stripes;
+    private final long blockSize;
+    private final long idleMillis;
+    private final long termsTtlMillis;
+    private final long exhaustedRecheckMillis;
+
+    // Keyed by normalized code
+    private final Map<String, CouponPool> pools = new ConcurrentHashMap<>();
+
+    public CouponServiceImpl(
+            CouponRepository couponRepository,
+            CouponUsageRepository usageRepository,
+            BookingRepository bookingRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${coupon.lease.stripes:0}") int stripes,
+            @Value("${coupon.lease.block-size:50}") long blockSize,
+            @Value("${coupon.lease.idle-ms:60000}") long idleMillis,
+            @Value("${coupon.terms-ttl-ms:30000}") long termsTtlMillis,
+            @Value("${coupon.lease.exhausted-recheck-ms:1000}") long exhaustedRecheckMillis
+    ) {
+        this.couponRepository = couponRepository;
+        this.usageRepository = usageRepository;
+        this.bookingRepository = bookingRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.redemptionCounter = meterRegistry.counter("coupon.redemptions");
+        this.leaseCounter = meterRegistry.counter("coupon.leases");
+        int wanted = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        // Power of two so a thread id can be masked onto a stripe
+        this.stripes = Integer.highestOneBit(Math.max(1, wanted) * 2 - 1);
+        this.blockSize = Math.max(1, blockSize);
+        this.idleMillis = idleMillis;
+        this.termsTtlMillis = termsTtlMillis;
+        this.exhaustedRecheckMillis = exhaustedRecheckMillis;
+    }
+
+    /* ================= REDEEM ================= */
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Redemption redeem(String code, Long customerId, BigDecimal amount) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        CouponPool pool = pool(normalize(code));
+        Terms terms = pool.terms;
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!terms.active()
+                || (terms.validFrom() != null && now.isBefore(terms.validFrom()))
+                || (terms.validUntil() != null && now.isAfter(terms.validUntil()))) {
+            throw new RuntimeException("Coupon is not active");
+        }
+
+        // Per customer first: it only locks this customer's row, and a
+        // rollback of the booking undoes it
+        ensureUsageRow(terms.id(), customerId);
+        if (usageRepository.incrementIfBelow(terms.id(), customerId, terms.perCustomerLimit()) == 0) {
+            throw new RuntimeException("Coupon usage limit reached");
+        }
+
+        if (!acquire(pool)) {
+            throw new RuntimeException("Coupon has been fully redeemed");
+        }
+        // The permit is spent only if the booking commits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    redemptionCounter.increment();
+                } else {
+                    pool.give();
+                }
+            }
+        });
+
+        BigDecimal discount = amount
+                .multiply(BigDecimal.valueOf(terms.discountPercent()))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        return new Redemption(terms.code(), discount);
+    }
+
+    // Runs in the transaction that closes the booking: the customer's use is
+    // given back with it, the global permit only once it has committed.
+    @EventListener
+    @Transactional
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.customerId() == null
+                || !event.newStatus().releasesDiscounts()
+                || (event.oldStatus() != null && event.oldStatus().releasesDiscounts())) {
+            return;
+        }
+        String code = bookingRepository.findCouponCodeById(event.bookingId());
+        if (code == null) {
+            return;
+        }
+        Coupon coupon = couponRepository.findByCode(code).orElse(null);
+        if (coupon == null) {
+            return;
+        }
+        usageRepository.decrementUsed(coupon.getId(), event.customerId());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                giveBack(coupon.getId(), code);
+            }
+        });
+        logger.info("🎟️ Coupon {} redemption returned by Booking {} ({})", code, event.bookingId(), event.newStatus());
+    }
+
+    // Into this node's pool when it has one, otherwise straight back to the coupon row
+    private void giveBack(Long couponId, String code) {
+        CouponPool pool = pools.get(code);
+        if (pool != null && pool.terms.id().equals(couponId)) {
+            pool.give();
+            return;
+        }
+        try {
+            leaseTransaction.executeWithoutResult(status -> couponRepository.release(couponId, 1));
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Could not return a redemption of coupon {}: {}", code, e.getMessage());
+        }
+    }
+
+    private CouponPool pool(String code) {
+        CouponPool pool = pools.get(code);
+        long now = System.currentTimeMillis();
+        if (pool != null && now - pool.terms.loadedAt() < termsTtlMillis) {
+            return pool;
+        }
+        Coupon coupon = couponRepository.findByCode(code)
+                .orElseThrow(() -> new RuntimeException("Invalid coupon code"));
+        Terms terms = Terms.of(coupon, now);
+        if (pool == null) {
+            pool = pools.computeIfAbsent(code, k -> new CouponPool(terms, stripes));
+        }
+        pool.terms = terms;
+        return pool;
+    }
+
+    private void ensureUsageRow(Long couponId, Long customerId) {
+        if (usageRepository.existsByCouponIdAndCustomerId(couponId, customerId)) {
+            return;
+        }
+        try {
+            leaseTransaction.executeWithoutResult(status -> usageRepository.saveAndFlush(
+                    CouponUsage.builder().couponId(couponId).customerId(customerId).used(0).build()));
+        } catch (DataIntegrityViolationException e) {
+            // A parallel booking of the same customer created it first
+        }
+    }
+
+    /* ================= LEASES ================= */
+
+    private boolean acquire(CouponPool pool) {
+        int stripe = stripe();
+        if (pool.tryTake(stripe)) {
+            return true;
+        }
+        synchronized (pool.refillLock) {
+            // Another thread may have refilled while this one waited
+            if (pool.tryTake(stripe)) {
+                return true;
+            }
+            if (System.currentTimeMillis() < pool.exhaustedUntil) {
+                return false;
+            }
+            long block = lease(pool.terms.id());
+            if (block == 0) {
+                pool.exhaustedUntil = System.currentTimeMillis() + exhaustedRecheckMillis;
+                return false;
+            }
+            // Keep one for this caller, spread the rest
+            pool.add(block - 1);
+            return true;
+        }
+    }
+
+    // Blocks shrink as the cap gets close so the tail is not parked on one node
+    private long lease(Long couponId) {
+        for (int attempt = 0; attempt < LEASE_ATTEMPTS; attempt++) {
+            Long block = leaseTransaction.execute(status -> {
+                Long left = couponRepository.findUnallocated(couponId);
+                if (left == null || left <= 0) {
+                    return 0L;
+                }
+                long n = Math.min(blockSize, Math.max(1, left / 4));
+                return couponRepository.allocate(couponId, n) == 1 ? n : -1L;
+            });
+            if (block != null && block >= 0) {
+                if (block > 0) {
+                    leaseCounter.increment();
+                }
+                return block;
+            }
+            // Another node took part of the remainder; re-read and retry
+        }
+        return 0;
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${coupon.lease.idle-ms:60000}",
+            fixedDelayString = "${coupon.lease.idle-ms:60000}")
+    public long releaseIdleLeases() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        long released = 0;
+        for (CouponPool pool : pools.values()) {
+            if (pool.lastUsed < cutoff) {
+                released += release(pool);
+            }
+        }
+        if (released > 0) {
+            logger.info("🎟️ Released {} unused coupon redemptions", released);
+        }
+        return released;
+    }
+
+    private long release(CouponPool pool) {
+        synchronized (pool.refillLock) {
+            long unused = pool.drain();
+            if (unused == 0) {
+                return 0;
+            }
+            try {
+                leaseTransaction.executeWithoutResult(status ->
+                        couponRepository.release(pool.terms.id(), unused));
+                return unused;
+            } catch (RuntimeException e) {
+                // Keep them; still allocated to this node in the database
+                pool.add(unused);
+                logger.warn("⚠️ Could not release coupon {} leases: {}", pool.terms.code(), e.getMessage());
+                return 0;
+            }
+        }
+    }
+
+    @PreDestroy
+    void releaseAll() {
+        pools.values().forEach(this::release);
+    }
+
+    /* ================= ADMIN ================= */
+
+    @Override
+    @Transactional
+    public Coupon createCoupon(Coupon coupon) {
+        if (coupon.getCode() == null || coupon.getCode().isBlank()) {
+            throw new RuntimeException("Coupon code is required");
+        }
+        if (coupon.getDiscountPercent() == null
+                || coupon.getDiscountPercent() < 1 || coupon.getDiscountPercent() > 100) {
+            throw new RuntimeException("Discount must be between 1 and 100 percent");
+        }
+        if (coupon.getMaxRedemptions() == null || coupon.getMaxRedemptions() < 1) {
+            throw new RuntimeException("Max redemptions must be positive");
+        }
+        if (coupon.getValidFrom() != null && coupon.getValidUntil() != null
+                && coupon.getValidUntil().isBefore(coupon.getValidFrom())) {
+            throw new RuntimeException("Coupon ends before it starts");
+        }
+        String code = normalize(coupon.getCode());
+        if (couponRepository.existsByCode(code)) {
+            throw new RuntimeException("Coupon code already exists");
+        }
+
+        coupon.setId(null);
+        coupon.setCode(code);
+        if (coupon.getPerCustomerLimit() == null || coupon.getPerCustomerLimit() < 1) {
+            coupon.setPerCustomerLimit(1);
+        }
+        coupon.setAllocated(0L);
+        coupon.setActive(true);
+        coupon.setCreatedAt(LocalDateTime.now());
+        return couponRepository.save(coupon);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CouponStatsView> getStats() {
+        return couponRepository.findStats();
+    }
+
+    // Committed before the local leases go back, since releasing updates the
+    // same row. Other nodes stop redeeming once their cached terms expire.
+    @Override
+    public void deactivate(Long couponId) {
+        Integer updated = leaseTransaction.execute(status -> couponRepository.deactivate(couponId));
+        if (updated == null || updated == 0) {
+            throw new RuntimeException("Coupon not found");
+        }
+        pools.entrySet().removeIf(entry -> {
+            if (!entry.getValue().terms.id().equals(couponId)) {
+                return false;
+            }
+            release(entry.getValue());
+            return true;
+        });
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private int stripe() {
+        return (int) Thread.currentThread().threadId() & (stripes - 1);
+    }
+
+    /* ================= STATE ================= */
+
+    private record Terms(Long id, String code, int discountPercent, int perCustomerLimit,
+                         boolean active, LocalDateTime validFrom, LocalDateTime validUntil, long loadedAt) {
+
+        static Terms of(Coupon coupon, long loadedAt) {
+            return new Terms(coupon.getId(), coupon.getCode(), coupon.getDiscountPercent(),
+                    coupon.getPerCustomerLimit(), Boolean.TRUE.equals(coupon.getActive()),
+                    coupon.getValidFrom(), coupon.getValidUntil(), loadedAt);
+        }
+    }
+
+    // Leased, not yet used redemptions of one coupon on this node
+    private static final class CouponPool {
+
+        final AtomicLongArray permits;
+        final Object refillLock = new Object();
+        volatile Terms terms;
+        volatile long lastUsed = System.currentTimeMillis();
+        volatile long exhaustedUntil;
+
+        CouponPool(Terms terms, int stripes) {
+            this.terms = terms;
+            this.permits = new AtomicLongArray(stripes);
+        }
+
+        // Own stripe first, then the others; never goes below zero
+        boolean tryTake(int start) {
+            lastUsed = System.currentTimeMillis();
+            int n = permits.length();
+            for (int i = 0; i < n; i++) {
+                int stripe = (start + i) & (n - 1);
+                long available = permits.get(stripe);
+                while (available > 0) {
+                    if (permits.compareAndSet(stripe, available, available - 1)) {
+                        return true;
+                    }
+                    available = permits.get(stripe);
+                }
+            }
+            return false;
+        }
+
+        void add(long count) {
+            int n = permits.length();
+            long share = count / n;
+            long rest = count % n;
+            for (int i = 0; i < n; i++) {
+                long add = share + (i < rest ? 1 : 0);
+                if (add > 0) {
+                    permits.addAndGet(i, add);
+                }
+            }
+        }
+
+        void give() {
+            permits.incrementAndGet((int) Thread.currentThread().threadId() & (permits.length() - 1));
+        }
+
+        long drain() {
+            long total = 0;
+            for (int i = 0; i < permits.length(); i++) {
+                total += permits.getAndSet(i, 0);
+            }
+            return total;
+        }
+    }
+}
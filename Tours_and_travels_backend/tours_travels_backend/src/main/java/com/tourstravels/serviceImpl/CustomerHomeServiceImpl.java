@@ -0,0 +1,148 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.dto.CustomerBookingView;
+import com.tourstravels.dto.CustomerHome;
+import com.tourstravels.dto.CustomerPaymentView;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+import com.tourstravels.service.BookingService;
+import com.tourstravels.service.CustomerHomeService;
+import com.tourstravels.service.PackageService;
+import com.tourstravels.service.PaymentService;
+
+import jakarta.annotation.PreDestroy;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// The customer is resolved once by the caller; the sections below only take
+// the user id, so they run on virtual threads without the security context.
+// All sections start together and each is awaited up to its own deadline,
+// which keeps the response time at the slowest section instead of the sum.
+// Every section holds a pooled connection while it runs, so a shared semaphore
+// caps how many run at once across requests and a burst of home requests
+// cannot drain the connection pool.
+@Service
+public class CustomerHomeServiceImpl implements CustomerHomeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerHomeServiceImpl.class);
+
+    private final BookingService bookingService;
+    private final PaymentService paymentService;
+    private final PackageService packageService;
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore sectionPermits;
+    private final long bookingsTimeoutMs;
+    private final long paymentsTimeoutMs;
+    private final long packagesTimeoutMs;
+
+    public CustomerHomeServiceImpl(
+            BookingService bookingService,
+            PaymentService paymentService,
+            PackageService packageService,
+            PlatformTransactionManager transactionManager,
+            @Value("${customer.home.max-concurrent-sections:6}") int maxConcurrentSections,
+            @Value("${customer.home.bookings-timeout-ms:2000}") long bookingsTimeoutMs,
+            @Value("${customer.home.payments-timeout-ms:2000}") long paymentsTimeoutMs,
+            @Value("${customer.home.packages-timeout-ms:3000}") long packagesTimeoutMs
+    ) {
+        this.bookingService = bookingService;
+        this.paymentService = paymentService;
+        this.packageService = packageService;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.sectionPermits = new Semaphore(Math.max(1, maxConcurrentSections), true);
+        this.bookingsTimeoutMs = bookingsTimeoutMs;
+        this.paymentsTimeoutMs = paymentsTimeoutMs;
+        this.packagesTimeoutMs = packagesTimeoutMs;
+    }
+
+    @Override
+    public CustomerHome getHome(User customer) {
+        long start = System.nanoTime();
+        Long userId = customer.getUserId();
+
+        Future<List<CustomerBookingView>> bookings =
+                submit(() -> bookingService.getBookingViewsByUser(userId, false));
+        Future<List<CustomerPaymentView>> payments =
+                submit(() -> paymentService.getPaymentViewsByUser(userId, false));
+        Future<List<TravelPackage>> packages = submit(this::loadPackages);
+
+        Map<String, String> unavailable = new LinkedHashMap<>();
+        CustomerHome home = new CustomerHome();
+        home.setProfile(customer);
+        home.setBookings(await("bookings", bookings, start, bookingsTimeoutMs, unavailable));
+        home.setPayments(await("payments", payments, start, paymentsTimeoutMs, unavailable));
+        home.setPackages(await("packages", packages, start, packagesTimeoutMs, unavailable));
+        home.setUnavailable(unavailable);
+        home.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return home;
+    }
+
+    // Waiting for a permit counts against the section's deadline; a cancelled
+    // section is interrupted out of the wait and never takes a connection
+    private <T> Future<T> submit(Callable<T> section) {
+        return executor.submit(() -> {
+            sectionPermits.acquire();
+            try {
+                return section.call();
+            } finally {
+                sectionPermits.release();
+            }
+        });
+    }
+
+    // Images are a lazy collection, so they are loaded here while the
+    // session is still open rather than during serialization on the caller
+    private List<TravelPackage> loadPackages() {
+        return readOnlyTx.execute(status -> {
+            List<TravelPackage> approved = packageService.getApprovedPackages();
+            approved.forEach(p -> Hibernate.initialize(p.getImageUrls()));
+            return approved;
+        });
+    }
+
+    // Waits until start + timeout; a late or failed section is cancelled and
+    // reported instead of failing the whole response
+    private <T> T await(String section, Future<T> future, long start, long timeoutMs,
+                        Map<String, String> unavailable) {
+        long remainingNanos = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs) - System.nanoTime();
+        try {
+            return future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("⏱️ Customer home section '{}' timed out after {} ms", section, timeoutMs);
+            unavailable.put(section, "timeout");
+        } catch (ExecutionException e) {
+            logger.error("❌ Customer home section '{}' failed: {}", section, e.getCause().getMessage());
+            unavailable.put(section, "error");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            unavailable.put(section, "interrupted");
+        }
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
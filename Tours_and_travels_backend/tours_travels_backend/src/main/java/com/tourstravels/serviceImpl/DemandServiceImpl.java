@@ -0,0 +1,208 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.dto.PackageDemandDay;
+import com.tourstravels.entity.PackageDailyDemand;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.repository.ArchivedBookingRepository;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.PackageDailyDemandRepository;
+import com.tourstravels.repository.PackageRepository;
+import com.tourstravels.service.DemandService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Maintains package_daily_demand: +1 on booking creation, and a move from
+// departing to cancelled when a booking drops out. Deltas are applied after the
+// booking commits; the backfill recomputes whole windows and repairs any drift.
+@Service
+public class DemandServiceImpl implements DemandService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DemandServiceImpl.class);
+
+    // Bookings that no longer travel
+    private static final Set<BookingStatus> DROPPED_STATUSES = EnumSet.of(
+            BookingStatus.CANCELLED, BookingStatus.CANCELLED_BY_CUSTOMER,
+            BookingStatus.AGENT_REJECTED, BookingStatus.EXPIRED);
+
+    private final PackageDailyDemandRepository demandRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final PackageRepository packageRepository;
+    private final TransactionTemplate writeTransaction;
+    private final int maxRangeDays;
+
+    public DemandServiceImpl(
+            PackageDailyDemandRepository demandRepository,
+            BookingRepository bookingRepository,
+            ArchivedBookingRepository archivedBookingRepository,
+            PackageRepository packageRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${demand.max-range-days:731}") int maxRangeDays
+    ) {
+        this.demandRepository = demandRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.packageRepository = packageRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    /* ================= READ ================= */
+
+    @Override
+    public List<PackageDemandDay> getPackageDemand(Long agentId, Long packageId, LocalDate from, LocalDate to) {
+
+        if (to.isBefore(from)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new RuntimeException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+
+        TravelPackage travelPackage = packageRepository.findById(packageId)
+                .orElseThrow(() -> new RuntimeException("Package not found"));
+        if (travelPackage.getAgent() == null || !agentId.equals(travelPackage.getAgent().getUserId())) {
+            throw new AccessDeniedException("Unauthorized");
+        }
+
+        Map<LocalDate, PackageDailyDemand> rows = new TreeMap<>();
+        for (PackageDailyDemand row
+                : demandRepository.findByPackageIdAndDemandDateBetweenOrderByDemandDate(packageId, from, to)) {
+            rows.put(row.getDemandDate(), row);
+        }
+
+        // Dense series so charts do not have to fill gaps
+        List<PackageDemandDay> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            PackageDailyDemand row = rows.get(day);
+            days.add(row == null
+                    ? new PackageDemandDay(day, 0, 0, 0, 0, 0, 0)
+                    : new PackageDemandDay(day, row.getBookedBookings(), row.getBookedTourists(),
+                            row.getDepartingBookings(), row.getDepartingTourists(),
+                            row.getCancelledBookings(), row.getCancelledTourists()));
+        }
+        return days;
+    }
+
+    /* ================= INCREMENTAL ================= */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        boolean created = event.oldStatus() == null;
+        boolean dropped = event.oldStatus() != null
+                && DROPPED_STATUSES.contains(event.newStatus())
+                && !DROPPED_STATUSES.contains(event.oldStatus());
+        if (!created && !dropped) {
+            return;
+        }
+
+        try {
+            BookingRepository.DemandSnapshotView booking = bookingRepository.findDemandSnapshot(event.bookingId());
+            if (booking == null) {
+                return;
+            }
+            long tourists = booking.getTouristsCount();
+            if (created) {
+                applyDelta(booking.getPackageId(), booking.getBookingDate(), 1, tourists, 0, 0, 0, 0);
+                applyDelta(booking.getPackageId(), booking.getTourStartDate(), 0, 0, 1, tourists, 0, 0);
+            } else {
+                applyDelta(booking.getPackageId(), booking.getTourStartDate(), 0, 0, -1, -tourists, 1, tourists);
+            }
+        } catch (RuntimeException e) {
+            // The booking already committed; the next backfill corrects the rollup
+            logger.warn("⚠️ Demand rollup update for booking {} failed: {}", event.bookingId(), e.getMessage());
+        }
+    }
+
+    private void applyDelta(Long packageId, LocalDate date, long bookedBookings, long bookedTourists,
+                            long departingBookings, long departingTourists,
+                            long cancelledBookings, long cancelledTourists) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                int updated = demandRepository.addDemand(packageId, date, bookedBookings, bookedTourists,
+                        departingBookings, departingTourists, cancelledBookings, cancelledTourists);
+                if (updated == 0) {
+                    demandRepository.saveAndFlush(PackageDailyDemand.builder()
+                            .packageId(packageId).demandDate(date)
+                            .bookedBookings(bookedBookings).bookedTourists(bookedTourists)
+                            .departingBookings(departingBookings).departingTourists(departingTourists)
+                            .cancelledBookings(cancelledBookings).cancelledTourists(cancelledTourists)
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another booking created the day row first; it exists now, so the update lands
+            writeTransaction.executeWithoutResult(status -> demandRepository.addDemand(packageId, date,
+                    bookedBookings, bookedTourists, departingBookings, departingTourists,
+                    cancelledBookings, cancelledTourists));
+        }
+    }
+
+    /* ================= BACKFILL ================= */
+
+    @Override
+    public int backfill(LocalDate from, LocalDate to) {
+        List<Long> packageIds = bookingRepository.findPackageIdsWithDemand(from, to);
+        logger.info("📈 Backfilling daily demand of {} packages between {} and {}", packageIds.size(), from, to);
+
+        // One short transaction per package keeps locks on the rollup table brief
+        for (Long packageId : packageIds) {
+            writeTransaction.executeWithoutResult(status -> backfillPackage(packageId, from, to));
+        }
+        logger.info("✅ Daily demand backfilled for {} packages", packageIds.size());
+        return packageIds.size();
+    }
+
+    private void backfillPackage(Long packageId, LocalDate from, LocalDate to) {
+        Map<LocalDate, PackageDailyDemand> days = new TreeMap<>();
+
+        List<BookingRepository.DailyCountView> booked = new ArrayList<>();
+        booked.addAll(bookingRepository.countByBookingDate(packageId, from, to));
+        booked.addAll(archivedBookingRepository.countByBookingDate(packageId, from, to));
+        for (BookingRepository.DailyCountView v : booked) {
+            PackageDailyDemand day = day(days, packageId, v.getDay());
+            day.setBookedBookings(day.getBookedBookings() + v.getBookings());
+            day.setBookedTourists(day.getBookedTourists() + v.getTourists());
+        }
+
+        List<BookingRepository.TourDateCountView> departing = new ArrayList<>();
+        departing.addAll(bookingRepository.countByTourDate(packageId, from, to, DROPPED_STATUSES));
+        departing.addAll(archivedBookingRepository.countByTourDate(packageId, from, to, DROPPED_STATUSES));
+        for (BookingRepository.TourDateCountView v : departing) {
+            PackageDailyDemand day = day(days, packageId, v.getDay());
+            day.setDepartingBookings(day.getDepartingBookings() + v.getBookings());
+            day.setDepartingTourists(day.getDepartingTourists() + v.getTourists());
+            day.setCancelledBookings(day.getCancelledBookings() + v.getDroppedBookings());
+            day.setCancelledTourists(day.getCancelledTourists() + v.getDroppedTourists());
+        }
+
+        demandRepository.deleteWindow(packageId, from, to);
+        demandRepository.flush();
+        demandRepository.saveAll(days.values());
+    }
+
+    private static PackageDailyDemand day(Map<LocalDate, PackageDailyDemand> days, Long packageId, LocalDate date) {
+        return days.computeIfAbsent(date, d -> new PackageDailyDemand(null, packageId, d, 0L, 0L, 0L, 0L, 0L, 0L));
+    }
+}
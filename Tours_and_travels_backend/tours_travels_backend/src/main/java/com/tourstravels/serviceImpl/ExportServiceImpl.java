@@ -0,0 +1,136 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.enums.ExportFormat;
+import com.tourstravels.service.ExportService;
+import com.tourstravels.util.ExportRowWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final String BOOKINGS_SQL =
+            "SELECT b.id, b.booking_date, b.tour_start_date, b.status, b.payment_status, "
+            + "b.amount, b.tourists_count, u.user_id, u.name, u.email, tp.id, tp.title, tp.agent_id "
+            + "FROM bookings b "
+            + "JOIN users u ON u.user_id = b.user_id "
+            + "JOIN travel_packages tp ON tp.id = b.package_id "
+            + "ORDER BY b.id";
+
+    private static final String[] BOOKING_COLUMNS = {
+            "bookingId", "bookingDate", "tourStartDate", "status", "paymentStatus",
+            "amount", "touristsCount", "customerId", "customerName", "customerEmail",
+            "packageId", "packageName", "agentId"
+    };
+
+    private static final String PAYMENTS_SQL =
+            "SELECT p.id, p.payment_status, b.id, b.amount, b.status, u.user_id, u.email, tp.id, tp.title "
+            + "FROM payments p "
+            + "JOIN bookings b ON b.id = p.booking_id "
+            + "JOIN users u ON u.user_id = b.user_id "
+            + "JOIN travel_packages tp ON tp.id = b.package_id "
+            + "ORDER BY p.id";
+
+    private static final String[] PAYMENT_COLUMNS = {
+            "paymentId", "status", "bookingId", "amount", "bookingStatus",
+            "customerId", "customerEmail", "packageId", "packageName"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportServiceImpl(
+            DataSource dataSource,
+            @Value("${export.fetch-size:1000}") int fetchSize
+    ) {
+        // Dedicated template so streaming only applies to exports. Its statements are
+        // forward-only / read-only; on MySQL a fetch size of Integer.MIN_VALUE makes
+        // Connector/J stream rows one at a time instead of buffering the whole result,
+        // without turning on server-side cursors for the rest of the application.
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(isMySql(dataSource) ? Integer.MIN_VALUE : fetchSize);
+    }
+
+    private static boolean isMySql(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+        } catch (MetaDataAccessException e) {
+            logger.warn("⚠️ Could not detect the export database, using fetch size only: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public long exportBookings(ExportFormat format, OutputStream out) {
+        return export("bookings", BOOKINGS_SQL, BOOKING_COLUMNS, format, out);
+    }
+
+    @Override
+    public long exportPayments(ExportFormat format, OutputStream out) {
+        return export("payments", PAYMENTS_SQL, PAYMENT_COLUMNS, format, out);
+    }
+
+    private long export(String name, String sql, String[] columns,
+                        ExportFormat format, OutputStream out) {
+
+        logger.info("📤 Exporting {} as {}", name, format);
+        long start = System.nanoTime();
+
+        try {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            ExportRowWriter rowWriter = new ExportRowWriter(writer, format, columns);
+            rowWriter.writeHeader();
+
+            Object[] values = new Object[columns.length];
+            jdbcTemplate.query(sql, (ResultSet rs) -> {
+                writeRow(rs, values, rowWriter);
+            });
+
+            writer.flush();
+
+            long rows = rowWriter.getRowCount();
+            double seconds = Math.max((System.nanoTime() - start) / 1_000_000_000.0, 0.001);
+            logger.info("✅ Exported {} {} rows in {}s ({} rows/s)",
+                    rows, name, String.format("%.2f", seconds), Math.round(rows / seconds));
+            return rows;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export of " + name + " failed", e);
+        }
+    }
+
+    // Row values are reused between rows, only the current row lives on the heap
+    private static void writeRow(ResultSet rs, Object[] values, ExportRowWriter rowWriter)
+            throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getObject(i + 1);
+        }
+        try {
+            rowWriter.writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.tourstravels.serviceImpl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tourstravels.entity.IdempotencyRecord;
+import com.tourstravels.repository.IdempotencyRecordRepository;
+import com.tourstravels.service.IdempotencyService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Two-tier idempotency store: a bounded in-memory cache answers repeats on this
+// node in O(1); the idempotency_keys table makes keys visible to every node and
+// doubles as the "in progress" lock through its primary key.
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate requiresNew;
+    private final Cache<String, StoredResponse> memory;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+
+    public IdempotencyServiceImpl(
+            IdempotencyRecordRepository recordRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.in-flight-timeout-seconds:60}") long inFlightTimeoutSeconds,
+            @Value("${idempotency.memory-max-entries:100000}") long memoryMaxEntries
+    ) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inFlightTimeout = Duration.ofSeconds(inFlightTimeoutSeconds);
+        this.memory = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(memoryMaxEntries)
+                .build();
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String scope, Long userId, String key, String requestHash,
+                                     Supplier<ResponseEntity<?>> action) {
+
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > 100) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Idempotency-Key is too long"));
+        }
+        String storeKey = scope + ":" + userId + ":" + key.trim();
+
+        // 1. Local replay
+        StoredResponse cached = memory.getIfPresent(storeKey);
+        if (cached != null) {
+            return replay(storeKey, cached, requestHash);
+        }
+
+        // 2. Claim the key (or find the finished response from another node / earlier run)
+        Optional<ResponseEntity<?>> existing = claim(storeKey, requestHash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        // 3. First time: run it and remember the outcome
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(storeKey);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            release(storeKey);
+            return response;
+        }
+
+        StoredResponse stored = new StoredResponse(
+                response.getStatusCode().value(), objectMapper.writeValueAsString(response.getBody()), requestHash);
+        requiresNew.executeWithoutResult(status -> recordRepository.findById(storeKey).ifPresent(record -> {
+            record.setResponseStatus(stored.status());
+            record.setResponseBody(stored.body());
+            recordRepository.save(record);
+        }));
+        memory.put(storeKey, stored);
+        return response;
+    }
+
+    private Optional<ResponseEntity<?>> claim(String storeKey, String requestHash) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            try {
+                requiresNew.executeWithoutResult(status -> recordRepository.saveAndFlush(
+                        new IdempotencyRecord(storeKey, requestHash, null, null, now, now.plus(ttl))));
+                return Optional.empty();
+            } catch (DataIntegrityViolationException duplicate) {
+                IdempotencyRecord record = recordRepository.findById(storeKey).orElse(null);
+                if (record == null) {
+                    continue; // released in between, try again
+                }
+                if (record.getResponseStatus() != null) {
+                    StoredResponse stored = new StoredResponse(
+                            record.getResponseStatus(), record.getResponseBody(), record.getRequestHash());
+                    memory.put(storeKey, stored);
+                    return Optional.of(replay(storeKey, stored, requestHash));
+                }
+                if (record.getCreatedAt().plus(inFlightTimeout).isBefore(now)) {
+                    logger.warn("⚠️ Taking over abandoned idempotency key {}", storeKey);
+                    release(storeKey);
+                    continue;
+                }
+                return Optional.of(ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("message", "A request with this Idempotency-Key is still in progress")));
+            }
+        }
+        return Optional.of(ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "A request with this Idempotency-Key is still in progress")));
+    }
+
+    private ResponseEntity<?> replay(String storeKey, StoredResponse stored, String requestHash) {
+        if (!Objects.equals(stored.requestHash(), requestHash)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT)
+                    .body(Map.of("message", "Idempotency-Key was already used for a different request"));
+        }
+        logger.info("⏭️ Replaying stored response for idempotency key {}", storeKey);
+        return ResponseEntity.status(stored.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stored.body());
+    }
+
+    private void release(String storeKey) {
+        requiresNew.executeWithoutResult(status -> recordRepository.deleteById(storeKey));
+    }
+
+    // Drops expired keys from the table in small batches
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = requiresNew.execute(status ->
+                    recordRepository.deleteExpired(LocalDateTime.now(), 1000));
+            total += deleted;
+        } while (deleted > 0);
+        if (total > 0) {
+            logger.info("🧹 Purged {} expired idempotency keys", total);
+        }
+    }
+
+    private record StoredResponse(int status, String body, String requestHash) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.entity.BookingTransition;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.TransitionType;
+import com.tourstravels.event.BookingPaymentRepairedEvent;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.BookingTransitionRepository;
+import com.tourstravels.service.JournalService;
+import com.tourstravels.util.TransactionBatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Appends every booking / payment transition to booking_transitions.
+// Transitions are collected per transaction and written as one JDBC batch just
+// before commit, so a bulk decision chunk or sweeper chunk costs one round trip
+// and the journal commits or rolls back together with the change it records.
+@Service
+public class JournalServiceImpl implements JournalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalServiceImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO booking_transitions "
+            + "(booking_id, transition, old_status, new_status, customer_id, package_id, agent_id, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BookingTransitionRepository transitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionBatch<BookingTransition> pending;
+
+    public JournalServiceImpl(
+            BookingTransitionRepository transitionRepository,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.transitionRepository = transitionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pending = new TransactionBatch<>(this::writeBatch);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingTransition> getBookingHistory(Long bookingId) {
+        return transitionRepository.findByBookingIdOrderById(bookingId);
+    }
+
+    @Override
+    @Transactional
+    public int importExistingBookings() {
+        int imported = transitionRepository.importUnjournaledBookings(TransitionType.IMPORTED);
+        logger.info("📥 Journaled current state of {} existing bookings", imported);
+        return imported;
+    }
+
+    /* ================= EVENT CAPTURE ================= */
+
+    // Plain @EventListener: runs inside the publishing transaction, not after it
+    @EventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        // Payment-only updates republish the booking with an unchanged status; the payment event covers them
+        if (event.oldStatus() != null && event.oldStatus() == event.newStatus()) {
+            return;
+        }
+        append(BookingTransition.builder()
+                .bookingId(event.bookingId())
+                .transition(toTransition(event.oldStatus(), event.newStatus()))
+                .oldStatus(event.oldStatus() != null ? event.oldStatus().name() : null)
+                .newStatus(event.newStatus().name())
+                .customerId(event.customerId())
+                .packageId(event.packageId())
+                .agentId(event.agentId())
+                .build());
+    }
+
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        TransitionType transition = switch (event.newStatus()) {
+            case SUCCESS -> TransitionType.PAID;
+            case REFUNDED -> TransitionType.REFUNDED;
+            case FAILED -> TransitionType.PAYMENT_FAILED;
+            default -> TransitionType.PAYMENT_PENDING;
+        };
+        append(BookingTransition.builder()
+                .bookingId(event.bookingId())
+                .transition(transition)
+                .oldStatus(event.oldStatus() != null ? event.oldStatus().name() : null)
+                .newStatus(event.newStatus().name())
+                .customerId(event.customerId())
+                .agentId(event.agentId())
+                .build());
+    }
+
+    // Reconciliation fixed the booking's copy of its payment status
+    @EventListener
+    public void onBookingPaymentRepaired(BookingPaymentRepairedEvent event) {
+        append(BookingTransition.builder()
+                .bookingId(event.bookingId())
+                .transition(TransitionType.PAYMENT_RECONCILED)
+                .oldStatus(event.oldPaymentStatus() != null ? event.oldPaymentStatus().name() : null)
+                .newStatus(event.newPaymentStatus().name())
+                .customerId(event.customerId())
+                .packageId(event.packageId())
+                .agentId(event.agentId())
+                .build());
+    }
+
+    private static TransitionType toTransition(BookingStatus oldStatus, BookingStatus newStatus) {
+        if (oldStatus == null) {
+            return TransitionType.CREATED;
+        }
+        return switch (newStatus) {
+            case AGENT_APPROVED -> TransitionType.AGENT_APPROVED;
+            case AGENT_REJECTED -> TransitionType.AGENT_REJECTED;
+            case CONFIRMED -> TransitionType.CONFIRMED;
+            case CANCELLED_BY_CUSTOMER -> TransitionType.CANCELLED_BY_CUSTOMER;
+            case CANCELLED -> TransitionType.CANCELLED_BY_ADMIN;
+            case EXPIRED -> TransitionType.EXPIRED;
+            case COMPLETED -> TransitionType.COMPLETED;
+            case PENDING -> TransitionType.CREATED;
+        };
+    }
+
+    /* ================= BATCHING ================= */
+
+    private void append(BookingTransition transition) {
+        pending.add(transition);
+    }
+
+    private void writeBatch(List<BookingTransition> batch) {
+        // Stamped at insert time, which is what JournalProjector's settle window relies on
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, t) -> {
+            ps.setLong(1, t.getBookingId());
+            ps.setString(2, t.getTransition().name());
+            ps.setString(3, t.getOldStatus());
+            ps.setString(4, t.getNewStatus());
+            setNullableLong(ps, 5, t.getCustomerId());
+            setNullableLong(ps, 6, t.getPackageId());
+            setNullableLong(ps, 7, t.getAgentId());
+            ps.setTimestamp(8, now);
+        });
+        logger.debug("🧾 Journaled {} transitions", batch.size());
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
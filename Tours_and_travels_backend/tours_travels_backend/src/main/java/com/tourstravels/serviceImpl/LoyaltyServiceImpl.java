@@ -0,0 +1,211 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.config.CacheConfig;
+import com.tourstravels.dto.LoyaltySummary;
+import com.tourstravels.entity.LoyaltyBalance;
+import com.tourstravels.entity.LoyaltyEntry;
+import com.tourstravels.enums.LoyaltyEntryType;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.LoyaltyBalanceRepository;
+import com.tourstravels.repository.LoyaltyEntryRepository;
+import com.tourstravels.repository.PaymentRepository;
+import com.tourstravels.service.LoyaltyService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+// Loyalty points. Every change is a ledger entry plus a delta on the user's
+// materialized balance in the same transaction as the payment or booking
+// that caused it, so the two commit or roll back together. Balance reads go
+// through a per-user cache that is evicted once the change has committed.
+@Service
+public class LoyaltyServiceImpl implements LoyaltyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoyaltyServiceImpl.class);
+
+    private final LoyaltyEntryRepository entryRepository;
+    private final LoyaltyBalanceRepository balanceRepository;
+    private final PaymentRepository paymentRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate rowTransaction;
+    private final BigDecimal earnRate;
+    private final BigDecimal pointValue;
+    private final int maxRedeemPercent;
+    private final int recentEntries;
+
+    public LoyaltyServiceImpl(
+            LoyaltyEntryRepository entryRepository,
+            LoyaltyBalanceRepository balanceRepository,
+            PaymentRepository paymentRepository,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${loyalty.earn-rate:0.05}") BigDecimal earnRate,
+            @Value("${loyalty.point-value:0.10}") BigDecimal pointValue,
+            @Value("${loyalty.max-redeem-percent:50}") int maxRedeemPercent,
+            @Value("${loyalty.recent-entries:20}") int recentEntries
+    ) {
+        this.entryRepository = entryRepository;
+        this.balanceRepository = balanceRepository;
+        this.paymentRepository = paymentRepository;
+        this.cacheManager = cacheManager;
+        this.rowTransaction = new TransactionTemplate(transactionManager);
+        this.rowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.earnRate = earnRate;
+        this.pointValue = pointValue;
+        this.maxRedeemPercent = maxRedeemPercent;
+        this.recentEntries = recentEntries;
+    }
+
+    /* ================= READ ================= */
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.LOYALTY_BALANCES, key = "#userId")
+    @Transactional(readOnly = true)
+    public long getBalance(Long userId) {
+        return balanceRepository.findById(userId).map(LoyaltyBalance::getBalance).orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LoyaltySummary getSummary(Long userId) {
+        long balance = balanceRepository.findById(userId).map(LoyaltyBalance::getBalance).orElse(0L);
+        return new LoyaltySummary(balance, pointValue,
+                entryRepository.findRecent(userId, PageRequest.of(0, recentEntries)));
+    }
+
+    /* ================= REDEEM ================= */
+
+    @Override
+    public BigDecimal quoteRedemption(long points, BigDecimal amount) {
+        if (points < 0) {
+            throw new RuntimeException("Points to redeem cannot be negative");
+        }
+        BigDecimal discount = pointValue.multiply(BigDecimal.valueOf(points)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal allowed = amount.multiply(BigDecimal.valueOf(maxRedeemPercent))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.DOWN);
+        if (discount.compareTo(allowed) > 0) {
+            throw new RuntimeException("Points can cover at most " + maxRedeemPercent + "% of the amount");
+        }
+        return discount;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void redeem(Long userId, Long bookingId, long points) {
+        if (points <= 0) {
+            return;
+        }
+        if (balanceRepository.deductIfEnough(userId, points, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Not enough loyalty points");
+        }
+        append(userId, LoyaltyEntryType.REDEEMED, -points, null, bookingId);
+    }
+
+    /* ================= EVENTS ================= */
+
+    // Plain @EventListener: points move inside the payment's own transaction
+    @EventListener
+    @Transactional
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.customerId() == null || event.oldStatus() == event.newStatus()) {
+            return;
+        }
+        if (event.newStatus() == PaymentStatus.SUCCESS) {
+            PaymentRepository.ChargeView payment = paymentRepository.findChargeView(event.paymentId());
+            long points = payment == null ? 0
+                    : payment.getAmount().multiply(earnRate).setScale(0, RoundingMode.DOWN).longValue();
+            if (points > 0) {
+                credit(event.customerId(), LoyaltyEntryType.EARNED, points, event.paymentId(), event.bookingId());
+            }
+        } else if (event.newStatus() == PaymentStatus.REFUNDED) {
+            // Points already spent are still taken back; the balance may go negative
+            entryRepository.findByPaymentIdAndType(event.paymentId(), LoyaltyEntryType.EARNED)
+                    .ifPresent(earned -> credit(event.customerId(), LoyaltyEntryType.REVOKED,
+                            -earned.getPoints(), event.paymentId(), event.bookingId()));
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.customerId() == null
+                || !event.newStatus().releasesDiscounts()
+                || (event.oldStatus() != null && event.oldStatus().releasesDiscounts())) {
+            return;
+        }
+        entryRepository.findByBookingIdAndType(event.bookingId(), LoyaltyEntryType.REDEEMED)
+                .filter(redeemed -> !entryRepository.existsByBookingIdAndType(
+                        event.bookingId(), LoyaltyEntryType.RESTORED))
+                .ifPresent(redeemed -> credit(event.customerId(), LoyaltyEntryType.RESTORED,
+                        -redeemed.getPoints(), null, event.bookingId()));
+    }
+
+    /* ================= LEDGER ================= */
+
+    private void credit(Long userId, LoyaltyEntryType type, long points, Long paymentId, Long bookingId) {
+        if (balanceRepository.addPoints(userId, points, LocalDateTime.now()) == 0) {
+            ensureBalanceRow(userId);
+            balanceRepository.addPoints(userId, points, LocalDateTime.now());
+        }
+        append(userId, type, points, paymentId, bookingId);
+    }
+
+    // Created empty in its own transaction so a race on the first entry cannot
+    // roll back the payment; the delta is then applied in the caller's
+    private void ensureBalanceRow(Long userId) {
+        try {
+            rowTransaction.executeWithoutResult(status -> balanceRepository.saveAndFlush(
+                    LoyaltyBalance.builder().userId(userId).balance(0L).updatedAt(LocalDateTime.now()).build()));
+        } catch (DataIntegrityViolationException e) {
+            // Another transaction created it first
+        }
+    }
+
+    private void append(Long userId, LoyaltyEntryType type, long points, Long paymentId, Long bookingId) {
+        entryRepository.save(LoyaltyEntry.builder()
+                .userId(userId)
+                .type(type)
+                .points(points)
+                .paymentId(paymentId)
+                .bookingId(bookingId)
+                .createdAt(LocalDateTime.now())
+                .build());
+        evictAfterCommit(userId);
+        logger.info("⭐ {} {} points for user {}", type, points, userId);
+    }
+
+    // Evicting before commit would let a concurrent read cache the old balance again
+    private void evictAfterCommit(Long userId) {
+        Cache cache = cacheManager.getCache(CacheConfig.LOYALTY_BALANCES);
+        if (cache == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(userId);
+            }
+        });
+    }
+}
@@ -0,0 +1,214 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.dto.DepartureManifest;
+import com.tourstravels.dto.DepartureSummary;
+import com.tourstravels.entity.ManifestEntry;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.ExportFormat;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.ManifestEntryRepository;
+import com.tourstravels.repository.PackageRepository;
+import com.tourstravels.service.ManifestService;
+import com.tourstravels.util.ExportRowWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Departure manifests are kept in departure_manifest_entries, one row per
+// travelling booking. Booking and payment events re-copy the affected row after
+// commit, and DepartureManifestRebuilder re-copies upcoming departures nightly
+// to repair anything an event missed. Reads never write.
+@Service
+public class ManifestServiceImpl implements ManifestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ManifestServiceImpl.class);
+
+    // Bookings that still put a passenger on the departure
+    private static final Set<BookingStatus> TRAVELLING_STATUSES = EnumSet.of(
+            BookingStatus.PENDING, BookingStatus.AGENT_APPROVED,
+            BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+    private static final String[] CSV_COLUMNS = {
+            "booking_id", "customer_name", "customer_email", "customer_phone",
+            "tourists_count", "booking_status", "payment_status", "amount"
+    };
+
+    private final ManifestEntryRepository manifestEntryRepository;
+    private final BookingRepository bookingRepository;
+    private final PackageRepository packageRepository;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int maxPageSize;
+    private final int csvChunkSize;
+
+    public ManifestServiceImpl(
+            ManifestEntryRepository manifestEntryRepository,
+            BookingRepository bookingRepository,
+            PackageRepository packageRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${manifest.max-page-size:500}") int maxPageSize,
+            @Value("${manifest.csv-chunk-size:500}") int csvChunkSize
+    ) {
+        this.manifestEntryRepository = manifestEntryRepository;
+        this.bookingRepository = bookingRepository;
+        this.packageRepository = packageRepository;
+        // Event listeners run after the booking transaction committed, so refreshes need their own
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxPageSize = maxPageSize;
+        this.csvChunkSize = csvChunkSize;
+    }
+
+    /* ================= READ ================= */
+
+    @Override
+    public List<DepartureSummary> getDepartures(Long agentId, LocalDate from, LocalDate to) {
+        return manifestEntryRepository.departuresForAgent(agentId, from, to, PaymentStatus.SUCCESS)
+                .stream()
+                .map(v -> new DepartureSummary(v.getPackageId(), v.getTourStartDate(),
+                        v.getBookings(), v.getTourists(), v.getPaidTourists()))
+                .toList();
+    }
+
+    @Override
+    public DepartureManifest getManifest(Long agentId, Long packageId, LocalDate date, int page, int size) {
+
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        int pageNumber = Math.max(page, 0);
+
+        return readTransaction.execute(status -> {
+            TravelPackage travelPackage = requireOwnedPackage(agentId, packageId);
+            ManifestEntryRepository.TotalsView totals =
+                    manifestEntryRepository.totalsForDeparture(packageId, date, PaymentStatus.SUCCESS);
+            List<ManifestEntry> entries = manifestEntryRepository.findByPackageIdAndTourStartDateOrderByBookingId(
+                    packageId, date, PageRequest.of(pageNumber, pageSize));
+
+            return new DepartureManifest(packageId, travelPackage.getTitle(), date,
+                    totals.getBookings(), totals.getTourists(), totals.getPaidTourists(),
+                    pageNumber, pageSize, entries);
+        });
+    }
+
+    @Override
+    public void checkPackageOwner(Long agentId, Long packageId) {
+        readTransaction.executeWithoutResult(status -> requireOwnedPackage(agentId, packageId));
+    }
+
+    // Walks the manifest in keyset chunks so the download never holds it all in memory
+    @Override
+    public long writeManifestCsv(Long packageId, LocalDate date, OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            ExportRowWriter rowWriter = new ExportRowWriter(writer, ExportFormat.CSV, CSV_COLUMNS);
+            rowWriter.writeHeader();
+
+            long afterId = 0L;
+            while (true) {
+                List<ManifestEntry> chunk = manifestEntryRepository.findDepartureChunk(
+                        packageId, date, afterId, PageRequest.of(0, csvChunkSize));
+                for (ManifestEntry e : chunk) {
+                    rowWriter.writeRow(e.getBookingId(), e.getCustomerName(), e.getCustomerEmail(),
+                            e.getCustomerPhone(), e.getTouristsCount(), e.getBookingStatus(),
+                            e.getPaymentStatus(), e.getAmount());
+                }
+                if (chunk.size() < csvChunkSize) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).getBookingId();
+            }
+
+            writer.flush();
+            logger.info("✅ Manifest of package {} on {} exported ({} rows)",
+                    packageId, date, rowWriter.getRowCount());
+            return rowWriter.getRowCount();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Manifest export failed", e);
+        }
+    }
+
+    /* ================= REFRESH ================= */
+
+    // Departures with travelling bookings, plus those that still have manifest lines
+    // (e.g. every booking was cancelled and an event refresh was missed)
+    @Override
+    public List<BookingRepository.DepartureView> findDeparturesBetween(LocalDate from, LocalDate to) {
+        Map<List<Object>, BookingRepository.DepartureView> departures = new LinkedHashMap<>();
+        for (BookingRepository.DepartureView v : bookingRepository.findDeparturesBetween(from, to, TRAVELLING_STATUSES)) {
+            departures.putIfAbsent(List.of(v.getPackageId(), v.getTourStartDate()), v);
+        }
+        for (BookingRepository.DepartureView v : manifestEntryRepository.findDeparturesBetween(from, to)) {
+            departures.putIfAbsent(List.of(v.getPackageId(), v.getTourStartDate()), v);
+        }
+        return new ArrayList<>(departures.values());
+    }
+
+    @Override
+    public int rebuildDeparture(Long packageId, LocalDate date) {
+        Integer copied = writeTransaction.execute(status -> {
+            manifestEntryRepository.deleteDeparture(packageId, date);
+            return manifestEntryRepository.copyDeparture(packageId, date, TRAVELLING_STATUSES);
+        });
+        return copied != null ? copied : 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        refreshBooking(event.bookingId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        refreshBooking(event.bookingId());
+    }
+
+    // The booking already committed, so a failed refresh is only logged; the nightly rebuild repairs it
+    private void refreshBooking(Long bookingId) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                manifestEntryRepository.deleteByBookingId(bookingId);
+                manifestEntryRepository.copyBooking(bookingId, TRAVELLING_STATUSES);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ Manifest refresh for booking {} failed: {}", bookingId, e.getMessage());
+        }
+    }
+
+    private TravelPackage requireOwnedPackage(Long agentId, Long packageId) {
+        TravelPackage travelPackage = packageRepository.findById(packageId)
+                .orElseThrow(() -> new RuntimeException("Package not found"));
+        if (travelPackage.getAgent() == null || !agentId.equals(travelPackage.getAgent().getUserId())) {
+            throw new AccessDeniedException("Unauthorized");
+        }
+        return travelPackage;
+    }
+}
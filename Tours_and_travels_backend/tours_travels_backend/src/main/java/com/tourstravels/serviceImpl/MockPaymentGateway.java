@@ -0,0 +1,61 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.service.PaymentGateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Local stand-in for a real provider, used until one is integrated and in tests.
+// Latency is uniform in [latency - jitter, latency + jitter]; a call then fails
+// with a retryable error at error-rate, or is declined at decline-rate.
+@Component
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "mock", matchIfMissing = true)
+public class MockPaymentGateway implements PaymentGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockPaymentGateway.class);
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final double declineRate;
+
+    public MockPaymentGateway(
+            @Value("${payment.gateway.mock.latency-ms:300}") long latencyMillis,
+            @Value("${payment.gateway.mock.latency-jitter-ms:200}") long jitterMillis,
+            @Value("${payment.gateway.mock.error-rate:0.05}") double errorRate,
+            @Value("${payment.gateway.mock.decline-rate:0.02}") double declineRate
+    ) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = Math.min(jitterMillis, latencyMillis);
+        this.errorRate = errorRate;
+        this.declineRate = declineRate;
+    }
+
+    @Override
+    public ChargeResult charge(Long paymentId, BigDecimal amount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(-jitterMillis, jitterMillis + 1) : 0);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GatewayUnavailableException("Interrupted");
+        }
+
+        double roll = random.nextDouble();
+        if (roll < errorRate) {
+            logger.debug("🧪 Mock gateway error for payment {}", paymentId);
+            throw new GatewayUnavailableException("Mock gateway unavailable");
+        }
+        if (roll < errorRate + declineRate) {
+            return ChargeResult.declined("Mock gateway declined the card");
+        }
+        return ChargeResult.approved("mock-" + paymentId);
+    }
+}
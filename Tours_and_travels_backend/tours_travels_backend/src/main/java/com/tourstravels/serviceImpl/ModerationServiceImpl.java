@@ -0,0 +1,411 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.dto.ModerationBatch;
+import com.tourstravels.dto.ModerationDecisionResponse;
+import com.tourstravels.dto.ModerationQueueDepth;
+import com.tourstravels.dto.UserSummary;
+import com.tourstravels.entity.ModerationTask;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+import com.tourstravels.enums.ModerationItemType;
+import com.tourstravels.enums.ModerationOutcome;
+import com.tourstravels.enums.PackageStatus;
+import com.tourstravels.event.PackageStatusChangedEvent;
+import com.tourstravels.repository.ModerationTaskRepository;
+import com.tourstravels.repository.PackageRepository;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.security.RoleRegistry;
+import com.tourstravels.service.ModerationService;
+import com.tourstravels.util.ConcurrencyRetry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Work queue for package and agent reviews. Each admin claims the next rows
+// with SELECT ... FOR UPDATE SKIP LOCKED and stamps them with a lease, so
+// concurrent reviewers get disjoint batches and never wait on each other's
+// claims. A lease that runs out puts its rows back in play. Decisions are
+// applied a batch at a time and remove the rows they settled.
+@Service
+public class ModerationServiceImpl implements ModerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModerationServiceImpl.class);
+
+    private final ModerationTaskRepository taskRepository;
+    private final PackageRepository packageRepository;
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final long leaseSeconds;
+    private final int maxBatchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final Map<ModerationItemType, AtomicLong> depth = new EnumMap<>(ModerationItemType.class);
+    // Epoch millis of the oldest queued row, 0 while the queue is empty
+    private final Map<ModerationItemType, AtomicLong> oldest = new EnumMap<>(ModerationItemType.class);
+
+    public ModerationServiceImpl(
+            ModerationTaskRepository taskRepository,
+            PackageRepository packageRepository,
+            UserRepository userRepository,
+            RoleRegistry roleRegistry,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${moderation.lease-seconds:300}") long leaseSeconds,
+            @Value("${moderation.max-batch-size:50}") int maxBatchSize,
+            @Value("${moderation.max-attempts:3}") int maxAttempts,
+            @Value("${moderation.retry-backoff-ms:50}") long retryBackoffMillis
+    ) {
+        this.taskRepository = taskRepository;
+        this.packageRepository = packageRepository;
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseSeconds = leaseSeconds;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+
+        for (ModerationItemType type : ModerationItemType.values()) {
+            AtomicLong queued = new AtomicLong();
+            AtomicLong oldestMillis = new AtomicLong();
+            depth.put(type, queued);
+            oldest.put(type, oldestMillis);
+            Gauge.builder("moderation.queue.depth", queued, AtomicLong::get)
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("moderation.queue.oldest.age.seconds", oldestMillis,
+                            millis -> millis.get() == 0 ? 0 : (System.currentTimeMillis() - millis.get()) / 1000.0)
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /* ================= CLAIM ================= */
+
+    @Override
+    public ModerationBatch claim(String itemType, String admin, int size) {
+        ModerationItemType type = toItemType(itemType);
+        int wanted = Math.max(1, Math.min(size, maxBatchSize));
+
+        ModerationBatch batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+
+            // Rows this admin already holds come first and get their lease renewed
+            List<ModerationTask> tasks = new ArrayList<>(taskRepository.findHeld(type, admin, now));
+            if (tasks.size() < wanted) {
+                tasks.addAll(taskRepository.findClaimable(type, now, PageRequest.of(0, wanted - tasks.size())));
+            }
+            if (tasks.isEmpty()) {
+                return new ModerationBatch(type.name(), admin, null, List.of());
+            }
+            taskRepository.lease(tasks.stream().map(ModerationTask::getId).toList(), admin, leaseUntil);
+
+            List<Long> itemIds = tasks.stream().map(ModerationTask::getItemId).toList();
+            List<?> items = type == ModerationItemType.PACKAGE ? pendingPackages(itemIds) : pendingAgents(itemIds);
+            return new ModerationBatch(type.name(), admin, leaseUntil, items);
+        });
+
+        logger.info("📋 {} claimed {} {} items until {}", admin, batch.getItems().size(), type, batch.getLeaseUntil());
+        return batch;
+    }
+
+    // Rows whose item was reviewed outside the queue are dropped on the way
+    private List<TravelPackage> pendingPackages(List<Long> itemIds) {
+        List<TravelPackage> packages = packageRepository.findWithAgentByIdIn(itemIds).stream()
+                .filter(pkg -> pkg.getStatus() == PackageStatus.PENDING)
+                .toList();
+        dropStale(ModerationItemType.PACKAGE, itemIds, packages.stream().map(TravelPackage::getId).toList());
+        return packages;
+    }
+
+    private List<UserSummary> pendingAgents(List<Long> itemIds) {
+        List<UserSummary> agents = userRepository.findSummariesByIdIn(itemIds).stream()
+                .filter(agent -> RoleRegistry.AGENT.equals(agent.getRole()))
+                .filter(agent -> !Boolean.TRUE.equals(agent.getIsApproved()))
+                .toList();
+        dropStale(ModerationItemType.AGENT, itemIds, agents.stream().map(UserSummary::getUserId).toList());
+        return agents;
+    }
+
+    private void dropStale(ModerationItemType type, List<Long> claimed, List<Long> pending) {
+        List<Long> stale = claimed.stream().filter(id -> !pending.contains(id)).toList();
+        if (!stale.isEmpty()) {
+            taskRepository.deleteByItems(type, stale);
+        }
+    }
+
+    @Override
+    public int release(String itemType, String admin, List<Long> itemIds) {
+        ModerationItemType type = toItemType(itemType);
+        if (itemIds == null || itemIds.isEmpty()) {
+            return 0;
+        }
+        int released = transactionTemplate.execute(status -> taskRepository.release(type, itemIds, admin));
+        logger.info("↩️ {} released {} {} items", admin, released, type);
+        return released;
+    }
+
+    /* ================= DECIDE ================= */
+
+    @Override
+    public ModerationDecisionResponse decide(String itemType, String admin, List<Long> itemIds, String decision) {
+        ModerationItemType type = toItemType(itemType);
+        boolean approve = toApprove(decision);
+
+        if (itemIds == null || itemIds.isEmpty()) {
+            throw new RuntimeException("At least one item ID is required");
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(itemIds));
+        if (ids.size() > maxBatchSize) {
+            throw new RuntimeException("At most " + maxBatchSize + " items per decision");
+        }
+
+        // A batch that collides with a concurrent single-item review is rolled back and re-run
+        Map<Long, ModerationOutcome> outcomes = ConcurrencyRetry.execute(
+                "Moderation decision", maxAttempts, retryBackoffMillis,
+                () -> transactionTemplate.execute(status -> applyDecisions(type, admin, ids, approve)));
+
+        long applied = count(outcomes, ModerationOutcome.APPLIED);
+        long notFound = count(outcomes, ModerationOutcome.NOT_FOUND);
+        long skipped = outcomes.size() - applied - notFound;
+        outcomes.values().forEach(outcome -> meterRegistry.counter("moderation.decisions",
+                "type", type.name(), "outcome", outcome.name()).increment());
+        refreshMetrics();
+
+        logger.info("✅ {} {} {} items - applied: {}, skipped: {}, not found: {}",
+                admin, approve ? "approved" : "rejected", type, applied, skipped, notFound);
+        return new ModerationDecisionResponse(type.name(), approve ? "APPROVE" : "REJECT",
+                applied, skipped, notFound, outcomes);
+    }
+
+    private Map<Long, ModerationOutcome> applyDecisions(
+            ModerationItemType type, String admin, List<Long> ids, boolean approve) {
+
+        Map<Long, ModerationOutcome> outcomes = new LinkedHashMap<>();
+        for (Long id : ids) {
+            outcomes.put(id, ModerationOutcome.NOT_FOUND);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ModerationTask> tasks = taskRepository.lockByItems(type, ids).stream()
+                .collect(Collectors.toMap(ModerationTask::getItemId, Function.identity()));
+
+        if (type == ModerationItemType.PACKAGE) {
+            for (TravelPackage pkg : packageRepository.findAllById(ids)) {
+                ModerationOutcome outcome = evaluate(tasks.get(pkg.getId()), admin, now,
+                        pkg.getStatus() == PackageStatus.PENDING);
+                outcomes.put(pkg.getId(), outcome);
+                if (outcome == ModerationOutcome.APPLIED) {
+                    pkg.setStatus(approve ? PackageStatus.APPROVED : PackageStatus.REJECTED);
+                    eventPublisher.publishEvent(PackageStatusChangedEvent.of(pkg, PackageStatus.PENDING));
+                }
+            }
+        } else {
+            List<User> rejected = new ArrayList<>();
+            for (User user : userRepository.findAllById(ids)) {
+                if (!roleRegistry.is(user, RoleRegistry.AGENT)) {
+                    continue;
+                }
+                ModerationOutcome outcome = evaluate(tasks.get(user.getUserId()), admin, now,
+                        !Boolean.TRUE.equals(user.getIsApproved()));
+                outcomes.put(user.getUserId(), outcome);
+                if (outcome != ModerationOutcome.APPLIED) {
+                    continue;
+                }
+                if (approve) {
+                    user.setIsApproved(true);
+                    user.setApprovalDate(now);
+                    user.setApprovedBy(admin);
+                } else {
+                    rejected.add(user);
+                }
+            }
+            userRepository.deleteAll(rejected);
+        }
+
+        // Everything settled leaves the queue; rows another admin holds stay
+        List<Long> settled = outcomes.entrySet().stream()
+                .filter(e -> e.getValue() != ModerationOutcome.SKIPPED_CLAIMED_BY_OTHER)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!settled.isEmpty()) {
+            taskRepository.deleteByItems(type, settled);
+        }
+        return outcomes;
+    }
+
+    // An item nobody else holds a live lease on may be decided, claimed or not
+    private static ModerationOutcome evaluate(ModerationTask task, String admin, LocalDateTime now, boolean pending) {
+        if (task != null && task.getClaimedBy() != null && !task.getClaimedBy().equals(admin)
+                && task.getLeaseUntil() != null && !task.getLeaseUntil().isBefore(now)) {
+            return ModerationOutcome.SKIPPED_CLAIMED_BY_OTHER;
+        }
+        return pending ? ModerationOutcome.APPLIED : ModerationOutcome.SKIPPED_ALREADY_REVIEWED;
+    }
+
+    private static long count(Map<Long, ModerationOutcome> outcomes, ModerationOutcome outcome) {
+        return outcomes.values().stream().filter(o -> o == outcome).count();
+    }
+
+    /* ================= QUEUE ================= */
+
+    @Override
+    @Transactional
+    public void enqueue(ModerationItemType itemType, Long itemId) {
+        if (itemId == null || taskRepository.existsByItemTypeAndItemId(itemType, itemId)) {
+            return;
+        }
+        taskRepository.save(ModerationTask.builder()
+                .itemType(itemType)
+                .itemId(itemId)
+                .enqueuedAt(LocalDateTime.now())
+                .build());
+        logger.info("📥 Queued {} {} for review", itemType, itemId);
+    }
+
+    @Override
+    @Transactional
+    public void dequeue(ModerationItemType itemType, Long itemId) {
+        if (itemId != null) {
+            taskRepository.deleteByItems(itemType, List.of(itemId));
+        }
+    }
+
+    // Plain @EventListener: the queue row is written or removed with the package change
+    @EventListener
+    @Transactional
+    public void onPackageStatusChanged(PackageStatusChangedEvent event) {
+        boolean wasPending = event.oldStatus() == PackageStatus.PENDING;
+        boolean isPending = event.newStatus() == PackageStatus.PENDING;
+        if (isPending && !wasPending) {
+            enqueue(ModerationItemType.PACKAGE, event.packageId());
+        } else if (wasPending && !isPending) {
+            dequeue(ModerationItemType.PACKAGE, event.packageId());
+        }
+    }
+
+    // Picks up items that became pending or were reviewed outside the queue
+    // (older endpoints, deleted users) and refreshes the gauges
+    @Override
+    @Scheduled(
+            initialDelayString = "${moderation.sync.initial-delay-ms:10000}",
+            fixedDelayString = "${moderation.sync.interval-ms:60000}")
+    public int sync() {
+        int queued = 0;
+        try {
+            queued = Objects.requireNonNullElse(transactionTemplate.execute(status -> syncQueue()), 0);
+        } catch (DataIntegrityViolationException e) {
+            // An item was queued concurrently; the next run settles it
+            logger.info("⏭️ Moderation queue sync collided with a concurrent enqueue");
+        } catch (RuntimeException e) {
+            logger.error("❌ Moderation queue sync failed: {}", e.getMessage(), e);
+        }
+        refreshMetrics();
+        return queued;
+    }
+
+    private int syncQueue() {
+        Long agentRoleId = roleRegistry.require(RoleRegistry.AGENT).getId();
+        int removed = taskRepository.deleteStalePackages(ModerationItemType.PACKAGE, PackageStatus.PENDING)
+                + taskRepository.deleteStaleAgents(ModerationItemType.AGENT, agentRoleId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ModerationTask> missing = new ArrayList<>();
+        for (Long id : taskRepository.findUnqueuedPackages(ModerationItemType.PACKAGE, PackageStatus.PENDING)) {
+            missing.add(ModerationTask.builder().itemType(ModerationItemType.PACKAGE).itemId(id).enqueuedAt(now).build());
+        }
+        for (Long id : taskRepository.findUnqueuedAgents(ModerationItemType.AGENT, agentRoleId)) {
+            missing.add(ModerationTask.builder().itemType(ModerationItemType.AGENT).itemId(id).enqueuedAt(now).build());
+        }
+        taskRepository.saveAll(missing);
+        taskRepository.flush();
+
+        if (removed > 0 || !missing.isEmpty()) {
+            logger.info("🔄 Moderation queue sync: {} queued, {} stale removed", missing.size(), removed);
+        }
+        return missing.size();
+    }
+
+    /* ================= METRICS ================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ModerationQueueDepth> getQueueDepth() {
+        refreshMetrics();
+        List<ModerationQueueDepth> result = new ArrayList<>();
+        for (ModerationItemType type : ModerationItemType.values()) {
+            long oldestMillis = oldest.get(type).get();
+            result.add(new ModerationQueueDepth(type.name(), depth.get(type).get(), oldestMillis == 0 ? null
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(oldestMillis), ZoneId.systemDefault())));
+        }
+        return result;
+    }
+
+    private void refreshMetrics() {
+        Map<ModerationItemType, ModerationTaskRepository.DepthView> views = new EnumMap<>(ModerationItemType.class);
+        for (ModerationTaskRepository.DepthView view : taskRepository.findDepth()) {
+            views.put(view.getItemType(), view);
+        }
+        for (ModerationItemType type : ModerationItemType.values()) {
+            ModerationTaskRepository.DepthView view = views.get(type);
+            depth.get(type).set(view == null ? 0 : view.getDepth());
+            oldest.get(type).set(view == null || view.getOldest() == null ? 0
+                    : view.getOldest().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    /* ================= HELPERS ================= */
+
+    private static ModerationItemType toItemType(String itemType) {
+        try {
+            return ModerationItemType.valueOf(itemType.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid moderation item type");
+        }
+    }
+
+    private static boolean toApprove(String decision) {
+        if ("APPROVE".equalsIgnoreCase(decision)) {
+            return true;
+        }
+        if ("REJECT".equalsIgnoreCase(decision)) {
+            return false;
+        }
+        throw new RuntimeException("Invalid moderation decision");
+    }
+}
@@ -0,0 +1,213 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.entity.OutboxEvent;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.event.PackageStatusChangedEvent;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.OutboxEventRepository;
+import com.tourstravels.service.OutboxService;
+import com.tourstravels.service.OutboxSubscriber;
+import com.tourstravels.util.TransactionBatch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes booking, payment and package events to outbox_events inside the
+// publishing transaction and relays them to the OutboxSubscriber beans.
+// Rows go through a TransactionBatch, so a write path pays a single extra
+// insert and an event exists exactly when its change committed.
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events "
+            + "(aggregate_type, aggregate_id, event_type, payload, created_at, attempts, next_attempt_at) "
+            + "VALUES (?, ?, ?, ?, ?, 0, ?)";
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            BookingStatusChangedEvent.class.getSimpleName(), BookingStatusChangedEvent.class,
+            PaymentStatusChangedEvent.class.getSimpleName(), PaymentStatusChangedEvent.class,
+            PackageStatusChangedEvent.class.getSimpleName(), PackageStatusChangedEvent.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TransactionBatch<OutboxEvent> pending;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    public OutboxServiceImpl(
+            OutboxEventRepository outboxRepository,
+            List<OutboxSubscriber> subscribers,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.backoff-ms:1000}") long backoffMillis,
+            @Value("${outbox.relay.max-backoff-ms:300000}") long maxBackoffMillis
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.subscribers = subscribers;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.pending = new TransactionBatch<>(this::writeBatch);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /* ================= EVENT CAPTURE ================= */
+
+    @EventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        append("BOOKING", event.bookingId(), event);
+    }
+
+    @EventListener
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        append("PAYMENT", event.paymentId(), event);
+    }
+
+    @EventListener
+    public void onPackageStatusChanged(PackageStatusChangedEvent event) {
+        append("PACKAGE", event.packageId(), event);
+    }
+
+    private void append(String aggregateType, Long aggregateId, Object event) {
+        OutboxEvent row = OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(event.getClass().getSimpleName())
+                .payload(objectMapper.writeValueAsString(event))
+                .build();
+
+        pending.add(row);
+    }
+
+    private void writeBatch(List<OutboxEvent> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+            ps.setString(1, e.getAggregateType());
+            if (e.getAggregateId() == null) {
+                ps.setNull(2, Types.BIGINT);
+            } else {
+                ps.setLong(2, e.getAggregateId());
+            }
+            ps.setString(3, e.getEventType());
+            ps.setString(4, e.getPayload());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    /* ================= RELAY ================= */
+
+    @Override
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxRepository.findDue(now, maxAttempts, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        Map<OutboxEvent, String> failed = new LinkedHashMap<>();
+        for (OutboxEvent row : due) {
+            String failure = dispatch(row);
+            if (failure == null) {
+                delivered.add(row.getId());
+            } else {
+                failed.put(row, failure);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.deleteByIdIn(delivered);
+            }
+            failed.forEach((row, error) ->
+                    outboxRepository.markFailed(row.getId(), now.plusNanos(backoffFor(row.getAttempts()) * 1_000_000L),
+                            error.length() > 500 ? error.substring(0, 500) : error));
+        });
+
+        meterRegistry.counter("outbox.delivered").increment(delivered.size());
+        if (!failed.isEmpty()) {
+            meterRegistry.counter("outbox.failed").increment(failed.size());
+            logger.warn("⚠️ {} of {} outbox events failed, first: {}",
+                    failed.size(), due.size(), failed.values().iterator().next());
+        }
+        return due.size();
+    }
+
+    // Hands the event to every subscriber; returns the first failure, or null
+    private String dispatch(OutboxEvent row) {
+        Object event;
+        try {
+            Class<?> type = EVENT_TYPES.get(row.getEventType());
+            if (type == null) {
+                return "Unknown event type " + row.getEventType();
+            }
+            event = objectMapper.readValue(row.getPayload(), type);
+        } catch (RuntimeException e) {
+            return "Unreadable payload: " + e.getMessage();
+        }
+
+        String failure = null;
+        for (OutboxSubscriber subscriber : subscribers) {
+            try {
+                subscriber.handle(event);
+            } catch (RuntimeException e) {
+                logger.debug("Outbox subscriber {} failed on event {}", subscriber.getName(), row.getId(), e);
+                if (failure == null) {
+                    failure = subscriber.getName() + ": " + e.getMessage();
+                }
+            }
+        }
+        return failure;
+    }
+
+    private long backoffFor(int attempts) {
+        return Math.min(maxBackoffMillis, backoffMillis << Math.min(attempts, 20));
+    }
+
+    @Override
+    public long countPending() {
+        return outboxRepository.countPending(maxAttempts);
+    }
+
+    @Override
+    public long countParked() {
+        return outboxRepository.countParked(maxAttempts);
+    }
+}
@@ -6,12 +6,16 @@ import com.tourstravels.repository.PackageRepository;
 import com.tourstravels.repository.UserRepository;
 import com.tourstravels.service.PackageService;
 import com.tourstravels.enums.PackageStatus;
+import com.tourstravels.event.PackageStatusChangedEvent;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -25,9 +29,13 @@ public class PackageServiceImpl implements PackageService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /* ================= AGENT ================= */
 
     @Override
+    @Transactional
     public TravelPackage createPackage(TravelPackage travelPackage, String agentEmail) {
 
         User agent = userRepository.findByEmail(agentEmail)
@@ -36,7 +44,45 @@ public class PackageServiceImpl implements PackageService {
         travelPackage.setAgent(agent);
         travelPackage.setStatus(PackageStatus.PENDING);
 
-        return packageRepository.save(travelPackage);
+        TravelPackage saved = packageRepository.save(travelPackage);
+        eventPublisher.publishEvent(PackageStatusChangedEvent.of(saved, null));
+        return saved;
+    }
+
+    // Any edit sends the package back for re-approval
+    @Override
+    @Transactional
+    public TravelPackage updatePackage(Long packageId, TravelPackage updated) {
+
+        TravelPackage pkg = packageRepository.findById(packageId)
+                .orElseThrow(() -> new RuntimeException("Package not found"));
+
+        PackageStatus oldStatus = pkg.getStatus();
+        pkg.setTitle(updated.getTitle());
+        pkg.setDescription(updated.getDescription());
+        pkg.setPrice(updated.getPrice());
+        pkg.setStatus(PackageStatus.PENDING);
+
+        TravelPackage saved = packageRepository.save(pkg);
+        if (oldStatus != PackageStatus.PENDING) {
+            eventPublisher.publishEvent(PackageStatusChangedEvent.of(saved, oldStatus));
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public TravelPackage addImages(Long packageId, List<String> imageUrls) {
+
+        TravelPackage pkg = packageRepository.findById(packageId)
+                .orElseThrow(() -> new RuntimeException("Package not found"));
+
+        if (pkg.getImageUrls() == null) {
+            pkg.setImageUrls(new ArrayList<>());
+        }
+        pkg.getImageUrls().addAll(imageUrls);
+
+        return packageRepository.save(pkg);
     }
 
     @Override
@@ -82,6 +128,7 @@ public class PackageServiceImpl implements PackageService {
     }
 
     @Override
+    @Transactional
     public TravelPackage adminDecision(Long packageId, String decision) {
 
         TravelPackage pkg = packageRepository.findById(packageId)
@@ -100,15 +147,23 @@ public class PackageServiceImpl implements PackageService {
             pkg.setStatus(PackageStatus.REJECTED);
         }
 
-        return packageRepository.save(pkg);
+        TravelPackage saved = packageRepository.save(pkg);
+        if (saved.getStatus() != PackageStatus.PENDING) {
+            eventPublisher.publishEvent(PackageStatusChangedEvent.of(saved, PackageStatus.PENDING));
+        }
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deletePackage(Long packageId) {
         logger.info("🗑️  Deleting package ID: {}", packageId);
         TravelPackage pkg = packageRepository.findById(packageId)
                 .orElseThrow(() -> new RuntimeException("Package not found"));
+        PackageStatus oldStatus = pkg.getStatus();
         packageRepository.delete(pkg);
+        eventPublisher.publishEvent(new PackageStatusChangedEvent(
+                pkg.getId(), pkg.getAgent() != null ? pkg.getAgent().getUserId() : null, oldStatus, null));
         logger.info("✅ Package deleted successfully");
     }
 }
@@ -0,0 +1,71 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.entity.BookingTransition;
+import com.tourstravels.entity.PackageStatusCount;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.repository.PackageStatusCountRepository;
+import com.tourstravels.service.JournalProjection;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Current bookings per package and status, maintained from the journal instead of GROUP BY on bookings
+@Component
+public class PackageStatusCountProjection implements JournalProjection {
+
+    public static final String NAME = "package-status-counts";
+
+    private final PackageStatusCountRepository countRepository;
+
+    public PackageStatusCountProjection(PackageStatusCountRepository countRepository) {
+        this.countRepository = countRepository;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(List<BookingTransition> transitions) {
+        // Net the chunk first so each (package, status) is written once
+        Map<Key, Long> deltas = new HashMap<>();
+        for (BookingTransition t : transitions) {
+            if (t.getPackageId() == null || !isBookingTransition(t)) {
+                continue;
+            }
+            if (t.getOldStatus() != null) {
+                deltas.merge(new Key(t.getPackageId(), BookingStatus.valueOf(t.getOldStatus())), -1L, Long::sum);
+            }
+            deltas.merge(new Key(t.getPackageId(), BookingStatus.valueOf(t.getNewStatus())), 1L, Long::sum);
+        }
+
+        deltas.forEach((key, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            if (countRepository.addToCount(key.packageId(), key.status(), delta) == 0) {
+                countRepository.save(PackageStatusCount.builder()
+                        .packageId(key.packageId()).status(key.status()).bookingCount(delta).build());
+            }
+        });
+    }
+
+    @Override
+    public void reset() {
+        countRepository.deleteAllInBatch();
+    }
+
+    private static boolean isBookingTransition(BookingTransition t) {
+        return switch (t.getTransition()) {
+            case PAID, PAYMENT_PENDING, PAYMENT_FAILED, REFUNDED -> false;
+            default -> true;
+        };
+    }
+
+    private record Key(Long packageId, BookingStatus status) {
+    }
+}
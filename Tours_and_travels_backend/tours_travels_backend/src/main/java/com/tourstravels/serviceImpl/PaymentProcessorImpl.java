@@ -0,0 +1,251 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.PaymentRepository;
+import com.tourstravels.service.PaymentGateway;
+import com.tourstravels.service.PaymentProcessor;
+import com.tourstravels.service.PaymentService;
+import com.tourstravels.util.ConcurrencyRetry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Charges PENDING payments on a bounded worker pool once they commit.
+// Each attempt calls the gateway with a timeout; retryable failures are
+// re-queued after an exponential, jittered backoff (scheduled, so no worker
+// sleeps). The outcome is applied through PaymentService.confirmPayment /
+// failPayment; only a real decline fails a payment. Payments left PENDING by
+// a full queue, a restart or a gateway that never answered are picked up
+// again by the periodic sweep.
+@Service
+public class PaymentProcessorImpl implements PaymentProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentProcessorImpl.class);
+
+    private final PaymentGateway gateway;
+    private final PaymentService paymentService;
+    private final PaymentRepository paymentRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final long timeoutMillis;
+    private final int sweepBatch;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryTimer;
+    private final ExecutorService gatewayCalls = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public PaymentProcessorImpl(
+            PaymentGateway gateway,
+            PaymentService paymentService,
+            PaymentRepository paymentRepository,
+            MeterRegistry meterRegistry,
+            @Value("${payment.processor.workers:8}") int workerCount,
+            @Value("${payment.processor.queue-capacity:1000}") int queueCapacity,
+            @Value("${payment.processor.max-attempts:4}") int maxAttempts,
+            @Value("${payment.processor.backoff-ms:500}") long backoffMillis,
+            @Value("${payment.processor.max-backoff-ms:10000}") long maxBackoffMillis,
+            @Value("${payment.processor.timeout-ms:5000}") long timeoutMillis,
+            @Value("${payment.processor.sweep-batch:500}") int sweepBatch
+    ) {
+        this.gateway = gateway;
+        this.paymentService = paymentService;
+        this.paymentRepository = paymentRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.sweepBatch = sweepBatch;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> new Thread(r, "payment-worker-" + threadIds.incrementAndGet()));
+        this.retryTimer = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "payment-retry"));
+
+        Gauge.builder("payment.processor.queue", workers, w -> w.getQueue().size()).register(meterRegistry);
+        Gauge.builder("payment.processor.in-flight", inFlight, Set::size).register(meterRegistry);
+    }
+
+    // New and re-queued payments are charged only once their transaction committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.newStatus() == PaymentStatus.PENDING) {
+            submit(event.paymentId());
+        }
+    }
+
+    @Override
+    public boolean submit(Long paymentId) {
+        if (!inFlight.add(paymentId)) {
+            return false;
+        }
+        if (!enqueue(paymentId, 1)) {
+            inFlight.remove(paymentId);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${payment.processor.sweep-initial-delay-ms:30000}",
+            fixedDelayString = "${payment.processor.sweep-interval-ms:60000}")
+    public int resubmitPending() {
+        int submitted = 0;
+        for (Long paymentId : paymentRepository.findIdsByStatus(PaymentStatus.PENDING, PageRequest.of(0, sweepBatch))) {
+            if (submit(paymentId)) {
+                submitted++;
+            }
+        }
+        if (submitted > 0) {
+            logger.info("🔁 Re-queued {} pending payments", submitted);
+        }
+        return submitted;
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private boolean enqueue(Long paymentId, int attempt) {
+        try {
+            workers.execute(() -> attempt(paymentId, attempt));
+            return true;
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("payment.processor.rejected").increment();
+            logger.warn("⚠️ Payment queue full, payment {} left for the next sweep", paymentId);
+            return false;
+        }
+    }
+
+    private void attempt(Long paymentId, int attempt) {
+        boolean done = true;
+        try {
+            PaymentRepository.ChargeView charge = paymentRepository.findChargeView(paymentId);
+            if (charge == null || charge.getStatus() != PaymentStatus.PENDING) {
+                return;
+            }
+
+            PaymentGateway.ChargeResult result;
+            long started = System.nanoTime();
+            try {
+                result = callGateway(charge);
+                record(started, result.approved() ? "approved" : "declined");
+            } catch (TimeoutException | PaymentGateway.GatewayUnavailableException e) {
+                record(started, e instanceof TimeoutException ? "timeout" : "error");
+                if (attempt < maxAttempts && scheduleRetry(paymentId, attempt)) {
+                    done = false;
+                    return;
+                }
+                // The gateway may have taken the money without answering, so this is not
+                // a decline: the payment stays PENDING and the sweep charges it again
+                // under the same idempotency key.
+                meterRegistry.counter("payment.processor.unresolved").increment();
+                logger.warn("⚠️ Gateway gave no answer for payment {} after {} attempts, left PENDING",
+                        paymentId, attempt);
+                return;
+            }
+            apply(paymentId, result);
+        } catch (RuntimeException e) {
+            // Left PENDING; the sweep tries again
+            logger.error("❌ Processing payment {} failed: {}", paymentId, e.getMessage(), e);
+        } finally {
+            if (done) {
+                inFlight.remove(paymentId);
+            }
+        }
+    }
+
+    private PaymentGateway.ChargeResult callGateway(PaymentRepository.ChargeView charge) throws TimeoutException {
+        Future<PaymentGateway.ChargeResult> call =
+                gatewayCalls.submit(() -> gateway.charge(charge.getPaymentId(), charge.getAmount()));
+        try {
+            return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new PaymentGateway.GatewayUnavailableException(String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.cancel(true);
+            throw new PaymentGateway.GatewayUnavailableException("Interrupted");
+        }
+    }
+
+    private boolean scheduleRetry(Long paymentId, int attempt) {
+        long exponential = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        long delay = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+        logger.info("🔁 Gateway failed for payment {} (attempt {}/{}), retrying in {} ms",
+                paymentId, attempt, maxAttempts, delay);
+        try {
+            retryTimer.schedule(() -> {
+                if (!enqueue(paymentId, attempt + 1)) {
+                    inFlight.remove(paymentId);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void apply(Long paymentId, PaymentGateway.ChargeResult result) {
+        try {
+            ConcurrencyRetry.execute("Payment " + paymentId, 3, 50, () -> result.approved()
+                    ? paymentService.confirmPayment(paymentId)
+                    : paymentService.failPayment(paymentId, result.declineReason()));
+            meterRegistry.counter("payment.processor.completed",
+                    "outcome", result.approved() ? "success" : "failed").increment();
+        } catch (RuntimeException e) {
+            // Typically an admin settled the payment by hand in the meantime
+            logger.warn("⚠️ Gateway result for payment {} not applied: {}", paymentId, e.getMessage());
+        }
+    }
+
+    private void record(long startedNanos, String outcome) {
+        meterRegistry.timer("payment.gateway.latency", "outcome", outcome)
+                .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryTimer.shutdownNow();
+        workers.shutdownNow();
+        gatewayCalls.shutdownNow();
+    }
+}
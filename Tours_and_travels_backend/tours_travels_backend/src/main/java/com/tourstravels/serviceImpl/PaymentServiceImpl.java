@@ -1,19 +1,30 @@
 package com.tourstravels.serviceImpl;
 
+import com.tourstravels.dto.CustomerPaymentView;
 import com.tourstravels.entity.Booking;
 import com.tourstravels.entity.Payment;
 import com.tourstravels.entity.User;
 import com.tourstravels.enums.BookingStatus;
 import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.ArchivedPaymentRepository;
 import com.tourstravels.repository.BookingRepository;
 import com.tourstravels.repository.PaymentRepository;
 import com.tourstravels.service.PaymentService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -21,37 +32,74 @@ public class PaymentServiceImpl implements PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentServiceImpl.class);
 
+    // Bookings that can still be paid for; anything else is cancelled, rejected or over
+    private static final Set<BookingStatus> PAYABLE_STATUSES =
+            EnumSet.of(BookingStatus.PENDING, BookingStatus.AGENT_APPROVED);
+
     private final PaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
+    private final ArchivedPaymentRepository archivedPaymentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PaymentServiceImpl(
             PaymentRepository paymentRepository,
-            BookingRepository bookingRepository
+            BookingRepository bookingRepository,
+            ArchivedPaymentRepository archivedPaymentRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.paymentRepository = paymentRepository;
         this.bookingRepository = bookingRepository;
+        this.archivedPaymentRepository = archivedPaymentRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public Payment createPayment(Long bookingId, Double amount, String paymentMode) {
+    public Payment createPayment(Long bookingId, Long customerId) {
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        if (booking.getStatus() != BookingStatus.CONFIRMED) {
-            throw new RuntimeException("Payment allowed only for CONFIRMED bookings");
+        // Verify booking belongs to customer
+        if (!booking.getUser().getUserId().equals(customerId)) {
+            throw new AccessDeniedException("Unauthorized access to booking");
+        }
+
+        if (!PAYABLE_STATUSES.contains(booking.getStatus())) {
+            throw new RuntimeException("Booking is " + booking.getStatus().name().toLowerCase() + ", payment not allowed");
         }
 
-        paymentRepository.findByBooking(booking).ifPresent(p -> {
-            throw new RuntimeException("Payment already exists");
-        });
+        // Check if payment already exists for this booking to avoid duplicate entry.
+        // A failed payment is put back in the queue instead, so the customer can retry.
+        Optional<Payment> existing = paymentRepository.findByBooking(booking);
+        if (existing.isPresent()) {
+            Payment payment = existing.get();
+            if (payment.getStatus() != PaymentStatus.FAILED) {
+                logger.info("⏭️ Payment already exists for Booking ID: {}. Returning existing payment.", bookingId);
+                return payment;
+            }
+            payment.setStatus(PaymentStatus.PENDING);
+            booking.setPaymentStatus(PaymentStatus.PENDING);
+            bookingRepository.save(booking);
+            Payment retried = paymentRepository.save(payment);
+            eventPublisher.publishEvent(PaymentStatusChangedEvent.of(retried, PaymentStatus.FAILED));
+            logger.info("🔁 Failed payment {} of Booking ID: {} queued again", retried.getId(), bookingId);
+            return retried;
+        }
 
+        // Recorded as PENDING; PaymentProcessor charges the gateway after commit
         Payment payment = Payment.builder()
                 .booking(booking)
-                .status(PaymentStatus.SUCCESS)
+                .status(PaymentStatus.PENDING)
                 .build();
+        Payment saved = paymentRepository.save(payment);
 
-        return paymentRepository.save(payment);
+        booking.setPaymentStatus(PaymentStatus.PENDING);
+        bookingRepository.save(booking);
+
+        eventPublisher.publishEvent(PaymentStatusChangedEvent.of(saved, null));
+
+        logger.info("✅ Payment {} created for Booking ID: {} - awaiting gateway", saved.getId(), bookingId);
+        return saved;
     }
 
     @Override
@@ -65,6 +113,19 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentRepository.findByBookingUser(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerPaymentView> getPaymentViewsByUser(Long userId, boolean includeArchived) {
+        List<CustomerPaymentView> views = paymentRepository.findViewsByUserId(userId);
+        if (!includeArchived) {
+            return views;
+        }
+        List<CustomerPaymentView> all = new ArrayList<>(views);
+        all.addAll(archivedPaymentRepository.findViewsByUserId(userId));
+        all.sort(Comparator.comparing(CustomerPaymentView::getId).reversed());
+        return all;
+    }
+
     @Override
     public List<Payment> getAllPayments() {
         logger.info("💳 getAllPayments() - Fetching all payments with eager loading");
@@ -83,9 +144,62 @@ public class PaymentServiceImpl implements PaymentService {
             throw new RuntimeException("Only PENDING payments can be confirmed");
         }
 
+        // The booking was closed (e.g. cancelled by an admin) while the charge was in
+        // flight: the money is handed back instead of confirming a dead booking.
+        // Saving the booking checks its version, so a close racing with this
+        // transaction fails it and the retry sees the new status.
+        Booking booking = payment.getBooking();
+        if (!PAYABLE_STATUSES.contains(booking.getStatus())) {
+            payment.setStatus(PaymentStatus.REFUNDED);
+            Payment refunded = paymentRepository.save(payment);
+            booking.setPaymentStatus(PaymentStatus.REFUNDED);
+            bookingRepository.save(booking);
+            eventPublisher.publishEvent(PaymentStatusChangedEvent.of(refunded, PaymentStatus.PENDING));
+            logger.warn("💰 Payment {} charged for {} Booking {} - refunded",
+                    paymentId, booking.getStatus(), booking.getId());
+            return refunded;
+        }
+
         payment.setStatus(PaymentStatus.SUCCESS);
-        logger.info("✅ Payment {} confirmed successfully", paymentId);
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+
+        BookingStatus oldStatus = booking.getStatus();
+        booking.setPaymentStatus(PaymentStatus.SUCCESS);
+        // Auto-confirm booking after successful payment
+        if (booking.getStatus() == BookingStatus.PENDING
+                || booking.getStatus() == BookingStatus.AGENT_APPROVED) {
+            booking.setStatus(BookingStatus.CONFIRMED);
+        }
+        bookingRepository.save(booking);
+
+        eventPublisher.publishEvent(PaymentStatusChangedEvent.of(saved, PaymentStatus.PENDING));
+        if (booking.getStatus() != oldStatus) {
+            eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, oldStatus));
+        }
+        logger.info("✅ Payment {} confirmed successfully, Booking {} is {}",
+                paymentId, booking.getId(), booking.getStatus());
+        return saved;
+    }
+
+    @Override
+    public Payment failPayment(Long paymentId, String reason) {
+        Payment payment = paymentRepository.findById(paymentId)
+                .orElseThrow(() -> new RuntimeException("Payment not found"));
+
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            throw new RuntimeException("Only PENDING payments can fail");
+        }
+
+        payment.setStatus(PaymentStatus.FAILED);
+        Payment saved = paymentRepository.save(payment);
+
+        Booking booking = saved.getBooking();
+        booking.setPaymentStatus(PaymentStatus.FAILED);
+        bookingRepository.save(booking);
+
+        eventPublisher.publishEvent(PaymentStatusChangedEvent.of(saved, PaymentStatus.PENDING));
+        logger.warn("❌ Payment {} failed: {}", paymentId, reason);
+        return saved;
     }
 
     @Override
@@ -100,7 +214,13 @@ public class PaymentServiceImpl implements PaymentService {
 
         logger.info("💰 Refunding payment ID: {}", paymentId);
         payment.setStatus(PaymentStatus.REFUNDED);
+        Payment saved = paymentRepository.save(payment);
+
+        Booking booking = saved.getBooking();
+        booking.setPaymentStatus(PaymentStatus.REFUNDED);
+        bookingRepository.save(booking);
+        eventPublisher.publishEvent(PaymentStatusChangedEvent.of(saved, PaymentStatus.SUCCESS));
         logger.info("✅ Payment {} refunded successfully", paymentId);
-        return paymentRepository.save(payment);
+        return saved;
     }
 }
@@ -0,0 +1,94 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.PaymentRepository;
+import com.tourstravels.service.PaymentStatsService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Payment counts per status held in memory. Created, confirmed and refunded
+// payments adjust the counters after commit; a periodic GROUP BY replaces
+// them to correct drift from missed events, archiving and direct DB edits.
+@Service
+public class PaymentStatsServiceImpl implements PaymentStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentStatsServiceImpl.class);
+
+    private final PaymentRepository paymentRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<PaymentStatus, AtomicLong> counters = new EnumMap<>(PaymentStatus.class);
+    private volatile boolean loaded;
+
+    public PaymentStatsServiceImpl(PaymentRepository paymentRepository, MeterRegistry meterRegistry) {
+        this.paymentRepository = paymentRepository;
+        this.meterRegistry = meterRegistry;
+        for (PaymentStatus status : PaymentStatus.values()) {
+            AtomicLong counter = new AtomicLong();
+            counters.put(status, counter);
+            Gauge.builder("payments.status.count", counter, AtomicLong::get)
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Map<PaymentStatus, Long> getStatusCounts() {
+        if (!loaded) {
+            reconcile();
+        }
+        Map<PaymentStatus, Long> snapshot = new EnumMap<>(PaymentStatus.class);
+        counters.forEach((status, counter) -> snapshot.put(status, counter.get()));
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (event.oldStatus() == event.newStatus()) {
+            return;
+        }
+        if (event.oldStatus() != null) {
+            counters.get(event.oldStatus()).decrementAndGet();
+        }
+        if (event.newStatus() != null) {
+            counters.get(event.newStatus()).incrementAndGet();
+        }
+    }
+
+    // Events committed while the aggregate runs may be counted twice or not at
+    // all; that window is small and the next run settles it
+    @Override
+    @Scheduled(
+            initialDelayString = "${payment.stats.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${payment.stats.reconcile-interval-ms:300000}")
+    public synchronized long reconcile() {
+        Map<PaymentStatus, Long> actual = new EnumMap<>(PaymentStatus.class);
+        for (PaymentRepository.StatusCountView row : paymentRepository.countByStatus()) {
+            actual.put(row.getStatus(), row.getCount());
+        }
+
+        long drift = 0;
+        for (PaymentStatus status : PaymentStatus.values()) {
+            long count = actual.getOrDefault(status, 0L);
+            drift += Math.abs(counters.get(status).getAndSet(count) - count);
+        }
+
+        if (loaded && drift > 0) {
+            logger.warn("⚠️ Payment stats drifted by {} from the database, reconciled", drift);
+            meterRegistry.counter("payments.stats.drift").increment(drift);
+        }
+        loaded = true;
+        return drift;
+    }
+}
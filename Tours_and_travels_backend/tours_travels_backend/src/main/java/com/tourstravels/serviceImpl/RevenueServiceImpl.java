@@ -0,0 +1,233 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.dto.RevenueReport;
+import com.tourstravels.entity.RevenueDaily;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.enums.TransitionType;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.ArchivedBookingRepository;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.BookingTransitionRepository;
+import com.tourstravels.repository.RevenueDailyRepository;
+import com.tourstravels.service.RevenueService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Maintains revenue_daily: a successful payment adds the booking amount to
+// gross on the day it succeeds, a refund of a successful payment adds it to
+// refunded on the day it is refunded. A charge voided straight from PENDING
+// (it settled against a closed booking) never reached gross, so it is not a refund. Deltas are applied after the payment commits; the backfill
+// recomputes whole days from the journal (PAID / REFUNDED transitions) and
+// repairs any drift.
+@Service
+public class RevenueServiceImpl implements RevenueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueServiceImpl.class);
+
+    private final RevenueDailyRepository revenueRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BookingTransitionRepository transitionRepository;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int maxRangeDays;
+
+    public RevenueServiceImpl(
+            RevenueDailyRepository revenueRepository,
+            BookingRepository bookingRepository,
+            ArchivedBookingRepository archivedBookingRepository,
+            BookingTransitionRepository transitionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${revenue.max-range-days:1096}") int maxRangeDays
+    ) {
+        this.revenueRepository = revenueRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.transitionRepository = transitionRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    /* ================= READ ================= */
+
+    @Override
+    public RevenueReport getAdminReport(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return readTransaction.execute(status -> {
+            List<RevenueReport.Line> byPackage = lines(revenueRepository.sumByPackage(from, to));
+            RevenueReport report = totals(from, to, byPackage);
+            report.setByAgent(lines(revenueRepository.sumByAgent(from, to)));
+            return report;
+        });
+    }
+
+    @Override
+    public RevenueReport getAgentReport(Long agentId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return readTransaction.execute(status ->
+                totals(from, to, lines(revenueRepository.sumByPackageForAgent(agentId, from, to))));
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new RuntimeException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private static List<RevenueReport.Line> lines(List<RevenueDailyRepository.RevenueGroupView> rows) {
+        return rows.stream()
+                .map(r -> new RevenueReport.Line(r.getGroupId(), r.getGroupName(),
+                        r.getGross(), r.getRefunded(), r.getGross().subtract(r.getRefunded()),
+                        r.getPaid(), r.getRefunds()))
+                .toList();
+    }
+
+    // Every rollup row belongs to exactly one package, so the package lines add up to the total
+    private static RevenueReport totals(LocalDate from, LocalDate to, List<RevenueReport.Line> byPackage) {
+        BigDecimal gross = BigDecimal.ZERO;
+        BigDecimal refunded = BigDecimal.ZERO;
+        long paid = 0;
+        long refunds = 0;
+        for (RevenueReport.Line line : byPackage) {
+            gross = gross.add(line.getGross());
+            refunded = refunded.add(line.getRefunded());
+            paid += line.getPaid();
+            refunds += line.getRefunds();
+        }
+        return new RevenueReport(from, to, gross, refunded, gross.subtract(refunded),
+                paid, refunds, null, byPackage);
+    }
+
+    /* ================= INCREMENTAL ================= */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        if (Objects.equals(event.oldStatus(), event.newStatus())) {
+            return;
+        }
+        boolean paid = event.newStatus() == PaymentStatus.SUCCESS;
+        boolean refunded = event.newStatus() == PaymentStatus.REFUNDED
+                && event.oldStatus() == PaymentStatus.SUCCESS;
+        if (!paid && !refunded) {
+            return;
+        }
+
+        try {
+            BookingRepository.RevenueSnapshotView booking = bookingRepository.findRevenueSnapshot(event.bookingId());
+            if (booking == null || booking.getAgentId() == null || booking.getAmount() == null) {
+                return;
+            }
+            BigDecimal amount = booking.getAmount();
+            LocalDate today = LocalDate.now();
+            if (paid) {
+                applyDelta(today, booking.getAgentId(), booking.getPackageId(), amount, BigDecimal.ZERO, 1, 0);
+            } else {
+                applyDelta(today, booking.getAgentId(), booking.getPackageId(), BigDecimal.ZERO, amount, 0, 1);
+            }
+        } catch (RuntimeException e) {
+            // The payment already committed; the next backfill corrects the rollup
+            logger.warn("⚠️ Revenue rollup update for payment {} failed: {}", event.paymentId(), e.getMessage());
+        }
+    }
+
+    private void applyDelta(LocalDate date, Long agentId, Long packageId,
+                            BigDecimal gross, BigDecimal refunded, long paid, long refunds) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                int updated = revenueRepository.addRevenue(date, agentId, packageId, gross, refunded, paid, refunds);
+                if (updated == 0) {
+                    revenueRepository.saveAndFlush(RevenueDaily.builder()
+                            .revenueDate(date).agentId(agentId).packageId(packageId)
+                            .grossAmount(gross).refundedAmount(refunded)
+                            .paidCount(paid).refundedCount(refunds)
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another payment created the row first; it exists now, so the update lands
+            writeTransaction.executeWithoutResult(status ->
+                    revenueRepository.addRevenue(date, agentId, packageId, gross, refunded, paid, refunds));
+        }
+    }
+
+    /* ================= BACKFILL ================= */
+
+    @Override
+    public int backfillDay(LocalDate day) {
+        Integer rows = writeTransaction.execute(status -> {
+            Map<String, RevenueDaily> cells = new LinkedHashMap<>();
+
+            // Payments journaled on this day
+            addGross(cells, day, transitionRepository.sumTransitionRevenue(
+                    TransitionType.PAID, null, day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+            addRefunded(cells, day, transitionRepository.sumTransitionRevenue(TransitionType.REFUNDED,
+                    PaymentStatus.SUCCESS.name(), day.atStartOfDay(), day.plusDays(1).atStartOfDay()));
+
+            // Payments from before the journal have no timestamp; the booking date stands in
+            EnumSet<PaymentStatus> everPaid = EnumSet.of(PaymentStatus.SUCCESS, PaymentStatus.REFUNDED);
+            EnumSet<PaymentStatus> refunded = EnumSet.of(PaymentStatus.REFUNDED);
+            addGross(cells, day, bookingRepository.sumUnjournaledRevenue(day, everPaid, TransitionType.PAID));
+            addGross(cells, day, archivedBookingRepository.sumUnjournaledRevenue(day, everPaid, TransitionType.PAID));
+            addRefunded(cells, day, bookingRepository.sumUnjournaledRevenue(day, refunded, TransitionType.REFUNDED));
+            addRefunded(cells, day,
+                    archivedBookingRepository.sumUnjournaledRevenue(day, refunded, TransitionType.REFUNDED));
+
+            revenueRepository.deleteDay(day);
+            revenueRepository.flush();
+            revenueRepository.saveAll(cells.values());
+            return cells.size();
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private static void addGross(Map<String, RevenueDaily> cells, LocalDate day,
+                                 List<BookingRepository.RevenueSourceView> rows) {
+        for (BookingRepository.RevenueSourceView v : rows) {
+            RevenueDaily cell = cell(cells, day, v);
+            cell.setGrossAmount(cell.getGrossAmount().add(amountOf(v)));
+            cell.setPaidCount(cell.getPaidCount() + v.getPayments());
+        }
+    }
+
+    private static void addRefunded(Map<String, RevenueDaily> cells, LocalDate day,
+                                    List<BookingRepository.RevenueSourceView> rows) {
+        for (BookingRepository.RevenueSourceView v : rows) {
+            RevenueDaily cell = cell(cells, day, v);
+            cell.setRefundedAmount(cell.getRefundedAmount().add(amountOf(v)));
+            cell.setRefundedCount(cell.getRefundedCount() + v.getPayments());
+        }
+    }
+
+    private static RevenueDaily cell(Map<String, RevenueDaily> cells, LocalDate day,
+                                     BookingRepository.RevenueSourceView v) {
+        return cells.computeIfAbsent(v.getAgentId() + ":" + v.getPackageId(), k -> new RevenueDaily(
+                null, day, v.getAgentId(), v.getPackageId(), BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0L));
+    }
+
+    private static BigDecimal amountOf(BookingRepository.RevenueSourceView v) {
+        return v.getAmount() != null ? v.getAmount() : BigDecimal.ZERO;
+    }
+}
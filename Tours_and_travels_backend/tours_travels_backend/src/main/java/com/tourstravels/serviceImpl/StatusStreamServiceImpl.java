@@ -0,0 +1,269 @@
+package com.tourstravels.serviceImpl;
+
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.event.PackageStatusChangedEvent;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.service.OutboxSubscriber;
+import com.tourstravels.service.StatusStreamService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pushes booking, payment and package status changes from the outbox to SSE subscribers.
+// Emitters are async servlet responses, so an idle subscriber holds no thread.
+// Each subscriber has its own bounded queue, drained by a virtual thread only
+// while it has something to send: a slow client stalls nobody else, and one
+// that falls too far behind is dropped and catches up from the replay buffer
+// when it reconnects with Last-Event-ID.
+@Service
+public class StatusStreamServiceImpl implements StatusStreamService, OutboxSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusStreamServiceImpl.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Deque<StreamEvent> replayBuffer = new ArrayDeque<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry;
+
+    private final int replayBufferSize;
+    private final int subscriberQueueSize;
+    private final long emitterTimeoutMs;
+
+    public StatusStreamServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${sse.replay-buffer-size:5000}") int replayBufferSize,
+            @Value("${sse.subscriber-queue-size:1000}") int subscriberQueueSize,
+            @Value("${sse.timeout-ms:1800000}") long emitterTimeoutMs
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.replayBufferSize = replayBufferSize;
+        this.subscriberQueueSize = Math.max(1, subscriberQueueSize);
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        Gauge.builder("sse.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(String role, Long userId, String lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(role, userId, emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Missed events are queued and the subscriber registered under the same
+        // lock publish() takes, so every later event is queued after the replay
+        int replayed = 0;
+        long resumeAfter = parseEventId(lastEventId);
+        synchronized (replayBuffer) {
+            if (resumeAfter >= 0) {
+                for (StreamEvent event : replayBuffer) {
+                    if (event.id() > resumeAfter && subscriber.canSee(event)) {
+                        enqueue(subscriber, event);
+                        replayed++;
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        logger.info("📡 {} {} subscribed to status events (replaying {}), {} subscribers",
+                role, userId, replayed, subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /* ================= EVENT SOURCE (outbox) ================= */
+
+    @Override
+    public String getName() {
+        return "sse";
+    }
+
+    @Override
+    public void handle(Object event) {
+        switch (event) {
+            case BookingStatusChangedEvent e -> publish("booking-status", e.customerId(), e.agentId(), e);
+            case PaymentStatusChangedEvent e -> publish("payment-status", e.customerId(), e.agentId(), e);
+            case PackageStatusChangedEvent e -> publish("package-status", null, e.agentId(), e);
+            default -> { }
+        }
+    }
+
+    // Queuing is an in-memory append, so holding the lock across subscribers is cheap
+    private void publish(String name, Long customerId, Long agentId, Object data) {
+        synchronized (replayBuffer) {
+            StreamEvent event = new StreamEvent(sequence.incrementAndGet(), name, customerId, agentId, data);
+            replayBuffer.addLast(event);
+            while (replayBuffer.size() > replayBufferSize) {
+                replayBuffer.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.canSee(event)) {
+                    enqueue(subscriber, event);
+                }
+            }
+        }
+    }
+
+    /* ================= HEARTBEAT ================= */
+
+    // Keeps proxies from closing idle connections and detects dead clients
+    @Scheduled(fixedRateString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(s -> s.emitter().complete());
+        subscribers.clear();
+    }
+
+    /* ================= DELIVERY ================= */
+
+    private void enqueue(Subscriber subscriber, Object item) {
+        boolean overflow = false;
+        boolean startSender = false;
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.queue.size() >= subscriberQueueSize) {
+                subscriber.closed = true;
+                subscriber.queue.clear();
+                overflow = true;
+            } else {
+                subscriber.queue.addLast(item);
+                startSender = !subscriber.sending;
+                subscriber.sending = true;
+            }
+        }
+        if (overflow) {
+            meterRegistry.counter("sse.subscribers.dropped", "reason", "overflow").increment();
+            drop(subscriber, new IllegalStateException("Subscriber fell " + subscriberQueueSize + " events behind"));
+        } else if (startSender) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // At most one drain per subscriber runs at a time, which keeps its events in order
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Object item;
+            synchronized (subscriber) {
+                item = subscriber.queue.pollFirst();
+                if (item == null || subscriber.closed) {
+                    subscriber.sending = false;
+                    return;
+                }
+            }
+            try {
+                if (item == HEARTBEAT) {
+                    subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    StreamEvent event = (StreamEvent) item;
+                    subscriber.emitter().send(SseEmitter.event()
+                            .id(String.valueOf(event.id()))
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                synchronized (subscriber) {
+                    subscriber.closed = true;
+                    subscriber.queue.clear();
+                    subscriber.sending = false;
+                }
+                drop(subscriber, e);
+                return;
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        subscribers.remove(subscriber);
+        logger.debug("📴 Dropping {} {} subscriber: {}", subscriber.role(), subscriber.userId(), cause.getMessage());
+        try {
+            subscriber.emitter().completeWithError(cause);
+        } catch (Exception ignored) {
+            // already completed
+        }
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record StreamEvent(long id, String name, Long customerId, Long agentId, Object data) {
+    }
+
+    private static final class Subscriber {
+        private final String role;
+        private final Long userId;
+        private final SseEmitter emitter;
+        // Guarded by the subscriber's monitor
+        private final Deque<Object> queue = new ArrayDeque<>();
+        private boolean sending;
+        private volatile boolean closed;
+
+        private Subscriber(String role, Long userId, SseEmitter emitter) {
+            this.role = role;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        String role() { return role; }
+        Long userId() { return userId; }
+        SseEmitter emitter() { return emitter; }
+
+        // Admins see everything, agents their packages, customers their own bookings
+        boolean canSee(StreamEvent event) {
+            switch (role) {
+                case "ADMIN":
+                    return true;
+                case "AGENT":
+                    return userId.equals(event.agentId());
+                case "CUSTOMER":
+                    return userId.equals(event.customerId());
+                default:
+                    return false;
+            }
+        }
+    }
+}
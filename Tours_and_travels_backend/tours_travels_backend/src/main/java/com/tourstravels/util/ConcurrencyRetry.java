@@ -0,0 +1,44 @@
+package com.tourstravels.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Re-runs a short transaction that lost an optimistic-lock race or a lock wait.
+// The action must start its own transaction so every attempt re-reads fresh rows.
+public final class ConcurrencyRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyRetry.class);
+
+    private ConcurrencyRetry() {
+    }
+
+    public static <T> T execute(String label, int maxAttempts, long backoffMillis, Supplier<T> action) {
+        int attempt = 1;
+        while (true) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("❌ {} still conflicting after {} attempts", label, attempt);
+                    throw e;
+                }
+                // Jittered linear backoff so competing writers do not retry in lock-step
+                long sleepMillis = backoffMillis * attempt
+                        + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+                logger.info("🔁 {} hit a concurrent update (attempt {}/{}), retrying in {} ms",
+                        label, attempt, maxAttempts, sleepMillis);
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                attempt++;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.tourstravels.util;
+
+import com.tourstravels.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes export rows one at a time as CSV or NDJSON.
+// Nothing is buffered beyond the underlying writer, so memory stays constant
+// no matter how many rows are streamed through it.
+public class ExportRowWriter {
+
+    private final Writer out;
+    private final ExportFormat format;
+    private final String[] columns;
+    private long rowCount;
+
+    public ExportRowWriter(Writer out, ExportFormat format, String... columns) {
+        this.out = out;
+        this.format = format;
+        this.columns = columns;
+    }
+
+    // CSV gets a header line, NDJSON carries the names in every object
+    public void writeHeader() throws IOException {
+        if (format != ExportFormat.CSV) {
+            return;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeCsvValue(columns[i]);
+        }
+        out.write('\n');
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeCsvValue(values[i]);
+            }
+        } else {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeJsonString(columns[i]);
+                out.write(':');
+                writeJsonValue(values[i]);
+            }
+            out.write('}');
+        }
+        out.write('\n');
+        rowCount++;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /* ================= CSV ================= */
+
+    private void writeCsvValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean needsQuotes = false;
+        for (int i = 0; i < text.length() && !needsQuotes; i++) {
+            char c = text.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    /* ================= NDJSON ================= */
+
+    private void writeJsonValue(Object value) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.write(value.toString());
+        } else {
+            writeJsonString(value.toString());
+        }
+    }
+
+    private void writeJsonString(String text) throws IOException {
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
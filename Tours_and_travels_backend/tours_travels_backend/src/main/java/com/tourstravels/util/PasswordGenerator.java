@@ -1,7 +1,45 @@
 package com.tourstravels.util;
+import java.security.SecureRandom;
+
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 public class PasswordGenerator {
+
+    // No look-alike characters (0/O, 1/l/I), so passwords survive being read out
+    private static final String UPPER = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+    private static final String LOWER = "abcdefghijkmnopqrstuvwxyz";
+    private static final String DIGITS = "23456789";
+    private static final String SYMBOLS = "@#$%&*!?";
+    private static final String ALL = UPPER + LOWER + DIGITS + SYMBOLS;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Random temporary password with at least one character of each class
+    public static String generate(int length) {
+        if (length < 8) {
+            throw new IllegalArgumentException("Password length must be at least 8");
+        }
+        char[] password = new char[length];
+        password[0] = pick(UPPER);
+        password[1] = pick(LOWER);
+        password[2] = pick(DIGITS);
+        password[3] = pick(SYMBOLS);
+        for (int i = 4; i < length; i++) {
+            password[i] = pick(ALL);
+        }
+        for (int i = length - 1; i > 0; i--) {
+            int j = RANDOM.nextInt(i + 1);
+            char tmp = password[i];
+            password[i] = password[j];
+            password[j] = tmp;
+        }
+        return new String(password);
+    }
+
+    private static char pick(String chars) {
+        return chars.charAt(RANDOM.nextInt(chars.length()));
+    }
+
     public static void main(String[] args) {
         BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
         String encodedPassword = encoder.encode("admin@123");
@@ -0,0 +1,25 @@
+package com.tourstravels.util;
+
+// Keeps a chunked background job under a rows-per-second budget by sleeping
+// off whatever is left of a chunk's time share after the chunk ran.
+public final class RowThrottle {
+
+    private RowThrottle() {
+    }
+
+    // rowsPerSecond <= 0 means unthrottled
+    public static void pause(long rows, long rowsPerSecond, long elapsedNanos) {
+        if (rowsPerSecond <= 0) {
+            return;
+        }
+        long budgetNanos = rows * 1_000_000_000L / rowsPerSecond;
+        long sleepMillis = (budgetNanos - elapsedNanos) / 1_000_000L;
+        if (sleepMillis > 0) {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
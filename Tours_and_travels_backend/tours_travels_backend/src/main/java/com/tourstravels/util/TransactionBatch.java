@@ -0,0 +1,48 @@
+package com.tourstravels.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Collects items added during a transaction and hands them to the writer as one
+// batch just before commit, so the batch commits or rolls back with the change
+// that produced it. Outside a transaction an item is written on its own at once.
+public final class TransactionBatch<T> {
+
+    private final Consumer<List<T>> writer;
+
+    public TransactionBatch(Consumer<List<T>> writer) {
+        this.writer = writer;
+    }
+
+    public void add(T item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writer.accept(List.of(item));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<T> pending = (List<T>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<T> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!batch.isEmpty()) {
+                        writer.accept(batch);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionBatch.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(item);
+    }
+}
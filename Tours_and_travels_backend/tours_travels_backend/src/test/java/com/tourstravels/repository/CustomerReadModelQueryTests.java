@@ -0,0 +1,100 @@
+package com.tourstravels.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tourstravels.dto.CustomerBookingView;
+import com.tourstravels.dto.CustomerPaymentView;
+import com.tourstravels.entity.Booking;
+import com.tourstravels.entity.Payment;
+import com.tourstravels.entity.Role;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PackageStatus;
+import com.tourstravels.enums.PaymentStatus;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.show-sql=false"
+})
+class CustomerReadModelQueryTests {
+
+	private static final int BOOKINGS = 200;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	private Statistics statistics;
+	private Long customerId;
+
+	@BeforeEach
+	void setUp() {
+		Role customerRole = entityManager.persist(Role.builder().roleName("CUSTOMER").build());
+		Role agentRole = entityManager.persist(Role.builder().roleName("AGENT").build());
+
+		User customer = entityManager.persist(User.builder()
+				.name("Customer").email("customer@mail.com").password("x").role(customerRole).build());
+		customerId = customer.getUserId();
+
+		for (int a = 0; a < 4; a++) {
+			User agent = entityManager.persist(User.builder()
+					.name("Agent " + a).email("agent" + a + "@mail.com").password("x").role(agentRole).build());
+			TravelPackage pkg = entityManager.persist(TravelPackage.builder()
+					.title("Package " + a).price(1000.0).status(PackageStatus.APPROVED).agent(agent).build());
+
+			for (int i = 0; i < BOOKINGS / 4; i++) {
+				Booking booking = entityManager.persist(Booking.builder()
+						.user(customer).tourPackage(pkg).touristsCount(2)
+						.status(BookingStatus.CONFIRMED).paymentStatus(PaymentStatus.SUCCESS)
+						.amount(BigDecimal.valueOf(1000)).bookingDate(LocalDate.now())
+						.tourStartDate(LocalDate.now().plusDays(10)).build());
+				entityManager.persist(Payment.builder().booking(booking).status(PaymentStatus.SUCCESS).build());
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void customerBookingsLoadInOneStatement() {
+		List<CustomerBookingView> views = bookingRepository.findViewsByUserId(customerId);
+
+		assertEquals(BOOKINGS, views.size());
+		assertEquals("Customer", views.get(0).getCustomerName());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void customerPaymentsLoadInOneStatement() {
+		List<CustomerPaymentView> views = paymentRepository.findViewsByUserId(customerId);
+
+		assertEquals(BOOKINGS, views.size());
+		assertEquals(BookingStatus.CONFIRMED, views.get(0).getBookingStatus());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+}
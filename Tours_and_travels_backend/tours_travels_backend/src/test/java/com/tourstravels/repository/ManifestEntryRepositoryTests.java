@@ -0,0 +1,110 @@
+package com.tourstravels.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import com.tourstravels.entity.Booking;
+import com.tourstravels.entity.ManifestEntry;
+import com.tourstravels.entity.Role;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PackageStatus;
+import com.tourstravels.enums.PaymentStatus;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+class ManifestEntryRepositoryTests {
+
+	private static final int PASSENGER_BOOKINGS = 2000;
+
+	private static final Set<BookingStatus> TRAVELLING = EnumSet.of(
+			BookingStatus.PENDING, BookingStatus.AGENT_APPROVED,
+			BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ManifestEntryRepository manifestEntryRepository;
+
+	private final LocalDate departure = LocalDate.now().plusDays(7);
+	private Long packageId;
+	private Long cancelledId;
+
+	@BeforeEach
+	void setUp() {
+		Role customerRole = entityManager.persist(Role.builder().roleName("CUSTOMER").build());
+		Role agentRole = entityManager.persist(Role.builder().roleName("AGENT").build());
+
+		User agent = entityManager.persist(User.builder()
+				.name("Agent").email("agent@mail.com").password("x").role(agentRole).build());
+		User customer = entityManager.persist(User.builder()
+				.name("Customer").email("customer@mail.com").password("x").role(customerRole).build());
+		TravelPackage pkg = entityManager.persist(TravelPackage.builder()
+				.title("Package").price(1000.0).status(PackageStatus.APPROVED).agent(agent).build());
+		packageId = pkg.getId();
+
+		for (int i = 0; i < PASSENGER_BOOKINGS; i++) {
+			boolean paid = i % 2 == 0;
+			entityManager.persist(Booking.builder()
+					.user(customer).tourPackage(pkg).touristsCount(2)
+					.status(paid ? BookingStatus.CONFIRMED : BookingStatus.PENDING)
+					.paymentStatus(paid ? PaymentStatus.SUCCESS : PaymentStatus.PENDING)
+					.amount(BigDecimal.valueOf(1000)).bookingDate(LocalDate.now())
+					.tourStartDate(departure).build());
+		}
+		cancelledId = entityManager.persist(Booking.builder()
+				.user(customer).tourPackage(pkg).touristsCount(5)
+				.status(BookingStatus.CANCELLED).paymentStatus(PaymentStatus.PENDING)
+				.amount(BigDecimal.valueOf(1000)).bookingDate(LocalDate.now())
+				.tourStartDate(departure).build()).getId();
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void departureIsCopiedWithoutCancelledBookings() {
+		int copied = manifestEntryRepository.copyDeparture(packageId, departure, TRAVELLING);
+
+		assertEquals(PASSENGER_BOOKINGS, copied);
+		ManifestEntryRepository.TotalsView totals =
+				manifestEntryRepository.totalsForDeparture(packageId, departure, PaymentStatus.SUCCESS);
+		assertEquals(PASSENGER_BOOKINGS, totals.getBookings());
+		assertEquals(PASSENGER_BOOKINGS * 2L, totals.getTourists());
+		assertEquals(PASSENGER_BOOKINGS, totals.getPaidTourists());
+
+		List<ManifestEntry> page = manifestEntryRepository.findByPackageIdAndTourStartDateOrderByBookingId(
+				packageId, departure, PageRequest.of(1, 100));
+		assertEquals(100, page.size());
+		assertEquals("Customer", page.get(0).getCustomerName());
+	}
+
+	@Test
+	void singleBookingRefreshFollowsItsStatus() {
+		manifestEntryRepository.copyDeparture(packageId, departure, TRAVELLING);
+
+		manifestEntryRepository.deleteByBookingId(cancelledId);
+		assertEquals(0, manifestEntryRepository.copyBooking(cancelledId, TRAVELLING));
+
+		assertEquals(1, manifestEntryRepository.copyBooking(cancelledId, EnumSet.of(BookingStatus.CANCELLED)));
+		assertEquals(PASSENGER_BOOKINGS + 1L,
+				manifestEntryRepository.totalsForDeparture(packageId, departure, PaymentStatus.SUCCESS).getBookings());
+	}
+}
@@ -0,0 +1,180 @@
+package com.tourstravels.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tourstravels.entity.Coupon;
+import com.tourstravels.entity.CouponUsage;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.BookingStatusChangedEvent;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.CouponRepository;
+import com.tourstravels.repository.CouponUsageRepository;
+import com.tourstravels.service.CouponService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Several service instances stand in for application nodes sharing one database
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+class CouponServiceTests {
+
+	private static final long CAP = 300;
+	private static final int PER_CUSTOMER = 2;
+	private static final int CUSTOMERS = 400;
+	private static final int NODES = 3;
+	private static final int THREADS = 24;
+	private static final int ATTEMPTS = 3000;
+
+	@Autowired
+	private CouponRepository couponRepository;
+
+	@Autowired
+	private CouponUsageRepository usageRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void tearDown() {
+		usageRepository.deleteAll();
+		couponRepository.deleteAll();
+	}
+
+	@Test
+	void capsHoldUnderContentionAcrossNodes() throws Exception {
+		List<CouponServiceImpl> nodes = new ArrayList<>();
+		for (int i = 0; i < NODES; i++) {
+			nodes.add(new CouponServiceImpl(couponRepository, usageRepository, bookingRepository, transactionManager,
+					new SimpleMeterRegistry(), 4, 16, 60000, 60000, 0));
+		}
+		Coupon coupon = nodes.get(0).createCoupon(Coupon.builder()
+				.code(" launch20 ").discountPercent(20).maxRedemptions(CAP).perCustomerLimit(PER_CUSTOMER)
+				.validFrom(LocalDateTime.now().minusDays(1)).build());
+
+		TransactionTemplate booking = new TransactionTemplate(transactionManager);
+		AtomicInteger committed = new AtomicInteger();
+		AtomicInteger rolledBack = new AtomicInteger();
+		AtomicInteger attempts = new AtomicInteger();
+		Map<Long, AtomicInteger> perCustomer = new ConcurrentHashMap<>();
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				int attempt;
+				while ((attempt = attempts.incrementAndGet()) <= ATTEMPTS) {
+					CouponServiceImpl node = nodes.get(attempt % NODES);
+					long customerId = ThreadLocalRandom.current().nextLong(1, CUSTOMERS + 1);
+					// every 7th booking fails after the coupon was applied
+					boolean fail = attempt % 7 == 0;
+					try {
+						booking.executeWithoutResult(status -> {
+							CouponService.Redemption redemption =
+									node.redeem("LAUNCH20", customerId, BigDecimal.valueOf(1000));
+							assertEquals(0, new BigDecimal("200.00").compareTo(redemption.discount()));
+							if (fail) {
+								status.setRollbackOnly();
+							}
+						});
+						if (fail) {
+							rolledBack.incrementAndGet();
+						} else {
+							committed.incrementAndGet();
+							perCustomer.computeIfAbsent(customerId, id -> new AtomicInteger()).incrementAndGet();
+						}
+					} catch (RuntimeException e) {
+						// cap reached for the coupon or the customer
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertTrue(rolledBack.get() > 0);
+		assertEquals(CAP, committed.get(), "every redemption handed out, none twice");
+		assertEquals(CAP, usageRepository.sumUsed(coupon.getId()));
+		for (CouponUsage usage : usageRepository.findAll()) {
+			assertTrue(usage.getUsed() <= PER_CUSTOMER, "customer " + usage.getCustomerId());
+			AtomicInteger seen = perCustomer.get(usage.getCustomerId());
+			assertEquals(seen == null ? 0 : seen.get(), usage.getUsed());
+		}
+
+		// Nothing is left to lease once every node hands its spare permits back
+		nodes.forEach(CouponServiceImpl::releaseAll);
+		assertEquals(CAP, couponRepository.findById(coupon.getId()).orElseThrow().getAllocated());
+	}
+
+	@Test
+	void cancelledBookingGivesItsRedemptionBack() {
+		BookingRepository bookings = mock(BookingRepository.class);
+		when(bookings.findCouponCodeById(1L)).thenReturn("ONCE");
+		when(bookings.findCouponCodeById(2L)).thenReturn("ONCE");
+		CouponServiceImpl node = new CouponServiceImpl(couponRepository, usageRepository, bookings,
+				transactionManager, new SimpleMeterRegistry(), 1, 1, 60000, 60000, 0);
+		Coupon coupon = node.createCoupon(Coupon.builder()
+				.code("once").discountPercent(10).maxRedemptions(1L).perCustomerLimit(1).build());
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+		tx.executeWithoutResult(status -> node.redeem("ONCE", 7L, BigDecimal.valueOf(100)));
+		assertThrows(RuntimeException.class,
+				() -> tx.executeWithoutResult(status -> node.redeem("ONCE", 8L, BigDecimal.valueOf(100))));
+
+		tx.executeWithoutResult(status -> node.onBookingStatusChanged(new BookingStatusChangedEvent(
+				1L, 7L, null, null, BookingStatus.PENDING, BookingStatus.EXPIRED, PaymentStatus.PENDING)));
+
+		assertEquals(0, usageRepository.sumUsed(coupon.getId()));
+		tx.executeWithoutResult(status -> node.redeem("ONCE", 8L, BigDecimal.valueOf(100)));
+		assertEquals(1, usageRepository.sumUsed(coupon.getId()));
+
+		// A booking the agent rejects can never be paid, so it gives its redemption back too
+		tx.executeWithoutResult(status -> node.onBookingStatusChanged(new BookingStatusChangedEvent(
+				2L, 8L, null, null, BookingStatus.PENDING, BookingStatus.AGENT_REJECTED, PaymentStatus.PENDING)));
+
+		assertEquals(0, usageRepository.sumUsed(coupon.getId()));
+		tx.executeWithoutResult(status -> node.redeem("ONCE", 9L, BigDecimal.valueOf(100)));
+		assertEquals(1, usageRepository.sumUsed(coupon.getId()));
+	}
+}
@@ -0,0 +1,143 @@
+package com.tourstravels.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tourstravels.entity.Role;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+import com.tourstravels.enums.ExportFormat;
+import com.tourstravels.enums.PackageStatus;
+import com.tourstravels.repository.PackageRepository;
+import com.tourstravels.repository.RoleRepository;
+import com.tourstravels.repository.UserRepository;
+
+// Runs the real export query through the export JdbcTemplate, not a synthetic source
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+class ExportServiceTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExportServiceTests.class);
+
+	private static final int BOOKINGS = 200_000;
+	private static final int SAMPLE_EVERY = 20_000;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PackageRepository packageRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM bookings");
+		packageRepository.deleteAll();
+		userRepository.deleteAll();
+		roleRepository.deleteAll();
+	}
+
+	@Test
+	void exportsBookingsFromTheDatabaseInConstantMemory() {
+		Role role = roleRepository.save(Role.builder().roleName("CUSTOMER").build());
+		User customer = userRepository.save(User.builder()
+				.name("Customer").email("customer@mail.com").password("x").role(role).build());
+		TravelPackage pkg = packageRepository.save(TravelPackage.builder()
+				.title("Package").price(1000.0).status(PackageStatus.APPROVED).agent(customer).build());
+		insertBookings(customer.getUserId(), pkg.getId());
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long heapBefore = memory.getHeapMemoryUsage().getUsed();
+		LineCounter out = new LineCounter(memory);
+
+		ExportServiceImpl exportService = new ExportServiceImpl(dataSource, 1000);
+		long start = System.nanoTime();
+		long rows = exportService.exportBookings(ExportFormat.CSV, out);
+		double seconds = Math.max((System.nanoTime() - start) / 1_000_000_000.0, 0.001);
+		long peakGrowth = out.peakHeap - heapBefore;
+
+		logger.info("Exported {} bookings in {}s ({} rows/s), peak live heap +{} KB",
+				rows, String.format("%.2f", seconds), Math.round(rows / seconds), peakGrowth / 1024);
+
+		assertEquals(BOOKINGS, rows);
+		assertEquals(BOOKINGS + 1L, out.lines); // plus the header
+		assertTrue(peakGrowth < 64L * 1024 * 1024, "live heap grew by " + peakGrowth + " bytes during the export");
+	}
+
+	private void insertBookings(Long userId, Long packageId) {
+		Date today = Date.valueOf(LocalDate.now());
+		List<Object[]> batch = new ArrayList<>();
+		for (int i = 0; i < BOOKINGS; i++) {
+			batch.add(new Object[] { userId, packageId, today, today, "CONFIRMED", "SUCCESS",
+					BigDecimal.valueOf(1000 + i % 500), 2, 0L });
+			if (batch.size() == 5000 || i == BOOKINGS - 1) {
+				jdbcTemplate.batchUpdate("INSERT INTO bookings (user_id, package_id, booking_date, tour_start_date, "
+						+ "status, payment_status, amount, tourists_count, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+						batch);
+				batch.clear();
+			}
+		}
+	}
+
+	// Discards the export, counting lines and sampling the live heap as rows arrive
+	private static final class LineCounter extends OutputStream {
+
+		private final MemoryMXBean memory;
+		private long lines;
+		private long peakHeap;
+
+		private LineCounter(MemoryMXBean memory) {
+			this.memory = memory;
+		}
+
+		@Override
+		public void write(int b) {
+			if (b == '\n' && ++lines % SAMPLE_EVERY == 0) {
+				System.gc();
+				peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			for (int i = off; i < off + len; i++) {
+				write(b[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.tourstravels.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tourstravels.controller.admin.AdminPackageController;
+import com.tourstravels.entity.Role;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+import com.tourstravels.enums.PackageStatus;
+import com.tourstravels.repository.PackageRepository;
+import com.tourstravels.repository.RoleRepository;
+import com.tourstravels.repository.UserRepository;
+import com.tourstravels.service.PackageService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tools.jackson.databind.ObjectMapper;
+
+// Package writes from the REST layer must reach the outbox in the same commit
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ PackageServiceImpl.class, OutboxServiceImpl.class, PackageServiceTests.Beans.class })
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+class PackageServiceTests {
+
+	@TestConfiguration
+	static class Beans {
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return new ObjectMapper();
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Autowired
+	private PackageService packageService;
+
+	@Autowired
+	private PackageRepository packageRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM outbox_events");
+		packageRepository.deleteAll();
+		userRepository.deleteAll();
+		roleRepository.deleteAll();
+	}
+
+	@Test
+	void approveEndpointWritesOutboxEvent() {
+		Role agentRole = roleRepository.save(Role.builder().roleName("AGENT").build());
+		User agent = userRepository.save(User.builder()
+				.name("Agent").email("agent@mail.com").password("x").role(agentRole).build());
+		TravelPackage pkg = packageRepository.save(TravelPackage.builder()
+				.title("Package").price(1000.0).status(PackageStatus.PENDING).agent(agent).build());
+
+		AdminPackageController controller = new AdminPackageController(packageRepository, packageService);
+		ResponseEntity<?> response = controller.approvePackage(pkg.getId());
+
+		assertEquals(200, response.getStatusCode().value());
+		assertEquals(PackageStatus.APPROVED, packageRepository.findById(pkg.getId()).orElseThrow().getStatus());
+
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+				"SELECT aggregate_id, event_type, payload FROM outbox_events WHERE aggregate_type = 'PACKAGE'");
+		assertEquals(1, rows.size());
+		assertEquals(pkg.getId(), ((Number) rows.get(0).get("aggregate_id")).longValue());
+		assertEquals("PackageStatusChangedEvent", rows.get(0).get("event_type"));
+		assertTrue(rows.get(0).get("payload").toString().contains("\"newStatus\":\"APPROVED\""));
+	}
+}
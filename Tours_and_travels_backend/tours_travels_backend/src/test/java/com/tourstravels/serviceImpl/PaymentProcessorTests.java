@@ -0,0 +1,120 @@
+package com.tourstravels.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.repository.PaymentRepository;
+import com.tourstravels.service.PaymentService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentProcessorTests {
+
+	private static final int PAYMENTS = 400;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final PaymentService paymentService = mock(PaymentService.class);
+	private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+	private final Map<Long, PaymentStatus> outcomes = new ConcurrentHashMap<>();
+	private final CountDownLatch settled = new CountDownLatch(PAYMENTS);
+	private PaymentProcessorImpl processor;
+
+	@AfterEach
+	void tearDown() {
+		processor.shutdown();
+	}
+
+	@Test
+	void everyPaymentSettlesExactlyOnceThroughFlakyGateway() throws InterruptedException {
+		// 20 ms +/- 10 ms, 30% retryable errors, 5% declines
+		MockPaymentGateway gateway = new MockPaymentGateway(20, 10, 0.30, 0.05);
+		// enough attempts that no payment is left unresolved by retryable errors alone
+		processor = newProcessor(gateway, 8, 2000, 12);
+		stubPendingPayments();
+
+		long started = System.nanoTime();
+		for (long id = 1; id <= PAYMENTS; id++) {
+			assertTrue(processor.submit(id));
+		}
+		assertTrue(settled.await(30, TimeUnit.SECONDS), "payments still in flight: " + processor.getInFlight());
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+		assertEquals(PAYMENTS, outcomes.size());
+		long failed = outcomes.values().stream().filter(s -> s == PaymentStatus.FAILED).count();
+		assertTrue(failed > 0 && failed < PAYMENTS / 4, "failed=" + failed);
+		assertEquals(0, processor.getInFlight());
+
+		// 8 workers must beat calling a 20 ms gateway one payment at a time
+		assertTrue(elapsedMillis < PAYMENTS * 20L / 2, "elapsed=" + elapsedMillis + " ms");
+		Timer approved = meterRegistry.find("payment.gateway.latency").tag("outcome", "approved").timer();
+		assertTrue(approved.mean(TimeUnit.MILLISECONDS) >= 10, "approved mean=" + approved.mean(TimeUnit.MILLISECONDS));
+		assertTrue(meterRegistry.find("payment.gateway.latency").tag("outcome", "error").timer().count() > 0);
+	}
+
+	@Test
+	void slowGatewayCallsTimeOutAndStayPendingAfterLastAttempt() throws InterruptedException {
+		MockPaymentGateway gateway = new MockPaymentGateway(500, 0, 0, 0);
+		processor = newProcessor(gateway, 2, 10, 2);
+		stubPendingPayments();
+
+		assertTrue(processor.submit(1L));
+		assertFalse(processor.submit(1L), "already in flight");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (processor.getInFlight() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertEquals(0, processor.getInFlight());
+		// no answer is not a decline: left PENDING for the sweep
+		assertFalse(outcomes.containsKey(1L));
+		assertEquals(2, meterRegistry.find("payment.gateway.latency").tag("outcome", "timeout").timer().count());
+		assertEquals(1.0, meterRegistry.counter("payment.processor.unresolved").count());
+		assertTrue(processor.submit(1L), "sweep can queue it again");
+	}
+
+	private PaymentProcessorImpl newProcessor(MockPaymentGateway gateway, int workers, long timeoutMillis,
+											  int maxAttempts) {
+		return new PaymentProcessorImpl(gateway, paymentService, paymentRepository, meterRegistry,
+				workers, PAYMENTS, maxAttempts, 10, 100, timeoutMillis, 100);
+	}
+
+	private void stubPendingPayments() {
+		when(paymentRepository.findChargeView(anyLong())).thenAnswer(inv -> {
+			Long id = inv.getArgument(0);
+			return new PaymentRepository.ChargeView() {
+				public Long getPaymentId() { return id; }
+				public Long getBookingId() { return id; }
+				public BigDecimal getAmount() { return BigDecimal.valueOf(1000); }
+				public PaymentStatus getStatus() {
+					return outcomes.containsKey(id) ? outcomes.get(id) : PaymentStatus.PENDING;
+				}
+			};
+		});
+		when(paymentService.confirmPayment(anyLong())).thenAnswer(inv -> settle(inv.getArgument(0), PaymentStatus.SUCCESS));
+		when(paymentService.failPayment(anyLong(), any())).thenAnswer(inv -> settle(inv.getArgument(0), PaymentStatus.FAILED));
+	}
+
+	private Object settle(Long paymentId, PaymentStatus status) {
+		if (outcomes.putIfAbsent(paymentId, status) != null) {
+			throw new IllegalStateException("Payment " + paymentId + " settled twice");
+		}
+		settled.countDown();
+		return null;
+	}
+}
@@ -0,0 +1,136 @@
+package com.tourstravels.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tourstravels.entity.Booking;
+import com.tourstravels.entity.RevenueDaily;
+import com.tourstravels.entity.Role;
+import com.tourstravels.entity.TravelPackage;
+import com.tourstravels.entity.User;
+import com.tourstravels.enums.BookingStatus;
+import com.tourstravels.enums.PackageStatus;
+import com.tourstravels.enums.PaymentStatus;
+import com.tourstravels.event.PaymentStatusChangedEvent;
+import com.tourstravels.repository.BookingRepository;
+import com.tourstravels.repository.BookingTransitionRepository;
+import com.tourstravels.repository.PackageRepository;
+import com.tourstravels.repository.RevenueDailyRepository;
+import com.tourstravels.repository.RoleRepository;
+import com.tourstravels.repository.UserRepository;
+
+// A charge voided against a closed booking must not show up as a refund,
+// neither in the incremental rollup nor after a backfill from the journal
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ RevenueServiceImpl.class, JournalServiceImpl.class })
+@TestPropertySource(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.show-sql=false"
+})
+class RevenueServiceTests {
+
+	@Autowired
+	private RevenueServiceImpl revenueService;
+
+	@Autowired
+	private JournalServiceImpl journalService;
+
+	@Autowired
+	private RevenueDailyRepository revenueRepository;
+
+	@Autowired
+	private BookingTransitionRepository transitionRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PackageRepository packageRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	private User agent;
+	private User customer;
+	private TravelPackage pkg;
+
+	@BeforeEach
+	void setUp() {
+		Role agentRole = roleRepository.save(Role.builder().roleName("AGENT").build());
+		Role customerRole = roleRepository.save(Role.builder().roleName("CUSTOMER").build());
+		agent = userRepository.save(User.builder()
+				.name("Agent").email("agent@mail.com").password("x").role(agentRole).build());
+		customer = userRepository.save(User.builder()
+				.name("Customer").email("customer@mail.com").password("x").role(customerRole).build());
+		pkg = packageRepository.save(TravelPackage.builder()
+				.title("Package").price(1000.0).status(PackageStatus.APPROVED).agent(agent).build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		revenueRepository.deleteAll();
+		transitionRepository.deleteAll();
+		bookingRepository.deleteAll();
+		packageRepository.deleteAll();
+		userRepository.deleteAll();
+		roleRepository.deleteAll();
+	}
+
+	@Test
+	void chargeVoidedOnClosedBookingIsNotARefund() {
+		Long paid = booking(BookingStatus.CONFIRMED, PaymentStatus.SUCCESS, 1000);
+		Long refunded = booking(BookingStatus.CANCELLED, PaymentStatus.REFUNDED, 200);
+		Long voided = booking(BookingStatus.CANCELLED_BY_CUSTOMER, PaymentStatus.REFUNDED, 500);
+
+		paymentChanged(1L, paid, PaymentStatus.PENDING, PaymentStatus.SUCCESS);
+		paymentChanged(2L, refunded, PaymentStatus.PENDING, PaymentStatus.SUCCESS);
+		paymentChanged(2L, refunded, PaymentStatus.SUCCESS, PaymentStatus.REFUNDED);
+		// The charge settled after the customer cancelled and was handed straight back
+		paymentChanged(3L, voided, PaymentStatus.PENDING, PaymentStatus.REFUNDED);
+
+		assertRollup(1200, 200);
+
+		revenueService.backfillDay(LocalDate.now());
+		assertRollup(1200, 200);
+	}
+
+	private Long booking(BookingStatus status, PaymentStatus paymentStatus, long amount) {
+		return bookingRepository.save(Booking.builder()
+				.user(customer).tourPackage(pkg).touristsCount(1)
+				.status(status).paymentStatus(paymentStatus)
+				.amount(BigDecimal.valueOf(amount)).bookingDate(LocalDate.now())
+				.tourStartDate(LocalDate.now().plusDays(10)).build()).getId();
+	}
+
+	private void paymentChanged(Long paymentId, Long bookingId, PaymentStatus oldStatus, PaymentStatus newStatus) {
+		PaymentStatusChangedEvent event = new PaymentStatusChangedEvent(
+				paymentId, bookingId, customer.getUserId(), agent.getUserId(), oldStatus, newStatus);
+		journalService.onPaymentStatusChanged(event);
+		revenueService.onPaymentStatusChanged(event);
+	}
+
+	private void assertRollup(long gross, long refunded) {
+		List<RevenueDaily> rows = revenueRepository.findAll();
+		assertEquals(1, rows.size());
+		assertEquals(0, BigDecimal.valueOf(gross).compareTo(rows.get(0).getGrossAmount()), "gross");
+		assertEquals(0, BigDecimal.valueOf(refunded).compareTo(rows.get(0).getRefundedAmount()), "refunded");
+		assertEquals(1L, rows.get(0).getRefundedCount());
+	}
+}
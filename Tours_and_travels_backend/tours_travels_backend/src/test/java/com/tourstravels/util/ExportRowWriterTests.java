@@ -0,0 +1,89 @@
+package com.tourstravels.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tourstravels.enums.ExportFormat;
+
+class ExportRowWriterTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExportRowWriterTests.class);
+
+	@Test
+	void escapesCsvValues() throws Exception {
+		StringWriter out = new StringWriter();
+		ExportRowWriter writer = new ExportRowWriter(out, ExportFormat.CSV, "id", "name");
+		writer.writeHeader();
+		writer.writeRow(1L, "Goa, \"beach\" tour");
+		writer.writeRow(2L, null);
+
+		assertEquals("id,name\n1,\"Goa, \"\"beach\"\" tour\"\n2,\n", out.toString());
+	}
+
+	@Test
+	void writesOneJsonObjectPerLine() throws Exception {
+		StringWriter out = new StringWriter();
+		ExportRowWriter writer = new ExportRowWriter(out, ExportFormat.NDJSON, "id", "name", "amount");
+		writer.writeHeader();
+		writer.writeRow(1L, "Line\nbreak", new BigDecimal("10.50"));
+
+		assertEquals("{\"id\":1,\"name\":\"Line\\nbreak\",\"amount\":10.50}\n", out.toString());
+	}
+
+	@Test
+	void streamsFiveMillionRowsInConstantMemory() throws Exception {
+		long rows = 5_000_000L;
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+		System.gc();
+		long heapBefore = memory.getHeapMemoryUsage().getUsed();
+		long peakHeap = heapBefore;
+
+		Writer sink = Writer.nullWriter();
+		ExportRowWriter writer = new ExportRowWriter(sink, ExportFormat.CSV,
+				"bookingId", "tourStartDate", "status", "amount", "customerEmail");
+		writer.writeHeader();
+
+		Object[] values = new Object[5];
+		LocalDate date = LocalDate.of(2026, 1, 1);
+		long start = System.nanoTime();
+		for (long i = 0; i < rows; i++) {
+			values[0] = i;
+			values[1] = date;
+			values[2] = "CONFIRMED";
+			values[3] = BigDecimal.valueOf(i % 100_000, 2);
+			values[4] = "customer" + (i % 1000) + "@mail.com";
+			writer.writeRow(values);
+			if (i % 500_000 == 0) {
+				// Live heap only: collect first so short-lived row garbage does not count
+				System.gc();
+				peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+		System.gc();
+		long retained = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+		long peakGrowth = peakHeap - heapBefore;
+
+		logger.info("Wrote {} rows in {}s ({} rows/s), peak live heap +{} KB, retained {} KB",
+				rows, String.format("%.2f", seconds), Math.round(rows / seconds),
+				peakGrowth / 1024, retained / 1024);
+
+		assertEquals(rows, writer.getRowCount());
+		assertTrue(peakGrowth < 32L * 1024 * 1024, "live heap grew by " + peakGrowth + " bytes during the export");
+		assertTrue(retained < 32L * 1024 * 1024, "export retained " + retained + " bytes");
+		assertTrue(seconds < 60, "export took " + seconds + "s (" + Math.round(rows / seconds) + " rows/s)");
+	}
+}
@@ -7,6 +7,7 @@ import {
   getAllBookingsAdminApi,
   getAllPaymentsAdminApi,
   getAllUsersApi,
+  getPendingAgentsApi,
   cancelBookingByAdmin,
   confirmBookingAdminApi,
   getPaymentStatsAdminApi,
@@ -23,7 +24,8 @@ const AdminDashboard = () => {
   const [pendingPackages, setPendingPackages] = useState([]);
   const [bookings, setBookings] = useState([]);
   const [payments, setPayments] = useState([]);
-  const [users, setUsers] = useState([]);
+  const [userTotal, setUserTotal] = useState(0);
+  const [pendingAgentTotal, setPendingAgentTotal] = useState(0);
   const [paymentStats, setPaymentStats] = useState({
     pendingPayments: 0,
     successPayments: 0,
@@ -69,19 +71,23 @@ useEffect(() => {
         bookingRes,
         paymentRes,
         userRes,
+        pendingAgentRes,
         statsRes,
       ] = await Promise.all([
         getPendingPackagesAdminApi(),
         getAllBookingsAdminApi(),
         getAllPaymentsAdminApi(),
-        getAllUsersApi(),
+        // only the totals are shown, so one row per page is enough
+        getAllUsersApi({ size: 1 }),
+        getPendingAgentsApi({ size: 1 }),
         getPaymentStatsAdminApi(),
       ]);
 
       setPendingPackages(pendingPkgRes.data || []);
       setBookings(bookingRes.data || []);
       setPayments(paymentRes.data || []);
-      setUsers(userRes.data || []);
+      setUserTotal(userRes.data?.total || 0);
+      setPendingAgentTotal(pendingAgentRes.data?.total || 0);
       setPaymentStats(statsRes.data || {
         pendingPayments: 0,
         successPayments: 0,
@@ -230,14 +236,14 @@ useEffect(() => {
             },
             {
               title: "Total Users",
-              count: users.length,
+              count: userTotal,
               path: "/admin/manage-users",
               color: "primary",
               icon: "👥",
             },
             {
               title: "Agent Registrations",
-              count: users.filter(u => u.role?.roleName === "AGENT" && !u.isApproved).length,
+              count: pendingAgentTotal,
               path: "/admin/agent-registrations",
               color: "warning",
               icon: "📋",
@@ -1,10 +1,14 @@
 import { useState, useEffect , useRef} from "react";
 import { toast } from "react-toastify";
-import { getAgentRegistrationsApi, approveAgentApi, rejectAgentApi } from "../api/adminApi";
+import { getPendingAgentsApi, getApprovedAgentsApi, approveAgentApi, rejectAgentApi } from "../api/adminApi";
+import Pager from "../components/common/Pager";
+
+const PAGE_SIZE = 20;
+const EMPTY_PAGE = { items: [], page: 0, total: 0 };
 
 const ManageAgentRegistrations = () => {
-  const [pendingAgents, setPendingAgents] = useState([]);
-  const [approvedAgents, setApprovedAgents] = useState([]);
+  const [pending, setPending] = useState(EMPTY_PAGE);
+  const [approved, setApproved] = useState(EMPTY_PAGE);
   const [loading, setLoading] = useState(true);
   const [activeTab, setActiveTab] = useState("pending");
   
@@ -14,17 +18,29 @@ const ManageAgentRegistrations = () => {
   useEffect(() => {
     if (hasLoaded.current) return;
     hasLoaded.current = true;
-    fetchAgents();
+    fetchAgents(0, 0);
   }, []);
 
-  const fetchAgents = async () => {
+  // Each tab is its own paged list, so the counts are the real totals
+  const fetchPage = async (api, page) => {
+    const response = await api({ page, size: PAGE_SIZE });
+    const data = response.data || {};
+    // Step back when the last item of a trailing page was just approved / rejected
+    if ((data.items || []).length === 0 && page > 0) {
+      return fetchPage(api, page - 1);
+    }
+    return { items: data.items || [], page, total: data.total || 0 };
+  };
+
+  const fetchAgents = async (pendingPage = pending.page, approvedPage = approved.page) => {
     try {
       setLoading(true);
-      const response = await getAgentRegistrationsApi();
-      const agents = response.data || [];
-
-      setPendingAgents(agents.filter((a) => !a.isApproved));
-      setApprovedAgents(agents.filter((a) => a.isApproved));
+      const [pendingResult, approvedResult] = await Promise.all([
+        fetchPage(getPendingAgentsApi, pendingPage),
+        fetchPage(getApprovedAgentsApi, approvedPage),
+      ]);
+      setPending(pendingResult);
+      setApproved(approvedResult);
     } catch (error) {
       toast.error("Failed to fetch agent registrations", { autoClose: 1000 });
     } finally {
@@ -116,7 +132,7 @@ const ManageAgentRegistrations = () => {
             className={`nav-link ${activeTab === "pending" ? "active" : ""}`}
             onClick={() => setActiveTab("pending")}
           >
-            Pending ({pendingAgents.length})
+            Pending ({pending.total})
           </button>
         </li>
         <li className="nav-item">
@@ -124,7 +140,7 @@ const ManageAgentRegistrations = () => {
             className={`nav-link ${activeTab === "approved" ? "active" : ""}`}
             onClick={() => setActiveTab("approved")}
           >
-            Approved ({approvedAgents.length})
+            Approved ({approved.total})
           </button>
         </li>
       </ul>
@@ -132,25 +148,37 @@ const ManageAgentRegistrations = () => {
       <div className="tab-content">
         {activeTab === "pending" && (
           <div>
-            {pendingAgents.length === 0 ? (
+            {pending.items.length === 0 ? (
               <p className="text-muted">No pending agent registrations</p>
             ) : (
-              pendingAgents.map((agent) => (
+              pending.items.map((agent) => (
                 <AgentCard key={agent.userId} agent={agent} isPending={true} />
               ))
             )}
+            <Pager
+              page={pending.page}
+              size={PAGE_SIZE}
+              total={pending.total}
+              onPageChange={(page) => fetchAgents(page, approved.page)}
+            />
           </div>
         )}
 
         {activeTab === "approved" && (
           <div>
-            {approvedAgents.length === 0 ? (
+            {approved.items.length === 0 ? (
               <p className="text-muted">No approved agents</p>
             ) : (
-              approvedAgents.map((agent) => (
+              approved.items.map((agent) => (
                 <AgentCard key={agent.userId} agent={agent} isPending={false} />
               ))
             )}
+            <Pager
+              page={approved.page}
+              size={PAGE_SIZE}
+              total={approved.total}
+              onPageChange={(page) => fetchAgents(pending.page, page)}
+            />
           </div>
         )}
       </div>
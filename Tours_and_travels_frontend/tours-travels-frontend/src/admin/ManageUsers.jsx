@@ -1,9 +1,14 @@
 import { useEffect, useState, useRef } from "react";
 import { toast } from "react-toastify";
 import { getAllUsersApi } from "../api/adminApi";
+import Pager from "../components/common/Pager";
+
+const PAGE_SIZE = 50;
 
 const ManageUsers = () => {
   const [users, setUsers] = useState([]);
+  const [page, setPage] = useState(0);
+  const [total, setTotal] = useState(0);
   const [loading, setLoading] = useState(false);
 
   const hasLoaded = useRef(false);
@@ -11,19 +16,21 @@ const ManageUsers = () => {
 useEffect(() => {
   if (hasLoaded.current) return;
   hasLoaded.current = true;
-    loadUsers();
+    loadUsers(0);
   }, []);
 
-  const loadUsers = async () => {
+  const loadUsers = async (pageToLoad) => {
     try {
       setLoading(true);
-      const res = await getAllUsersApi();
+      const res = await getAllUsersApi({ page: pageToLoad, size: PAGE_SIZE });
       console.log("Full response object:", res);
       console.log("Users response data:", res.data);
       // Handle both array and wrapped response
-      const userData = Array.isArray(res.data) ? res.data : res.data?.data || [];
+      const userData = Array.isArray(res.data) ? res.data : res.data?.items || [];
       console.log("Processed user data:", userData);
       setUsers(userData);
+      setPage(pageToLoad);
+      setTotal(Array.isArray(res.data) ? userData.length : res.data?.total || 0);
       if (userData.length === 0) {
         console.warn("No users returned from API");
       }
@@ -78,6 +85,8 @@ useEffect(() => {
           )}
         </tbody>
       </table>
+
+      <Pager page={page} size={PAGE_SIZE} total={total} onPageChange={loadUsers} />
     </div>
   );
 };
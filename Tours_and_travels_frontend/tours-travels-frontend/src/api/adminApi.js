@@ -1,8 +1,9 @@
 import axios from "./axiosInstance";
 
 /* ================= USERS (READ ONLY) ================= */
-export const getAllUsersApi = () => {
-  return axios.get("/admin/users");
+// Paged: { page, size, total, items }; params = { role, q, page, size }
+export const getAllUsersApi = (params = {}) => {
+  return axios.get("/admin/users", { params });
 };
 
 /* ================= PACKAGES ================= */
@@ -56,8 +57,17 @@ export const getPaymentStatsAdminApi = () => {
 };
 
 /* ================= AGENT REGISTRATION MANAGEMENT ================= */
-export const getAgentRegistrationsApi = () => {
-  return axios.get("/admin/agents/registrations");
+// Paged: { page, size, total, items }; params = { q, page, size }
+export const getAgentRegistrationsApi = (params = {}) => {
+  return axios.get("/admin/agents/registrations", { params });
+};
+
+export const getPendingAgentsApi = (params = {}) => {
+  return axios.get("/admin/agents/pending", { params });
+};
+
+export const getApprovedAgentsApi = (params = {}) => {
+  return axios.get("/admin/agents/approved", { params });
 };
 
 export const approveAgentApi = (agentId) => {
@@ -70,6 +80,35 @@ export const rejectAgentApi = (agentId, reason = "") => {
   return axios.put(`/admin/agents/reject/${agentId}`, { reason });
 };
 
+// Review queue: itemType = "PACKAGE" | "AGENT"; claimed items stay reserved until leaseUntil
+export const claimModerationApi = (itemType, size = 10) => {
+  return axios.post(`/admin/moderation/${itemType}/claim`, null, { params: { size } });
+};
+
+export const decideModerationApi = (itemType, itemIds, decision) => {
+  return axios.put(`/admin/moderation/${itemType}/decisions`, { itemIds, decision });
+};
+
+export const releaseModerationApi = (itemType, itemIds) => {
+  return axios.post(`/admin/moderation/${itemType}/release`, itemIds);
+};
+
+export const getModerationQueueApi = () => {
+  return axios.get("/admin/moderation/queue");
+};
+
+// Bulk onboarding: CSV with name, email, phone, address, company_name, license_number.
+// Large files answer 202 with { jobId, status: "RUNNING" }; poll the job until it finishes.
+export const importAgentsApi = (file) => {
+  const formData = new FormData();
+  formData.append("file", file);
+  return axios.post("/admin/agents/import", formData);
+};
+
+export const getAgentImportJobApi = (jobId) => {
+  return axios.get(`/admin/agents/import/${jobId}`);
+};
+
 export const getToken = () => {
   return localStorage.getItem("token");
 };
@@ -0,0 +1,29 @@
+// Previous / next controls for the paged admin lists ({ page, size, total } from the API)
+const Pager = ({ page, size, total, onPageChange }) => {
+  const pages = Math.max(1, Math.ceil(total / size));
+  if (total <= size) return null;
+
+  return (
+    <nav className="d-flex justify-content-between align-items-center mt-3">
+      <button
+        className="btn btn-sm btn-outline-secondary"
+        disabled={page === 0}
+        onClick={() => onPageChange(page - 1)}
+      >
+        ‹ Previous
+      </button>
+      <span className="text-muted">
+        Page {page + 1} of {pages} ({total} total)
+      </span>
+      <button
+        className="btn btn-sm btn-outline-secondary"
+        disabled={page + 1 >= pages}
+        onClick={() => onPageChange(page + 1)}
+      >
+        Next ›
+      </button>
+    </nav>
+  );
+};
+
+export default Pager;
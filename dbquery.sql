@@ -33,6 +33,9 @@ CREATE TABLE IF NOT EXISTS users (
         REFERENCES roles(id)
 );
 
+CREATE INDEX idx_users_role_approved ON users (role_id, is_approved);
+CREATE INDEX idx_users_name ON users (name);
+
 -- -------------------------------------------------
 -- TRAVEL PACKAGES
 -- -------------------------------------------------
@@ -50,6 +53,7 @@ CREATE TABLE IF NOT EXISTS travel_packages (
     tour_end_time DATETIME NULL,
     transport_mode VARCHAR(255),
     transport_details VARCHAR(500),
+    version BIGINT NOT NULL DEFAULT 0,
     PRIMARY KEY (id),
     CONSTRAINT fk_packages_agent
         FOREIGN KEY (agent_id)
@@ -83,6 +87,10 @@ CREATE TABLE IF NOT EXISTS bookings (
     payment_status VARCHAR(40) NOT NULL,
     amount DECIMAL(10,2) NOT NULL,
     tourists_count INT NOT NULL DEFAULT 1,
+    coupon_code VARCHAR(40),
+    discount_amount DECIMAL(10,2),
+    points_redeemed BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
     PRIMARY KEY (id),
     CONSTRAINT fk_bookings_user
         FOREIGN KEY (user_id)
@@ -108,12 +116,257 @@ CREATE TABLE IF NOT EXISTS payments (
     razorpay_order_id VARCHAR(255),
     razorpay_payment_id VARCHAR(255),
     razorpay_signature VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0,
     PRIMARY KEY (id),
     CONSTRAINT fk_payments_booking
         FOREIGN KEY (booking_id)
         REFERENCES bookings(id)
 );
 
+CREATE INDEX idx_bookings_status_tour_start ON bookings (status, tour_start_date);
+CREATE INDEX idx_bookings_status_payment ON bookings (status, payment_status);
+CREATE INDEX idx_bookings_package_status ON bookings (package_id, status);
+
+-- -------------------------------------------------
+-- JOB CHECKPOINTS (resume points for chunked jobs)
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+    job_name VARCHAR(100) NOT NULL,
+    last_id BIGINT NOT NULL,
+    processed BIGINT NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (job_name)
+);
+
+-- -------------------------------------------------
+-- IDEMPOTENCY KEYS (replayable responses for retried POSTs)
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idem_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INT,
+    response_body TEXT,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (idem_key)
+);
+
+CREATE INDEX idx_idempotency_expires ON idempotency_keys (expires_at);
+
+-- -------------------------------------------------
+-- DEPARTURE MANIFESTS (one row per travelling booking)
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS departure_manifest_entries (
+    booking_id BIGINT NOT NULL,
+    package_id BIGINT NOT NULL,
+    agent_id BIGINT NOT NULL,
+    tour_start_date DATE NOT NULL,
+    customer_id BIGINT NOT NULL,
+    customer_name VARCHAR(255),
+    customer_email VARCHAR(255),
+    customer_phone VARCHAR(255),
+    tourists_count INT NOT NULL,
+    booking_status VARCHAR(40) NOT NULL,
+    payment_status VARCHAR(40) NOT NULL,
+    amount DECIMAL(10,2),
+    refreshed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (booking_id)
+);
+
+CREATE INDEX idx_manifest_departure ON departure_manifest_entries (package_id, tour_start_date, booking_id);
+CREATE INDEX idx_manifest_agent_date ON departure_manifest_entries (agent_id, tour_start_date);
+
+-- One-off seed from existing bookings; events and the nightly rebuild keep it current afterwards
+INSERT IGNORE INTO departure_manifest_entries (booking_id, package_id, agent_id, tour_start_date,
+    customer_id, customer_name, customer_email, customer_phone, tourists_count, booking_status,
+    payment_status, amount, refreshed_at)
+SELECT b.id, tp.id, tp.agent_id, b.tour_start_date, u.user_id, u.name, u.email, u.phone,
+    b.tourists_count, b.status, b.payment_status, b.amount, NOW(6)
+FROM bookings b
+JOIN users u ON u.user_id = b.user_id
+JOIN travel_packages tp ON tp.id = b.package_id
+WHERE b.status IN ('PENDING', 'AGENT_APPROVED', 'CONFIRMED', 'COMPLETED');
+
+-- -------------------------------------------------
+-- ARCHIVE (terminal bookings and their payments)
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    package_id BIGINT NOT NULL,
+    agent_id BIGINT,
+    tourists_count INT NOT NULL,
+    status VARCHAR(40) NOT NULL,
+    payment_status VARCHAR(40) NOT NULL,
+    amount DECIMAL(10,2) NOT NULL,
+    booking_date DATE NOT NULL,
+    tour_start_date DATE NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_bookings_archive_user ON bookings_archive (user_id, id);
+CREATE INDEX idx_bookings_archive_agent ON bookings_archive (agent_id, id);
+
+CREATE TABLE IF NOT EXISTS payments_archive (
+    id BIGINT NOT NULL,
+    booking_id BIGINT NOT NULL,
+    payment_status VARCHAR(40) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_payments_archive_booking ON payments_archive (booking_id);
+
+-- -------------------------------------------------
+-- BOOKING TRANSITION JOURNAL (append-only) + PROJECTIONS
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS booking_transitions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    transition VARCHAR(30) NOT NULL,
+    old_status VARCHAR(40),
+    new_status VARCHAR(40) NOT NULL,
+    customer_id BIGINT,
+    package_id BIGINT,
+    agent_id BIGINT,
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_transitions_booking ON booking_transitions (booking_id, id);
+CREATE INDEX idx_transitions_type_time ON booking_transitions (transition, occurred_at);
+
+CREATE TABLE IF NOT EXISTS package_status_counts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    package_id BIGINT NOT NULL,
+    status VARCHAR(40) NOT NULL,
+    booking_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_package_status_counts UNIQUE (package_id, status)
+);
+
+-- -------------------------------------------------
+-- DAILY DEMAND ROLLUP PER PACKAGE
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS package_daily_demand (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    package_id BIGINT NOT NULL,
+    demand_date DATE NOT NULL,
+    booked_bookings BIGINT NOT NULL,
+    booked_tourists BIGINT NOT NULL,
+    departing_bookings BIGINT NOT NULL,
+    departing_tourists BIGINT NOT NULL,
+    cancelled_bookings BIGINT NOT NULL,
+    cancelled_tourists BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_package_daily_demand UNIQUE (package_id, demand_date)
+);
+
+-- -------------------------------------------------
+-- DAILY REVENUE ROLLUP PER AGENT AND PACKAGE
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS revenue_daily (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    revenue_date DATE NOT NULL,
+    agent_id BIGINT NOT NULL,
+    package_id BIGINT NOT NULL,
+    gross_amount DECIMAL(14,2) NOT NULL,
+    refunded_amount DECIMAL(14,2) NOT NULL,
+    paid_count BIGINT NOT NULL,
+    refunded_count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_revenue_daily UNIQUE (revenue_date, agent_id, package_id)
+);
+
+CREATE INDEX idx_revenue_agent_date ON revenue_daily (agent_id, revenue_date);
+
+-- -------------------------------------------------
+-- TRANSACTIONAL OUTBOX
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id BIGINT,
+    event_type VARCHAR(60) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_due ON outbox_events (next_attempt_at, id);
+
+-- -------------------------------------------------
+-- COUPONS (global cap leased to nodes in blocks)
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS coupons (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    code VARCHAR(40) NOT NULL,
+    discount_percent INT NOT NULL,
+    max_redemptions BIGINT NOT NULL,
+    per_customer_limit INT NOT NULL,
+    allocated BIGINT NOT NULL DEFAULT 0,
+    valid_from DATETIME(6),
+    valid_until DATETIME(6),
+    active BOOLEAN NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_coupons_code UNIQUE (code)
+);
+
+CREATE TABLE IF NOT EXISTS coupon_usage (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    coupon_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    used INT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_coupon_usage UNIQUE (coupon_id, customer_id)
+);
+
+-- -------------------------------------------------
+-- LOYALTY POINTS (append-only ledger + materialized balance)
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS loyalty_ledger (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    points BIGINT NOT NULL,
+    payment_id BIGINT,
+    booking_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_loyalty_payment_type UNIQUE (payment_id, entry_type),
+    CONSTRAINT uk_loyalty_booking_type UNIQUE (booking_id, entry_type)
+);
+
+CREATE INDEX idx_loyalty_user ON loyalty_ledger (user_id, id);
+
+CREATE TABLE IF NOT EXISTS loyalty_balances (
+    user_id BIGINT NOT NULL,
+    balance BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+-- -------------------------------------------------
+-- MODERATION QUEUE (pending packages / agents, claimed with a lease)
+-- -------------------------------------------------
+CREATE TABLE IF NOT EXISTS moderation_queue (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    item_type VARCHAR(20) NOT NULL,
+    item_id BIGINT NOT NULL,
+    enqueued_at DATETIME(6) NOT NULL,
+    claimed_by VARCHAR(150),
+    lease_until DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_moderation_item UNIQUE (item_type, item_id)
+);
+
+CREATE INDEX idx_moderation_claim ON moderation_queue (item_type, id);
+
 -- -------------------------------------------------
 -- INSERT ROLES
 -- -------------------------------------------------